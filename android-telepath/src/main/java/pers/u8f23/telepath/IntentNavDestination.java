@@ -0,0 +1,49 @@
+package pers.u8f23.telepath;
+
+import java.lang.annotation.*;
+
+/**
+ * 用于实现外部intent跳转的注解，直接跳转至导航图中的页面，无需编写跳转方法。请在任意类（通常为目标页面类）上标记此注解。
+ * <p>
+ * 使用此注解须设置编译参数<code>telepathNavigationDir</code>（导航图资源目录）与<code>telepathRPackage</code>（R类所在包名），
+ * 编译时将检查页面是否存在于导航图中，并生成以预置id与{@code NavOptions}常量跳转的代码。
+ * 跳转时Intent中的附加数据将作为页面参数传入，其中由{@code stampRoute}写入的路由id与路径不会传入。
+ *
+ * @author 8f23
+ * @create 2026/10/19-09:40
+ * @see IntentNavMethod
+ */
+@Documented
+@Retention (RetentionPolicy.SOURCE)
+@Target (ElementType.TYPE)
+public @interface IntentNavDestination{
+	/** 导航路径或其前缀，规则同{@link IntentNavMethod#value()}。 */
+	String value();
+
+	/** 是否使用前缀模糊匹配模式，默认不生效。 */
+	boolean isPrefix() default false;
+
+	/** 描述暴露接口的说明，用于生成文档。必填。使用中文即可。 */
+	String description();
+
+	/** 目标页面在导航图中的id名称，如<code>fragment_xxx</code>，不含<code>@id/</code>前缀。必填。 */
+	String destination();
+
+	/** 目标页面已位于栈顶或返回栈中时，是否直接复用该页面，规则同{@link IntentNavMethod#reuseExisting()}。默认不生效。 */
+	boolean reuseExisting() default false;
+
+	/** 目标页面的父页面链，按由根至直接父页面的顺序排列导航图中的id名称，规则同{@link IntentNavMethod#parentDestinations()}。 */
+	String[] parentDestinations() default {};
+
+	/** 是否以<code>singleTop</code>模式跳转。默认不生效。 */
+	boolean singleTop() default false;
+
+	/** 跳转前弹出返回栈直至该页面，取值为导航图中的id名称。默认为空，表示不弹出。 */
+	String popUpTo() default "";
+
+	/** 是否一并弹出{@link #popUpTo()}指定的页面。默认不生效。 */
+	boolean popUpToInclusive() default false;
+
+	/** 链接的查询参数，规则同{@link IntentNavMethod#linkParams()}。默认为空。 */
+	String[] linkParams() default {};
+}
@@ -18,6 +18,48 @@ public @interface IntentNavMethod{
 	/** 是否使用前缀模糊匹配模式，默认不生效。 */
 	boolean isPrefix() default false;
 
+	/**
+	 * 是否将{@link #value()}作为模式匹配，默认不生效。模式语法见<code>PatternCompiler</code>，
+	 * 如<code>/article/*&#47;comments</code>、<code>/tag/[a-z]+</code>。
+	 * 全部模式在编译时合并为一个确定有限自动机，匹配耗时仅与路径长度有关；模式路由仅在没有匹配的普通路由时生效，
+	 * 两个模式可匹配同一路径时编译失败。不可与{@link #isPrefix()}同时使用，可改用<code>**</code>。
+	 */
+	boolean isPattern() default false;
+
 	/** 描述暴露接口的说明，用于生成文档。必填。使用中文即可。 */
 	String description();
+
+	/** 目标页面在导航图中的id，如<code>R.id.fragment_xxx</code>。默认为0，表示未指定。 */
+	int destination() default 0;
+
+	/**
+	 * 目标页面已位于栈顶或返回栈中时，是否直接复用该页面（必要时弹出其上方的页面），而不再调用跳转方法重新创建页面。
+	 * 仅复用此前经由链接以相同参数（路径、链接与Intent附加参数）打开的页面，参数不同时仍调用跳转方法；
+	 * 跳转至导航图页面的规则则在目标页面位于栈顶时以singleTop方式传入新的参数。
+	 * 默认不生效。启用时必须指定{@link #destination()}。
+	 */
+	boolean reuseExisting() default false;
+
+	/**
+	 * 目标页面的父页面链，按由根至直接父页面的顺序排列导航id。默认为空。
+	 * 跳转前将以其中最深的、已存在于返回栈中的父页面为起点补全返回栈，补全过程在同一次消息处理中完成，
+	 * 中间页面不会创建视图。
+	 */
+	int[] parentDestinations() default {};
+
+	/**
+	 * 链接的查询参数，用于在<code>TelepathLinks</code>中生成链接构造方法。默认为空。
+	 * 每项为参数名，可附加类型后缀<code>:long</code>、<code>:int</code>或<code>:boolean</code>，如<code>{"id:long", "from"}</code>；
+	 * 未附加类型时参数类型为{@link CharSequence}，写入时进行百分号编码。参数名须为合法的Java标识符。
+	 * 以{@link #when()}共用同一路径的跳转规则各自生成链接构造方法，方法名在路径之后附加各条件的参数名与取值，
+	 * 如<code>payMethodCard</code>，链接中写入条件对应的查询参数；参数名不可与条件的参数名相同。
+	 */
+	String[] linkParams() default {};
+
+	/**
+	 * 跳转条件，形如<code>{"method=card"}</code>，要求链接中对应查询参数的取值与之相等。默认为空，表示无条件。
+	 * 多个方法可声明相同的路径与不同的条件，编译时将合并为决策树，依次判断各查询参数，每个参数至多读取一次；
+	 * 同一路径下至多一个方法无条件，在其余方法均不满足时执行。存在可同时满足的两组条件时编译失败。
+	 */
+	String[] when() default {};
 }
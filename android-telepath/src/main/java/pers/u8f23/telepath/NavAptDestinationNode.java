@@ -0,0 +1,86 @@
+package pers.u8f23.telepath;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.Element;
+
+import lombok.Getter;
+
+/**
+ * 由{@link IntentNavDestination}声明的跳转规则，直接跳转至导航图中的页面。
+ *
+ * @author 8f23
+ * @create 2026/10/19-09:40
+ */
+public class NavAptDestinationNode extends NavAptMapperNode{
+	/** 目标页面在导航图中的id名称。 */
+	@Getter
+	private final String destinationName;
+	@Getter
+	private final String[] parentDestinationNames;
+	@Getter
+	private final boolean singleTop;
+	/** 跳转前弹出返回栈直至该页面，为空时不弹出。 */
+	@Getter
+	private final String popUpTo;
+	@Getter
+	private final boolean popUpToInclusive;
+
+	public NavAptDestinationNode(String path, boolean prefix, Element typeElement, String description,
+		String destinationName, boolean reuseExisting, String[] parentDestinationNames,
+		boolean singleTop, String popUpTo, boolean popUpToInclusive, NavAptLinkParam[] linkParams){
+		super(path, prefix, typeElement, description, 0, reuseExisting, new int[0], linkParams);
+		this.destinationName = destinationName;
+		this.parentDestinationNames = parentDestinationNames;
+		this.singleTop = singleTop;
+		this.popUpTo = popUpTo;
+		this.popUpToInclusive = popUpToInclusive;
+	}
+
+	/** 无跳转方法，无需检查参数。 */
+	@Override public boolean check(Messager messager, final boolean DEBUG_MODE){
+		return false;
+	}
+
+	@Override public Element getHandlerElement(){
+		return getMethodElement();
+	}
+
+	/**
+	 * 判断跳转时是否需要{@code NavOptions}。
+	 *
+	 * @return 需要时返回true。
+	 */
+	public boolean hasNavOptions(){
+		return singleTop || !popUpTo.isEmpty();
+	}
+
+	/**
+	 * 获取{@code NavOptions}的取值标识，取值相同的跳转规则可共用同一常量。
+	 *
+	 * @return 取值标识。
+	 */
+	public String getNavOptionsKey(){
+		return navOptionsKey(singleTop, popUpTo, popUpToInclusive);
+	}
+
+	/**
+	 * 获取复用栈顶页面时所用{@code NavOptions}的取值标识，即在原有取值上启用singleTop。
+	 *
+	 * @return 取值标识。
+	 */
+	public String getSingleTopNavOptionsKey(){
+		return navOptionsKey(true, popUpTo, popUpToInclusive);
+	}
+
+	/**
+	 * 计算{@code NavOptions}的取值标识。
+	 *
+	 * @param singleTop        是否以singleTop方式跳转。
+	 * @param popUpTo          弹出返回栈直至的页面，为空时不弹出。
+	 * @param popUpToInclusive 是否同时弹出该页面。
+	 * @return 取值标识。
+	 */
+	static String navOptionsKey(boolean singleTop, String popUpTo, boolean popUpToInclusive){
+		return singleTop + "|" + popUpTo + "|" + popUpToInclusive;
+	}
+}
@@ -0,0 +1,79 @@
+package pers.u8f23.telepath;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+
+import javax.lang.model.SourceVersion;
+
+import lombok.Getter;
+
+/**
+ * 链接构造方法的查询参数，由{@link IntentNavMethod#linkParams()}声明。
+ *
+ * @author 8f23
+ * @create 2026/10/19-11:20
+ */
+public class NavAptLinkParam{
+	/** 参数名，同时用作查询参数名与构造方法的形参名。 */
+	@Getter
+	private final String name;
+	/** 形参类型。 */
+	@Getter
+	private final TypeName type;
+
+	private NavAptLinkParam(String name, TypeName type){
+		this.name = name;
+		this.type = type;
+	}
+
+	/**
+	 * 解析参数声明，格式为<code>name</code>或<code>name:type</code>，类型可为<code>long</code>、<code>int</code>或
+	 * <code>boolean</code>，未指定时为{@link CharSequence}。
+	 *
+	 * @param spec 参数声明。
+	 * @return 参数；声明不合法时返回null。
+	 */
+	public static NavAptLinkParam parse(String spec){
+		int colon = spec.indexOf(':');
+		String name = (colon < 0) ? spec : spec.substring(0, colon);
+		if (!SourceVersion.isName(name)) {
+			return null;
+		}
+		if (colon < 0) {
+			return new NavAptLinkParam(name, ClassName.get(CharSequence.class));
+		}
+		switch (spec.substring(colon + 1)) {
+			case "long":
+				return new NavAptLinkParam(name, TypeName.LONG);
+			case "int":
+				return new NavAptLinkParam(name, TypeName.INT);
+			case "boolean":
+				return new NavAptLinkParam(name, TypeName.BOOLEAN);
+			default:
+				return null;
+		}
+	}
+
+	/** @return 形参是否为基本类型。 */
+	public boolean isPrimitive(){
+		return type.isPrimitive();
+	}
+
+	/**
+	 * 获取参数取值的预估长度，用于预分配缓冲区。
+	 *
+	 * @return 基本类型的最大长度；{@link CharSequence}参数返回-1，表示以实际长度预估。
+	 */
+	public int getEstimatedLength(){
+		if (TypeName.LONG.equals(type)) {
+			return 20;
+		}
+		if (TypeName.INT.equals(type)) {
+			return 11;
+		}
+		if (TypeName.BOOLEAN.equals(type)) {
+			return 5;
+		}
+		return -1;
+	}
+}
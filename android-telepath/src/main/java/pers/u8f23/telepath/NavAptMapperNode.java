@@ -1,11 +1,14 @@
 package pers.u8f23.telepath;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import javax.annotation.processing.Messager;
+import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.VariableElement;
@@ -13,6 +16,7 @@ import javax.tools.Diagnostic;
 
 import lombok.Getter;
 import lombok.NonNull;
+import pers.u8f23.telepath.runtime.RouteTable;
 
 /**
  * @author 8f23
@@ -27,12 +31,33 @@ public class NavAptMapperNode implements Comparable<Object>{
 	private final Element methodElement;
 	@Getter
 	private final String description;
+	@Getter
+	private final int destination;
+	@Getter
+	private final boolean reuseExisting;
+	@Getter
+	private final int[] parentDestinations;
+	/** 链接构造方法的查询参数。 */
+	@Getter
+	private final NavAptLinkParam[] linkParams;
+	/** 是否为模式路由，见{@link IntentNavMethod#isPattern()}。模式路由排列在全部普通路由之后。 */
+	@Getter
+	private boolean pattern = false;
+	/** 跳转条件，键为查询参数名，值为要求的取值，见{@link IntentNavMethod#when()}。 */
+	@Getter
+	private Map<String, String> conditions = Collections.emptyMap();
+	/** 共用同一路径的全部跳转规则，含本规则，仅对表中的规则有效。 */
+	private final List<NavAptMapperNode> variants = new ArrayList<>();
 	private String sortedParams = null;
 
 	@Override
 	public int compareTo(@NonNull Object o){
 		if (o instanceof NavAptMapperNode) {
-			return this.path.compareTo(((NavAptMapperNode) o).path);
+			NavAptMapperNode other = (NavAptMapperNode) o;
+			if (this.pattern != other.pattern) {
+				return this.pattern ? 1 : -1;
+			}
+			return this.path.compareTo(other.path);
 		}
 		else if (o instanceof String) {
 			return this.path.compareTo((String) o);
@@ -41,7 +66,7 @@ public class NavAptMapperNode implements Comparable<Object>{
 	}
 
 	@Override public String toString(){
-		return "Node{path='" + path + "', isPrefix=" + prefix + '}';
+		return "Node{path='" + path + "', isPrefix=" + prefix + ", isPattern=" + pattern + '}';
 	}
 
 	@Override public boolean equals(Object obj){
@@ -51,11 +76,17 @@ public class NavAptMapperNode implements Comparable<Object>{
 		return this.methodElement == ((NavAptMapperNode) obj).methodElement;
 	}
 
-	public NavAptMapperNode(String path, boolean prefix, Element methodElement, String description){
+	public NavAptMapperNode(String path, boolean prefix, Element methodElement, String description,
+		int destination, boolean reuseExisting, int[] parentDestinations, NavAptLinkParam[] linkParams){
 		this.path = path;
 		this.prefix = prefix;
 		this.methodElement = methodElement;
 		this.description = description;
+		this.destination = destination;
+		this.reuseExisting = reuseExisting;
+		this.parentDestinations = parentDestinations;
+		this.linkParams = linkParams;
+		this.variants.add(this);
 	}
 
 	public boolean check(Messager messager,final boolean DEBUG_MODE){
@@ -166,7 +197,126 @@ public class NavAptMapperNode implements Comparable<Object>{
 		return s;
 	}
 
+	/**
+	 * 设置是否为模式路由，须在加入路由集合前设置。
+	 *
+	 * @param pattern 是否为模式路由。
+	 */
+	public void setPattern(boolean pattern){
+		this.pattern = pattern;
+	}
+
+	/**
+	 * 设置跳转条件。
+	 *
+	 * @param conditions 跳转条件，键为查询参数名。
+	 */
+	public void setConditions(Map<String, String> conditions){
+		this.conditions = conditions;
+	}
+
+	/**
+	 * 加入共用同一路径的跳转规则。
+	 *
+	 * @param variant 跳转规则。
+	 */
+	public void addVariant(NavAptMapperNode variant){
+		variants.add(variant);
+	}
+
+	/** @return 共用同一路径的全部跳转规则，含本规则。 */
+	public List<NavAptMapperNode> getVariants(){
+		return Collections.unmodifiableList(variants);
+	}
+
+	/** @return 是否需要按条件在多个跳转规则中选择。 */
+	public boolean hasVariants(){
+		return variants.size() > 1 || !conditions.isEmpty();
+	}
+
 	public String getMethodName(){
 		return methodElement.getSimpleName().toString();
 	}
+
+	/**
+	 * 获取跳转逻辑所在的类，用于预加载。
+	 *
+	 * @return 跳转方法所在的类。
+	 */
+	public Element getHandlerElement(){
+		return methodElement.getEnclosingElement();
+	}
+
+	/**
+	 * 获取路由id，计算规则见{@link RouteTable#routeIdOf}。
+	 *
+	 * @return 路由id。
+	 */
+	public int getRouteId(){
+		return RouteTable.routeIdOf(path);
+	}
+
+	/**
+	 * 获取链接构造方法名，由路径转换为小驼峰形式，如<code>/shop/item</code>对应<code>shopItem</code>。
+	 * 带有跳转条件时依次附加各条件的参数名与取值，如<code>/pay</code>与<code>method=card</code>对应<code>payMethodCard</code>。
+	 *
+	 * @return 方法名；不同跳转规则的方法名重复时编译失败。
+	 */
+	public String getLinkMethodName(){
+		StringBuilder builder = new StringBuilder();
+		appendWords(builder, path);
+		if (builder.length() > 0) {
+			builder.setCharAt(0, Character.toLowerCase(builder.charAt(0)));
+		}
+		if (builder.length() == 0 || Character.isDigit(builder.charAt(0)) || SourceVersion.isKeyword(builder)) {
+			if (builder.length() > 0) {
+				builder.setCharAt(0, Character.toUpperCase(builder.charAt(0)));
+			}
+			builder.insert(0, "route");
+		}
+		for (Map.Entry<String, String> condition : conditions.entrySet()) {
+			appendWords(builder, condition.getKey());
+			appendWords(builder, condition.getValue());
+		}
+		return builder.toString();
+	}
+
+	/** 以大驼峰形式追加文本中的字母与数字，其余字符视为单词分隔；结果为空时首个单词不大写。 */
+	private static void appendWords(StringBuilder builder, String text){
+		boolean upper = builder.length() > 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (!Character.isLetterOrDigit(c)) {
+				upper = builder.length() > 0;
+				continue;
+			}
+			builder.append(upper ? Character.toUpperCase(c) : c);
+			upper = false;
+		}
+	}
+
+	/**
+	 * 获取路由id常量名，由路径转换为大写下划线形式，如<code>/shop/item</code>对应<code>SHOP_ITEM</code>。
+	 *
+	 * @return 常量名；不同路径的常量名重复时编译失败。
+	 */
+	public String getRouteConstantName(){
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < path.length(); i++) {
+			char c = path.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				builder.append(Character.toUpperCase(c));
+			}
+			else if (builder.length() > 0 && builder.charAt(builder.length() - 1) != '_') {
+				builder.append('_');
+			}
+		}
+		if (builder.length() > 0 && builder.charAt(builder.length() - 1) == '_') {
+			builder.setLength(builder.length() - 1);
+		}
+		if (builder.length() == 0 || Character.isDigit(builder.charAt(0))) {
+			builder.insert(0, "ROUTE_");
+		}
+		return builder.toString();
+	}
 }
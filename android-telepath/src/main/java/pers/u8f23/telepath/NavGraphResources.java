@@ -0,0 +1,83 @@
+package pers.u8f23.telepath;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import lombok.Getter;
+
+/**
+ * 导航图资源，读取<code>res/navigation</code>目录下的导航图文件。
+ *
+ * @author 8f23
+ * @create 2026/10/19-09:05
+ * @see NavProcessor
+ */
+final class NavGraphResources{
+	private static final String ANDROID_NAMESPACE = "http://schemas.android.com/apk/res/android";
+	/** 由Fragment实现的页面标签。 */
+	private static final String[] FRAGMENT_TAGS = {"fragment", "dialog"};
+	/** 非页面的标签，其id不可作为跳转目标。 */
+	private static final Set<String> NON_DESTINATION_TAGS =
+		new HashSet<>(Arrays.asList("action", "argument", "deepLink", "include"));
+
+	private final DocumentBuilder documentBuilder;
+	/** 各导航图中由Fragment实现的页面类名，按字典序排列。 */
+	@Getter
+	private final Set<String> fragmentClassNames = new TreeSet<>();
+	/** 各导航图中声明的页面id名称，含嵌套导航图本身。 */
+	@Getter
+	private final Set<String> destinationIds = new HashSet<>();
+
+	NavGraphResources() throws ParserConfigurationException{
+		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+		documentBuilder = factory.newDocumentBuilder();
+	}
+
+	/**
+	 * 读取目录下的全部导航图文件。
+	 *
+	 * @param directory 导航图资源目录。
+	 */
+	void load(File directory) throws IOException, SAXException{
+		File[] files = directory.listFiles((dir, name) -> name.endsWith(".xml"));
+		if (files == null) {
+			throw new IOException("Not a directory: " + directory);
+		}
+		for (File file : files) {
+			Document document = documentBuilder.parse(file);
+			NodeList allElements = document.getElementsByTagName("*");
+			for (int i = 0; i < allElements.getLength(); i++) {
+				Element element = (Element) allElements.item(i);
+				String id = element.getAttributeNS(ANDROID_NAMESPACE, "id");
+				if (!NON_DESTINATION_TAGS.contains(element.getTagName()) && id.startsWith("@")) {
+					// “@+id/xxx”与“@id/xxx”均取“xxx”。
+					destinationIds.add(id.substring(id.indexOf('/') + 1));
+				}
+			}
+			for (String tag : FRAGMENT_TAGS) {
+				NodeList elements = document.getElementsByTagName(tag);
+				for (int i = 0; i < elements.getLength(); i++) {
+					String className = ((Element) elements.item(i)).getAttributeNS(ANDROID_NAMESPACE, "name");
+					// 以“.”开头的相对类名依赖应用包名，无法在此处解析，交由运行时反射处理。
+					if (!className.isEmpty() && !className.startsWith(".")) {
+						fragmentClassNames.add(className);
+					}
+				}
+			}
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package pers.u8f23.telepath;
 
 import com.google.auto.service.AutoService;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
@@ -10,18 +11,30 @@ import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
 import java.io.IOException;
 import java.io.Writer;
+import java.lang.ref.WeakReference;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
@@ -36,12 +49,20 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import javax.tools.Diagnostic;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
 
+import pers.u8f23.telepath.runtime.LinkWriter;
+import pers.u8f23.telepath.runtime.PatternCompiler;
+import pers.u8f23.telepath.runtime.PatternMatcher;
+import pers.u8f23.telepath.runtime.RouteCoalescer;
+import pers.u8f23.telepath.runtime.RouteTable;
+import pers.u8f23.telepath.runtime.TransitionTable;
+
 /**
  * 用于实现外部intent导航跳转的 APT Processor。
  *
@@ -61,11 +82,33 @@ public class NavProcessor extends AbstractProcessor{
 	private static final String GENERATED_CLASS_PACKAGE_NAME = "pers.u8f23.telepath";
 	private static final String GENERATED_NAV_MAPPER_HOLDER_CLASS_NAME = "TelepathMapperHolder";
 	private static final String GENERATED_NAV_PERFORMER_CLASS_NAME = "TelepathPerformer";
-	private static final String GENERATED_NAV_MAPPER_NODE_CLASS_NAME = "TelepathMapperNode";
+	private static final String GENERATED_NAV_ROUTES_CLASS_NAME = "TelepathRoutes";
+	private static final String GENERATED_LINKS_CLASS_NAME = "TelepathLinks";
+	private static final String GENERATED_FRAGMENT_FACTORY_CLASS_NAME = "TelepathFragmentFactory";
+	private static final String FRAGMENT_PACKAGE_NAME = "androidx.fragment.app";
+	private static final ClassName ROUTE_TABLE_CLASS_NAME = ClassName.get(RouteTable.class);
+	private static final ClassName ROUTE_COALESCER_CLASS_NAME = ClassName.get(RouteCoalescer.class);
+	private static final ClassName LINK_WRITER_CLASS_NAME = ClassName.get(LinkWriter.class);
+	private static final ClassName TRANSITION_TABLE_CLASS_NAME = ClassName.get(TransitionTable.class);
+	private static final String EXTRA_ROUTE_ID = GENERATED_CLASS_PACKAGE_NAME + ".extra.ROUTE_ID";
+	private static final String EXTRA_ROUTE_PATH = GENERATED_CLASS_PACKAGE_NAME + ".extra.ROUTE_PATH";
 	private static final String NAV_CONTROLLER_PACKAGE_NAME = "androidx.navigation";
 	private static final String NAV_CONTROLLER_CLASS_NAME = "NavController";
 	private static final String INTENT_PACKAGE_NAME = "android.content";
 	private static final String INTENT_CLASS_NAME = "Intent";
+	/** 编译参数：重复跳转合并时间窗口，单位为毫秒。 */
+	private static final String OPTION_COALESCE_WINDOW_MILLIS = "telepathCoalesceWindowMillis";
+	private static final long DEFAULT_COALESCE_WINDOW_MILLIS = 500L;
+	/** 编译参数：已废弃，路由表总以紧凑格式生成，见{@link PackedRouteTable}。仍予识别，以免旧的构建配置产生警告。 */
+	private static final String OPTION_PACKED_TABLE = "telepathPackedTable";
+	/** 编译参数：导航图资源目录，多个目录以路径分隔符分隔。 */
+	private static final String OPTION_NAVIGATION_DIR = "telepathNavigationDir";
+	/** 编译参数：R类所在包名，用于引用导航图中的页面id。 */
+	private static final String OPTION_R_PACKAGE = "telepathRPackage";
+	/** 编译参数：链接构造方法写入的链接前缀，如<code>myapp://host</code>。 */
+	private static final String OPTION_LINK_BASE = "telepathLinkBase";
+	/** 编译参数：是否按跳转频次预加载下一次最可能跳转的页面。 */
+	private static final String OPTION_PREFETCH = "telepathPrefetch";
 
 	private Types mTypeUtils;
 	private Elements mElementUtils;
@@ -76,7 +119,23 @@ public class NavProcessor extends AbstractProcessor{
 
 	private Date processTime;
 
+	private long coalesceWindowMillis = DEFAULT_COALESCE_WINDOW_MILLIS;
+	/** 导航图资源目录，未设置时不生成{@value #GENERATED_FRAGMENT_FACTORY_CLASS_NAME}。 */
+	private String navigationDirs = null;
+	/** R类所在包名，未设置时不允许使用{@link IntentNavDestination}。 */
+	private String rPackage = null;
+	/** 链接构造方法写入的链接前缀，未设置时仅写入路径。 */
+	private String linkBase = "";
+	/** 是否生成跳转频次记录与预加载代码，未启用时不生成任何相关代码。 */
+	private boolean prefetch = false;
+	/** 已读取的导航图资源，在首次使用时读取。 */
+	private NavGraphResources navGraphResources = null;
+	/** 各组{@code NavOptions}取值标识对应的常量名。 */
+	private final Map<String, String> navOptionsFieldNames = new HashMap<>();
+
 	private final TreeSet<NavAptMapperNode> mapperNodeSet = new TreeSet<>();
+	/** 模式路由的自动机，无模式路由时为null。 */
+	private PatternMatcher patternMatcher = null;
 	private TypeSpec homePageMethodClass;
 	private TypeSpec errorPageMethodClass;
 
@@ -87,6 +146,26 @@ public class NavProcessor extends AbstractProcessor{
 		mFiler = processingEnv.getFiler();
 		mMessage = processingEnv.getMessager();
 		processTime = new Date();
+		prefetch = Boolean.parseBoolean(processingEnv.getOptions().get(OPTION_PREFETCH));
+		navigationDirs = processingEnv.getOptions().get(OPTION_NAVIGATION_DIR);
+		rPackage = processingEnv.getOptions().get(OPTION_R_PACKAGE);
+		String linkBaseOption = processingEnv.getOptions().get(OPTION_LINK_BASE);
+		if (linkBaseOption != null) {
+			linkBase = linkBaseOption;
+		}
+		String coalesceWindowOption = processingEnv.getOptions().get(OPTION_COALESCE_WINDOW_MILLIS);
+		if (coalesceWindowOption != null) {
+			try {
+				coalesceWindowMillis = Long.parseLong(coalesceWindowOption.trim());
+			}
+			catch (NumberFormatException e) {
+				mMessage.printMessage(
+					Diagnostic.Kind.WARNING,
+					"Intent nav APT: Illegal option " + OPTION_COALESCE_WINDOW_MILLIS + "=" + coalesceWindowOption +
+						", use default value " + DEFAULT_COALESCE_WINDOW_MILLIS + "."
+				);
+			}
+		}
 
 		if (DEBUG_MODE) {
 			mMessage.printMessage(Diagnostic.Kind.NOTE, "Intent nav APT initialized.");
@@ -96,9 +175,21 @@ public class NavProcessor extends AbstractProcessor{
 	@Override public Set<String> getSupportedAnnotationTypes(){
 		Set<String> annotations = new LinkedHashSet<>();
 		annotations.add(IntentNavMethod.class.getCanonicalName());
+		annotations.add(IntentNavDestination.class.getCanonicalName());
 		return annotations;
 	}
 
+	@Override public Set<String> getSupportedOptions(){
+		Set<String> options = new LinkedHashSet<>();
+		options.add(OPTION_COALESCE_WINDOW_MILLIS);
+		options.add(OPTION_PACKED_TABLE);
+		options.add(OPTION_NAVIGATION_DIR);
+		options.add(OPTION_R_PACKAGE);
+		options.add(OPTION_LINK_BASE);
+		options.add(OPTION_PREFETCH);
+		return options;
+	}
+
 	@Override
 	public SourceVersion getSupportedSourceVersion(){
 		return SourceVersion.latestSupported();
@@ -123,18 +214,50 @@ public class NavProcessor extends AbstractProcessor{
 				return true;
 			}
 		}
+		// 处理 IntentNavDestination.
+		for (Element annotatedElement : roundEnvironment.getElementsAnnotatedWith(IntentNavDestination.class)) {
+			if (handleDestinationType(annotatedElement)) {
+				return true;
+			}
+		}
 		if (DEBUG_MODE) {
 			mMessage.printMessage(
 				Diagnostic.Kind.NOTE,
 				"Found " + mapperNodeSet.size() + " method(s) annotated with " + IntentNavMethod.class.getSimpleName()
 			);
 		}
+		if (checkRouteIds()) {
+			return true;
+		}
+		if (checkRouteConstantNames()) {
+			return true;
+		}
+		if (checkLinkMethods()) {
+			return true;
+		}
+		if (checkRouteVariants()) {
+			return true;
+		}
+		if (compilePatternRoutes()) {
+			return true;
+		}
 		if (buildMappingClass()) {
 			return true;
 		}
 		if (buildOtherClasses()) {
 			return true;
 		}
+		if (buildRoutesClass()) {
+			return true;
+		}
+		if (buildLinksClass()) {
+			return true;
+		}
+		if (navigationDirs != null) {
+			if (buildFragmentFactoryClass()) {
+				return true;
+			}
+		}
 		if (MANIFEST_PRINT_MODE) {
 			if (printManifest()) {
 				return true;
@@ -153,8 +276,6 @@ public class NavProcessor extends AbstractProcessor{
 			);
 		}
 		try {
-			ClassName mapperNodeClassName = ClassName.get(
-				GENERATED_CLASS_PACKAGE_NAME, GENERATED_NAV_MAPPER_NODE_CLASS_NAME);
 			ClassName performerClassName = ClassName.get(
 				GENERATED_CLASS_PACKAGE_NAME, GENERATED_NAV_PERFORMER_CLASS_NAME);
 			ClassName controllerClassName = ClassName.get(NAV_CONTROLLER_PACKAGE_NAME, NAV_CONTROLLER_CLASS_NAME);
@@ -163,17 +284,13 @@ public class NavProcessor extends AbstractProcessor{
 			ClassName uriClassName = ClassName.get("android.net", "Uri");
 			ClassName intentClassName = ClassName.get(INTENT_PACKAGE_NAME, INTENT_CLASS_NAME);
 			ClassName loggerClass = ClassName.get("android.util", "Log");
+			ClassName systemClockClassName = ClassName.get("android.os", "SystemClock");
+			ClassName navDestinationClassName = ClassName.get(NAV_CONTROLLER_PACKAGE_NAME, "NavDestination");
+			ClassName navBackStackEntryClassName = ClassName.get(NAV_CONTROLLER_PACKAGE_NAME, "NavBackStackEntry");
+			ClassName bundleClassName = ClassName.get("android.os", "Bundle");
+			ClassName preparedIntentClassName = ClassName.get(
+				GENERATED_CLASS_PACKAGE_NAME, GENERATED_NAV_MAPPER_HOLDER_CLASS_NAME, "PreparedIntent");
 
-			FieldSpec performerSet = FieldSpec.builder(
-					ParameterizedTypeName.get(ClassName.get(ArrayList.class), mapperNodeClassName),
-					"PERFORMER_LIST",
-					Modifier.STATIC,
-					Modifier.FINAL,
-					Modifier.PRIVATE
-				)
-				.initializer("new $T<$T>()", ArrayList.class, mapperNodeClassName)
-				.addJavadoc("一般页面跳转规则。")
-				.build();
 			FieldSpec homePagePerformer = FieldSpec.builder(
 					performerClassName,
 					"HOME_PAGE_PERFORMER",
@@ -192,131 +309,613 @@ public class NavProcessor extends AbstractProcessor{
 				.initializer("$L", errorPageMethodClass)
 				.addJavadoc("错误页跳转规则。")
 				.build();
-			CodeBlock.Builder performerInitializeStaticBlockBuilder = CodeBlock.builder();
-			performerInitializeStaticBlockBuilder.addStatement("$T performer", performerClassName);
+			final int routeCount = this.mapperNodeSet.size();
+			FieldSpec homePageRouteIndex = FieldSpec.builder(
+					TypeName.INT,
+					"HOME_PAGE_ROUTE_INDEX",
+					Modifier.STATIC,
+					Modifier.FINAL,
+					Modifier.PRIVATE
+				)
+				.initializer("$L", routeCount)
+				.addJavadoc("首页跳转规则的路由id。")
+				.build();
+			FieldSpec errorPageRouteIndex = FieldSpec.builder(
+					TypeName.INT,
+					"ERROR_PAGE_ROUTE_INDEX",
+					Modifier.STATIC,
+					Modifier.FINAL,
+					Modifier.PRIVATE
+				)
+				.initializer("$L", routeCount + 1)
+				.addJavadoc("错误页跳转规则的路由id。")
+				.build();
+			FieldSpec coalescer = FieldSpec.builder(
+					ROUTE_COALESCER_CLASS_NAME,
+					"COALESCER",
+					Modifier.STATIC,
+					Modifier.FINAL,
+					Modifier.PRIVATE
+				)
+				.initializer("new $T($L, $LL)", ROUTE_COALESCER_CLASS_NAME, routeCount + 2, coalesceWindowMillis)
+				.addJavadoc("合并重复跳转，下标为路由id，含首页与错误页。")
+				.build();
+			FieldSpec pendingIntent = FieldSpec.builder(
+					ParameterizedTypeName.get(ClassName.get(AtomicReference.class), preparedIntentClassName),
+					"PENDING_INTENT",
+					Modifier.STATIC,
+					Modifier.FINAL,
+					Modifier.PRIVATE
+				)
+				.initializer("new $T<>()", AtomicReference.class)
+				.addJavadoc("等待页面Controller就绪后派发的跳转。")
+				.build();
+			FieldSpec extraRouteId = FieldSpec.builder(
+					String.class,
+					"EXTRA_ROUTE_ID",
+					Modifier.STATIC,
+					Modifier.FINAL,
+					Modifier.PUBLIC
+				)
+				.initializer("$S", EXTRA_ROUTE_ID)
+				.addJavadoc("Intent中预先写入的路由id的键。")
+				.build();
+			FieldSpec extraRoutePath = FieldSpec.builder(
+					String.class,
+					"EXTRA_ROUTE_PATH",
+					Modifier.STATIC,
+					Modifier.FINAL,
+					Modifier.PUBLIC
+				)
+				.initializer("$S", EXTRA_ROUTE_PATH)
+				.addJavadoc("Intent中预先写入的路径的键。")
+				.build();
+			FieldSpec routeTableField = FieldSpec.builder(
+					ROUTE_TABLE_CLASS_NAME,
+					"ROUTE_TABLE",
+					Modifier.STATIC,
+					Modifier.FINAL,
+					Modifier.PRIVATE
+				)
+				.initializer("$T.TABLE",
+					ClassName.get(GENERATED_CLASS_PACKAGE_NAME, GENERATED_NAV_ROUTES_CLASS_NAME))
+				.addJavadoc("路由表，下标即路由id。")
+				.build();
+			FieldSpec linkTags = FieldSpec.builder(
+					ParameterizedTypeName.get(ClassName.get(List.class), ClassName.get(
+						GENERATED_CLASS_PACKAGE_NAME, GENERATED_NAV_MAPPER_HOLDER_CLASS_NAME, "LinkTag")),
+					"LINK_TAGS",
+					Modifier.STATIC,
+					Modifier.FINAL,
+					Modifier.PRIVATE
+				)
+				.initializer("new $T<>()", ArrayList.class)
+				.addJavadoc("经由链接打开的可复用页面，仅在主线程中访问。")
+				.build();
+			// 预先构建跳转所需的NavOptions常量，取值相同的跳转规则共用同一常量。
+			ClassName navOptionsClassName = ClassName.get(NAV_CONTROLLER_PACKAGE_NAME, "NavOptions");
+			List<FieldSpec> navOptionsFields = new ArrayList<>();
 			for (NavAptMapperNode node : this.mapperNodeSet) {
-				TypeSpec innerClass = TypeSpec.anonymousClassBuilder("")
-					.addSuperinterface(performerClassName)
-					.addMethod(MethodSpec.methodBuilder("navigate")
+				if (!(node instanceof NavAptDestinationNode)) {
+					continue;
+				}
+				NavAptDestinationNode destinationNode = (NavAptDestinationNode) node;
+				if (destinationNode.hasNavOptions()) {
+					addNavOptionsField(navOptionsFields, navOptionsClassName, destinationNode.isSingleTop(),
+						destinationNode.getPopUpTo(), destinationNode.isPopUpToInclusive());
+				}
+				if (destinationNode.isReuseExisting()) {
+					// 复用栈顶页面但参数不同时，以singleTop方式跳转以传入新的参数。
+					addNavOptionsField(navOptionsFields, navOptionsClassName, true,
+						destinationNode.getPopUpTo(), destinationNode.isPopUpToInclusive());
+				}
+			}
+			List<CodeBlock> handlerClassCases = new ArrayList<>();
+			List<CodeBlock> navigateCases = new ArrayList<>();
+			for (NavAptMapperNode node : this.mapperNodeSet) {
+				// 各跳转条件的跳转规则均需预加载。
+				Set<String> handlerClassNames = new HashSet<>();
+				CodeBlock.Builder handlerClasses = CodeBlock.builder();
+				for (NavAptMapperNode variant : node.getVariants()) {
+					TypeMirror handlerType = mTypeUtils.erasure(variant.getHandlerElement().asType());
+					if (handlerClassNames.add(handlerType.toString())) {
+						handlerClasses.add(handlerClasses.isEmpty() ? "$T.class" : ", $T.class", handlerType);
+					}
+				}
+				handlerClassCases.add(CodeBlock.builder()
+					.addStatement("return new Class<?>[]{$L}", handlerClasses.build())
+					.build());
+				if (node.hasVariants()) {
+					// 按跳转条件选择跳转规则，各分支均以返回结束。
+					navigateCases.add(CodeBlock.builder()
+						.add("{\n$>")
+						.add(RouteDecisionTree.build(node.getVariants(), this::buildPerformerBody,
+							CodeBlock.builder()
+								.addStatement("perform(ERROR_PAGE_PERFORMER, controller, path, intent)")
+								.build()))
+						.add("$<}\n")
+						.build());
+					continue;
+				}
+				navigateCases.add(CodeBlock.builder()
+					.add("{\n$>")
+					.add(buildPerformerBody(node))
+					.addStatement("break")
+					.add("$<}\n")
+					.build());
+			}
+			TypeSpec.Builder holderBuilder = TypeSpec.classBuilder(GENERATED_NAV_MAPPER_HOLDER_CLASS_NAME)
+				.addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+				.addJavadoc("处理Intent页面跳转逻辑。\n")
+				.addJavadoc("自动化生成文件，在编译时重置。请勿手动修改此文件。\n")
+				.addJavadoc("@author 8f23\n")
+				.addJavadoc(
+					"@create $L\n",
+					new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.CHINA).format(processTime)
+				)
+				.addField(extraRouteId)
+				.addField(extraRoutePath)
+				.addField(homePagePerformer)
+				.addField(errorPagePerformer)
+				.addField(homePageRouteIndex)
+				.addField(errorPageRouteIndex)
+				.addField(coalescer)
+				.addField(pendingIntent)
+				.addField(routeTableField)
+				.addFields(navOptionsFields)
+				.addField(linkTags)
+				.addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
+				.addMethod(MethodSpec.methodBuilder("stampRoute")
+					.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+					.addParameter(ParameterSpec.builder(intentClassName, "intent", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addParameter(TypeName.INT, "routeId", Modifier.FINAL)
+					.addParameter(ParameterSpec.builder(String.class, "path", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addAnnotation(nonNullClassName)
+					.returns(intentClassName)
+					.addJavadoc("向Intent写入预先解析的路由id与路径，不写入参数，见{@link #stampRoute($T, int, String, $T)}。\n",
+						intentClassName, bundleClassName)
+					.addJavadoc("@param intent 需要写入的Intent。\n")
+					.addJavadoc("@param routeId 路由id，见{@link $T}。\n",
+						ClassName.get(GENERATED_CLASS_PACKAGE_NAME, GENERATED_NAV_ROUTES_CLASS_NAME))
+					.addJavadoc("@param path 跳转路径，将作为路径参数传入跳转方法。\n")
+					.addJavadoc("@return 传入的Intent。")
+					.addStatement("return stampRoute(intent, routeId, path, null)")
+					.build())
+				.addMethod(MethodSpec.methodBuilder("stampRoute")
+					.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+					.addParameter(ParameterSpec.builder(intentClassName, "intent", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addParameter(TypeName.INT, "routeId", Modifier.FINAL)
+					.addParameter(ParameterSpec.builder(String.class, "path", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addParameter(ParameterSpec.builder(bundleClassName, "params", Modifier.FINAL)
+						.addAnnotation(nullableClassName)
+						.build())
+					.addAnnotation(nonNullClassName)
+					.returns(intentClassName)
+					.addJavadoc("向Intent写入预先解析的路由id、路径与参数，适用于通知、快捷方式等应用自行构建的Intent。\n")
+					.addJavadoc("{@link #performIntent}将据此直接定位跳转规则，无需再匹配路径。\n")
+					.addJavadoc("参数以原有类型写入Intent附加参数，跳转方法可直接读取，跳转至导航图页面时作为页面参数传入，\n")
+					.addJavadoc("均无需再解析链接；Intent不含链接时，{@link $T#when()}条件亦从中读取字符串参数。\n",
+						IntentNavMethod.class)
+					.addJavadoc("@param intent 需要写入的Intent。\n")
+					.addJavadoc("@param routeId 路由id，见{@link $T}。\n",
+						ClassName.get(GENERATED_CLASS_PACKAGE_NAME, GENERATED_NAV_ROUTES_CLASS_NAME))
+					.addJavadoc("@param path 跳转路径，将作为路径参数传入跳转方法。\n")
+					.addJavadoc("@param params 预先解析的参数，可为null。\n")
+					.addJavadoc("@return 传入的Intent。")
+					.beginControlFlow("if (params != null)")
+					.addStatement("intent.putExtras(params)")
+					.endControlFlow()
+					.addStatement("intent.putExtra(EXTRA_ROUTE_ID, routeId)")
+					.addStatement("intent.putExtra(EXTRA_ROUTE_PATH, path)")
+					.addStatement("return intent")
+					.build())
+				.addMethod(MethodSpec.methodBuilder("reuseParent")
+					.addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+					.addParameter(ParameterSpec.builder(controllerClassName, "controller", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addParameter(TypeName.INT, "destinationId", Modifier.FINAL)
+					.returns(TypeName.BOOLEAN)
+					.addJavadoc("尝试复用已存在的父页面，父页面不接收链接参数，仅按id复用。\n")
+					.addJavadoc("父页面位于栈顶时不做任何操作；位于返回栈中时弹出其上方的页面。\n")
+					.addJavadoc("@param controller 页面Controller。\n")
+					.addJavadoc("@param destinationId 父页面id。\n")
+					.addJavadoc("@return 成功复用时返回true，否则返回false，此时应当正常跳转至父页面。")
+					.beginControlFlow("if (isCurrentDestination(controller, destinationId))")
+					.addStatement("return true")
+					.endControlFlow()
+					.addStatement("return controller.popBackStack(destinationId, false)")
+					.build())
+				.addMethod(MethodSpec.methodBuilder("reuseDestination")
+					.addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+					.addParameter(ParameterSpec.builder(controllerClassName, "controller", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addParameter(TypeName.INT, "destinationId", Modifier.FINAL)
+					.addParameter(ParameterSpec.builder(String.class, "linkKey", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.returns(TypeName.BOOLEAN)
+					.addJavadoc("尝试复用已存在的目标页面，仅复用以相同链接参数打开的页面，以免忽略新的参数。\n")
+					.addJavadoc("目标页面位于栈顶时不做任何操作；位于返回栈中时弹出其上方的页面。\n")
+					.addJavadoc("@param controller 页面Controller。\n")
+					.addJavadoc("@param destinationId 目标页面id。\n")
+					.addJavadoc("@param linkKey 本次跳转的链接参数，见{@link #linkKey}。\n")
+					.addJavadoc("@return 成功复用时返回true，否则返回false，此时应当正常执行跳转。")
+					.addStatement("final $T entry", navBackStackEntryClassName)
+					.beginControlFlow("try")
+					.addStatement("entry = controller.getBackStackEntry(destinationId)")
+					.nextControlFlow("catch ($T e)", IllegalArgumentException.class)
+					.addStatement("return false")
+					.endControlFlow()
+					.beginControlFlow("if (!linkKey.equals(findLinkKey(entry)))")
+					.addStatement("return false")
+					.endControlFlow()
+					.beginControlFlow("if (isCurrentDestination(controller, destinationId))")
+					.addStatement("return true")
+					.endControlFlow()
+					.addStatement("return controller.popBackStack(destinationId, false)")
+					.build())
+				.addMethod(MethodSpec.methodBuilder("isCurrentDestination")
+					.addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+					.addParameter(ParameterSpec.builder(controllerClassName, "controller", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addParameter(TypeName.INT, "destinationId", Modifier.FINAL)
+					.returns(TypeName.BOOLEAN)
+					.addJavadoc("判断目标页面是否位于栈顶。\n")
+					.addJavadoc("@param controller 页面Controller。\n")
+					.addJavadoc("@param destinationId 目标页面id。\n")
+					.addJavadoc("@return 位于栈顶时返回true。")
+					.addStatement("$T current = controller.getCurrentDestination()", navDestinationClassName)
+					.addStatement("return current != null && current.getId() == destinationId")
+					.build())
+				.addMethod(MethodSpec.methodBuilder("linkKey")
+					.addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+					.addParameter(ParameterSpec.builder(String.class, "path", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addParameter(ParameterSpec.builder(intentClassName, "intent", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addAnnotation(nonNullClassName)
+					.returns(String.class)
+					.addJavadoc("计算跳转的链接参数，由路径、完整链接与{@link #navigationArguments}组成。\n")
+					.addJavadoc("无法按内容比较的附加参数（如数组）使两次跳转的链接参数总是不同，即不复用页面。\n")
+					.addJavadoc("@param path 跳转路径。\n")
+					.addJavadoc("@param intent 传入的Intent。\n")
+					.addJavadoc("@return 链接参数。")
+					.addStatement("final $T arguments = navigationArguments(intent)", bundleClassName)
+					.beginControlFlow("if (arguments == null)")
+					.addStatement("return path + ' ' + intent.getDataString()")
+					.endControlFlow()
+					.addStatement("return path + ' ' + intent.getDataString() + ' ' + arguments")
+					.build())
+				.addMethod(MethodSpec.methodBuilder("navigationArguments")
+					.addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+					.addParameter(ParameterSpec.builder(intentClassName, "intent", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addAnnotation(nullableClassName)
+					.returns(bundleClassName)
+					.addJavadoc("获取传入导航图页面的参数，即Intent附加参数去除预先写入的路由信息后的副本。\n")
+					.addJavadoc("@param intent 传入的Intent。\n")
+					.addJavadoc("@return 页面参数；不存在时返回null。")
+					.addStatement("final $T extras = intent.getExtras()", bundleClassName)
+					.beginControlFlow("if (extras == null)")
+					.addStatement("return null")
+					.endControlFlow()
+					.addStatement("extras.remove(EXTRA_ROUTE_ID)")
+					.addStatement("extras.remove(EXTRA_ROUTE_PATH)")
+					.addStatement("return extras.isEmpty() ? null : extras")
+					.build())
+				.addMethod(MethodSpec.methodBuilder("findLinkKey")
+					.addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+					.addParameter(ParameterSpec.builder(navBackStackEntryClassName, "entry", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addAnnotation(nullableClassName)
+					.returns(String.class)
+					.addJavadoc("查找页面打开时的链接参数，并清除已被回收的页面记录。\n")
+					.addJavadoc("@param entry 返回栈中的页面。\n")
+					.addJavadoc("@return 链接参数；页面并非经由链接打开时返回null。")
+					.addStatement("$T result = null", String.class)
+					.beginControlFlow("for ($T<LinkTag> iterator = LINK_TAGS.iterator(); iterator.hasNext(); )",
+						Iterator.class)
+					.addStatement("final LinkTag tag = iterator.next()")
+					.addStatement("final $T tagged = tag.entry.get()", navBackStackEntryClassName)
+					.beginControlFlow("if (tagged == null)")
+					.addStatement("iterator.remove()")
+					.nextControlFlow("else if (tagged == entry)")
+					.addStatement("result = tag.key")
+					.endControlFlow()
+					.endControlFlow()
+					.addStatement("return result")
+					.build())
+				.addMethod(MethodSpec.methodBuilder("tagDestination")
+					.addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+					.addParameter(ParameterSpec.builder(controllerClassName, "controller", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addParameter(TypeName.INT, "destinationId", Modifier.FINAL)
+					.addParameter(ParameterSpec.builder(String.class, "linkKey", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.returns(TypeName.VOID)
+					.addJavadoc("记录栈顶页面打开时的链接参数，栈顶并非目标页面时不做记录。\n")
+					.addJavadoc("@param controller 页面Controller。\n")
+					.addJavadoc("@param destinationId 目标页面id。\n")
+					.addJavadoc("@param linkKey 链接参数。")
+					.addStatement("final $T entry = controller.getCurrentBackStackEntry()", navBackStackEntryClassName)
+					.beginControlFlow("if (entry == null || entry.getDestination().getId() != destinationId)")
+					.addStatement("return")
+					.endControlFlow()
+					.beginControlFlow("for ($T<LinkTag> iterator = LINK_TAGS.iterator(); iterator.hasNext(); )",
+						Iterator.class)
+					.addStatement("final $T tagged = iterator.next().entry.get()", navBackStackEntryClassName)
+					.beginControlFlow("if (tagged == null || tagged == entry)")
+					.addStatement("iterator.remove()")
+					.endControlFlow()
+					.endControlFlow()
+					.addStatement("LINK_TAGS.add(new LinkTag(entry, linkKey))")
+					.build())
+				.addType(TypeSpec.classBuilder("LinkTag")
+					.addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+					.addJavadoc("经由链接打开的页面及其链接参数，不阻止页面被回收。")
+					.addField(ParameterizedTypeName.get(ClassName.get(WeakReference.class), navBackStackEntryClassName),
+						"entry", Modifier.FINAL)
+					.addField(String.class, "key", Modifier.FINAL)
+					.addMethod(MethodSpec.constructorBuilder()
+						.addParameter(navBackStackEntryClassName, "entry", Modifier.FINAL)
+						.addParameter(String.class, "key", Modifier.FINAL)
+						.addStatement("this.entry = new $T<>(entry)", WeakReference.class)
+						.addStatement("this.key = key")
+						.build())
+					.build())
+				.addMethod(MethodSpec.methodBuilder("setCoalesceWindow")
+					.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+					.addParameter(TypeName.LONG, "windowMillis", Modifier.FINAL)
+					.returns(TypeName.VOID)
+					.addJavadoc("设置重复跳转的合并时间窗口。\n")
+					.addJavadoc("同一路由id在窗口内以相同路径重复调用{@link #performIntent}时，仅执行第一次跳转。\n")
+					.addJavadoc("@param windowMillis 时间窗口，单位为毫秒；不大于0时关闭合并。")
+					.addStatement("COALESCER.setWindow(windowMillis)")
+					.build())
+				.addMethod(MethodSpec.methodBuilder("getCoalesceWindow")
+					.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+					.returns(TypeName.LONG)
+					.addJavadoc("获取重复跳转的合并时间窗口，见{@link #setCoalesceWindow}。\n")
+					.addJavadoc("@return 时间窗口，单位为毫秒。")
+					.addStatement("return COALESCER.getWindow()")
+					.build())
+				.addMethod(MethodSpec.methodBuilder("isDuplicate")
+					.addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+					.addParameter(TypeName.INT, "routeIndex", Modifier.FINAL)
+					.addParameter(ParameterSpec.builder(String.class, "fullPath", Modifier.FINAL)
+						.addAnnotation(nullableClassName)
+						.build())
+					.returns(TypeName.BOOLEAN)
+					.addJavadoc("判断本次跳转是否为时间窗口内的重复跳转，否则记录本次跳转。\n")
+					.addJavadoc("@param routeIndex 路由id。\n")
+					.addJavadoc("@param fullPath 跳转路径。\n")
+					.addJavadoc("@return 需要合并（即忽略本次跳转）时返回true。")
+					.addStatement("return COALESCER.isDuplicate(routeIndex, fullPath, $T.uptimeMillis())",
+						systemClockClassName)
+					.build())
+				.addMethod(MethodSpec.methodBuilder("performIntent")
+					.addModifiers(Modifier.STATIC, Modifier.PUBLIC)
+					.addParameter(ParameterSpec.builder(intentClassName, "intent", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addParameter(ParameterSpec.builder(controllerClassName, "controller", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.returns(TypeName.VOID)
+					.addJavadoc("尝试执行跳转。\n")
+					.addJavadoc("@param intent 传入的Intent。\n")
+					.addJavadoc("@param controller 页面Controller。")
+					.addStatement("new $T(intent).dispatch(controller)", preparedIntentClassName)
+					.build())
+				.addMethod(MethodSpec.methodBuilder("prepareIntent")
+					.addModifiers(Modifier.STATIC, Modifier.PUBLIC)
+					.addParameter(ParameterSpec.builder(intentClassName, "intent", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addParameter(ParameterSpec.builder(Executor.class, "executor", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.returns(TypeName.VOID)
+					.addJavadoc("在{@link $T}就绪前预先解析跳转，适用于冷启动时的外部跳转。\n", controllerClassName)
+					.addJavadoc("路由匹配、路径解析与跳转方法所在类的加载将在<code>executor</code>中执行，\n")
+					.addJavadoc("解析结果将暂存至调用{@link #attachController}时派发。重复调用时仅保留最后一次的Intent。\n")
+					.addJavadoc("@param intent 传入的Intent。\n")
+					.addJavadoc("@param executor 执行预解析的后台线程池。")
+					.addStatement("$T prepared = new $T(intent)", preparedIntentClassName, preparedIntentClassName)
+					.addStatement("PENDING_INTENT.set(prepared)")
+					.addStatement("executor.execute(prepared)")
+					.build())
+				.addMethod(MethodSpec.methodBuilder("attachController")
+					.addModifiers(Modifier.STATIC, Modifier.PUBLIC)
+					.addParameter(ParameterSpec.builder(controllerClassName, "controller", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.returns(TypeName.BOOLEAN)
+					.addJavadoc("页面Controller就绪后，派发通过{@link #prepareIntent}暂存的跳转。\n")
+					.addJavadoc("请在主线程中、设置导航图后立即调用（如Activity的<code>onCreate</code>中），\n")
+					.addJavadoc("此时跳转与起始页面的Fragment事务将合并执行，起始页面不会被绘制。\n")
+					.addJavadoc("若后台预解析尚未完成，将在当前线程中完成解析。\n")
+					.addJavadoc("@param controller 页面Controller。\n")
+					.addJavadoc("@return 存在暂存的跳转并已派发时返回true。")
+					.addStatement("$T prepared = PENDING_INTENT.getAndSet(null)", preparedIntentClassName)
+					.beginControlFlow("if (prepared == null)")
+					.addStatement("return false")
+					.endControlFlow()
+					.addStatement("prepared.dispatch(controller)")
+					.addStatement("return true")
+					.build())
+				.addType(TypeSpec.classBuilder(preparedIntentClassName.simpleName())
+					.addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+					.addSuperinterface(Runnable.class)
+					.addJavadoc("解析后的跳转。\n")
+					.addField(FieldSpec.builder(intentClassName, "intent", Modifier.PRIVATE, Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addField(TypeName.BOOLEAN, "resolved", Modifier.PRIVATE)
+					.addField(TypeName.INT, "routeIndex", Modifier.PRIVATE)
+					.addField(String.class, "fullPath", Modifier.PRIVATE)
+					.addMethod(MethodSpec.constructorBuilder()
+						.addParameter(ParameterSpec.builder(intentClassName, "intent")
+							.addAnnotation(nonNullClassName)
+							.build())
+						.addStatement("this.intent = intent")
+						.build())
+					.addMethod(MethodSpec.methodBuilder("run")
 						.addAnnotation(Override.class)
 						.addModifiers(Modifier.PUBLIC)
-						.addParameter(controllerClassName, "controller")
-						.addParameter(String.class, "path")
-						.addParameter(intentClassName, "intent")
 						.returns(TypeName.VOID)
-						.addStatement("$T.$L($L)",
-							mTypeUtils.getDeclaredType((TypeElement) node.getMethodElement().getEnclosingElement()),
-							node.getMethodName(),
-							node.getSortedParams())
+						.addStatement("resolve()")
+						.addComment("预加载跳转方法所在的类。")
+						.addStatement("getHandlerClasses(routeIndex)")
 						.build())
-					.build();
-				performerInitializeStaticBlockBuilder.addStatement("performer = $L", innerClass);
-				performerInitializeStaticBlockBuilder.addStatement("PERFORMER_LIST.add(new $T($S, $L, performer))",
-					mapperNodeClassName, node.getPath(), node.isPrefix());
-			}
-			JavaFile navMapperHolderFile = JavaFile.builder(
-				GENERATED_CLASS_PACKAGE_NAME,
-				TypeSpec.classBuilder(GENERATED_NAV_MAPPER_HOLDER_CLASS_NAME)
-					.addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-					.addJavadoc("处理Intent页面跳转逻辑。\n")
-					.addJavadoc("自动化生成文件，在编译时重置。请勿手动修改此文件。\n")
-					.addJavadoc("@author 8f23\n")
-					.addJavadoc(
-						"@create $L\n",
-						new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.CHINA).format(processTime)
-					)
-					.addField(homePagePerformer)
-					.addField(errorPagePerformer)
-					.addField(performerSet)
-					.addStaticBlock(performerInitializeStaticBlockBuilder.build())
-					.addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
-					.addMethod(MethodSpec.methodBuilder("getPerformer")
-						.addModifiers(Modifier.PRIVATE, Modifier.STATIC)
-						.addParameter(ParameterSpec.builder(String.class, "path")
-							.addAnnotation(nonNullClassName)
-							.build())
-						.addAnnotation(nullableClassName)
-						.returns(performerClassName)
-						.addJavadoc("搜索跳转逻辑。\n")
-						.addJavadoc("@param path 输入路径。")
-						.addStatement("int binaryIndex = $T.binarySearch(PERFORMER_LIST, path)", Collections.class)
-						.beginControlFlow("if (binaryIndex >= 0)")
-						.addComment("直接找到匹配结果。")
-						.addStatement("return PERFORMER_LIST.get(binaryIndex).getPerformer()")
-						.endControlFlow()
-						.addStatement("binaryIndex = -(binaryIndex + 2)")
-						.beginControlFlow("if (binaryIndex == -1)")
-						.addComment("无潜在前驱结果。")
-						.addStatement("return null")
+					.addMethod(MethodSpec.methodBuilder("resolve")
+						.addModifiers(Modifier.SYNCHRONIZED)
+						.returns(TypeName.VOID)
+						.addJavadoc("解析跳转规则，重复调用时直接返回。")
+						.beginControlFlow("if (resolved)")
+						.addStatement("return")
 						.endControlFlow()
-						.addStatement("$T previousNode = PERFORMER_LIST.get(binaryIndex)", mapperNodeClassName)
-						.beginControlFlow("if (previousNode == null)")
-						.addStatement("return null")
+						.addStatement("int routeIndex = HOME_PAGE_ROUTE_INDEX")
+						.addStatement("$T fullPath = \"\"", String.class)
+						.addStatement("final int stampedRouteId = intent.getIntExtra(EXTRA_ROUTE_ID, 0)")
+						.beginControlFlow("if (stampedRouteId != 0)")
+						.addComment("优先按预先写入的路由id跳转，id未知或已过期时回退至路径匹配。")
+						.addStatement("final String stampedPath = intent.getStringExtra(EXTRA_ROUTE_PATH)")
+						.addStatement("final int stampedRouteIndex = ROUTE_TABLE.getRouteIndexById(stampedRouteId, stampedPath)")
+						.beginControlFlow("if (stampedRouteIndex >= 0)")
+						.addStatement("this.routeIndex = stampedRouteIndex")
+						.addStatement("this.fullPath = stampedPath")
+						.addStatement("resolved = true")
+						.addStatement("return")
 						.endControlFlow()
-						.addComment("校验前驱结果是否为当前路径的可行前缀后返回结果。")
-						.beginControlFlow("if (previousNode.isPrefix() && path.startsWith(previousNode.getPath()))")
-						.addStatement("return previousNode.getPerformer()")
 						.endControlFlow()
-						.addStatement("return null")
-						.build())
-					.addMethod(MethodSpec.methodBuilder("performIntent")
-						.addModifiers(Modifier.STATIC, Modifier.PUBLIC)
-						.addParameter(ParameterSpec.builder(intentClassName, "intent", Modifier.FINAL)
-							.addAnnotation(nonNullClassName)
-							.build())
-						.addParameter(ParameterSpec.builder(controllerClassName, "controller", Modifier.FINAL)
-							.addAnnotation(nonNullClassName)
-							.build())
-						.returns(TypeName.VOID)
-						.addJavadoc("尝试执行跳转。\n")
-						.addJavadoc("@param intent 传入的Intent。\n")
-						.addJavadoc("@param controller 页面Controller。")
-						.addStatement("$T performer = HOME_PAGE_PERFORMER", performerClassName)
 						.addStatement("$T uriData = intent.getData()", uriClassName)
-						.addStatement("$T fullPath = \"\"", String.class)
 						.beginControlFlow("if (uriData != null)")
 						.addStatement("fullPath = uriData.getPath()")
 						.beginControlFlow("if (fullPath != null)")
-						.addStatement("performer = getPerformer(fullPath)")
-						.beginControlFlow("if (performer == null)")
+						.addStatement("routeIndex = ROUTE_TABLE.getRouteIndex(fullPath)")
+						.beginControlFlow("if (routeIndex < 0)")
 						.addStatement(
 							"$T.e($S, $S)",
 							loggerClass,
 							GENERATED_CLASS_PACKAGE_NAME,
 							"No performer matched."
 						)
-						.addStatement("performer = ERROR_PAGE_PERFORMER")
+						.addStatement("routeIndex = ERROR_PAGE_ROUTE_INDEX")
 						.endControlFlow()
 						.endControlFlow()
 						.endControlFlow()
-						.addStatement("performer.navigate(controller, fullPath, intent)")
+						.addStatement("this.routeIndex = routeIndex")
+						.addStatement("this.fullPath = fullPath")
+						.addStatement("resolved = true")
 						.build())
-					.addMethod(MethodSpec.methodBuilder("perform")
-						.addParameter(ParameterSpec.builder(performerClassName, "performer", Modifier.FINAL)
-							.addAnnotation(nullableClassName)
-							.build())
+					.addMethod(MethodSpec.methodBuilder("dispatch")
 						.addParameter(ParameterSpec.builder(controllerClassName, "controller", Modifier.FINAL)
 							.addAnnotation(nonNullClassName)
 							.build())
-						.addParameter(ParameterSpec.builder(String.class, "fullPath", Modifier.FINAL)
-							.addAnnotation(nonNullClassName)
-							.build())
-						.addParameter(ParameterSpec.builder(intentClassName, "intent", Modifier.FINAL)
-							.addAnnotation(nonNullClassName)
-							.build())
-						.beginControlFlow("if (performer == null)")
+						.returns(TypeName.VOID)
+						.addJavadoc("执行跳转，必须在主线程中调用。")
+						.addStatement("resolve()")
+						.beginControlFlow("if (isDuplicate(routeIndex, fullPath))")
+						.addComment("合并时间窗口内的重复跳转，避免重复执行Fragment事务。")
 						.addStatement("return")
 						.endControlFlow()
-						.beginControlFlow("try")
-						.addStatement("performer.navigate(controller, fullPath, intent)")
-						.nextControlFlow("catch (Throwable any)")
-						.beginControlFlow("if (performer != ERROR_PAGE_PERFORMER)")
-						.addStatement("perform(ERROR_PAGE_PERFORMER, controller, fullPath, intent)")
+						.addCode(prefetch
+							// 首页与错误页同样计入，使返回首页后的跳转记为首页的后继。
+							? CodeBlock.of("recordTransition(routeIndex);\n")
+							: CodeBlock.of(""))
+						.beginControlFlow("if (routeIndex < HOME_PAGE_ROUTE_INDEX)")
+						.addStatement("navigateRoute(routeIndex, controller, fullPath, intent)")
+						.addStatement("return")
 						.endControlFlow()
+						.beginControlFlow("if (routeIndex == HOME_PAGE_ROUTE_INDEX)")
+						.addComment("未设置首页跳转规则时保留导航图的起始页面，如从启动器打开时。")
+						.beginControlFlow("if (HOME_PAGE_PERFORMER != null)")
+						.addStatement("HOME_PAGE_PERFORMER.navigate(controller, fullPath, intent)")
 						.endControlFlow()
+						.addStatement("return")
+						.endControlFlow()
+						.beginControlFlow("if (ERROR_PAGE_PERFORMER == null)")
+						.addStatement(
+							"$T.e($S, $S)",
+							loggerClass,
+							GENERATED_CLASS_PACKAGE_NAME,
+							"Error page performer is not set."
+						)
+						.addStatement("return")
+						.endControlFlow()
+						.addStatement("ERROR_PAGE_PERFORMER.navigate(controller, fullPath, intent)")
 						.build())
-					.build()
-			).build();
+					.build())
+				.addMethod(MethodSpec.methodBuilder("perform")
+					.addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+					.addParameter(ParameterSpec.builder(performerClassName, "performer", Modifier.FINAL)
+						.addAnnotation(nullableClassName)
+						.build())
+					.addParameter(ParameterSpec.builder(controllerClassName, "controller", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addParameter(ParameterSpec.builder(String.class, "fullPath", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.addParameter(ParameterSpec.builder(intentClassName, "intent", Modifier.FINAL)
+						.addAnnotation(nonNullClassName)
+						.build())
+					.beginControlFlow("if (performer == null)")
+					.addStatement("return")
+					.endControlFlow()
+					.beginControlFlow("try")
+					.addStatement("performer.navigate(controller, fullPath, intent)")
+					.nextControlFlow("catch (Throwable any)")
+					.beginControlFlow("if (performer != ERROR_PAGE_PERFORMER)")
+					.addStatement("perform(ERROR_PAGE_PERFORMER, controller, fullPath, intent)")
+					.endControlFlow()
+					.endControlFlow()
+					.build());
+			MethodSpec handlerClassMethod = MethodSpec.methodBuilder("getHandlerClasses")
+				.addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+				.addParameter(TypeName.INT, "routeIndex", Modifier.FINAL)
+				.addAnnotation(nullableClassName)
+				.returns(ArrayTypeName.of(ParameterizedTypeName.get(
+					ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class))))
+				.addJavadoc("获取路由各跳转条件的跳转方法所在的类，用于预加载。\n")
+				.addJavadoc("@param routeIndex 路由id。")
+				.build();
+			PackedRouteTable.addRouteSwitch(holderBuilder, handlerClassMethod, handlerClassCases,
+				CodeBlock.builder().addStatement("return null").build());
+			MethodSpec.Builder navigateRouteMethodBuilder = MethodSpec.methodBuilder("navigateRoute")
+				.addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+				.addParameter(TypeName.INT, "routeIndex", Modifier.FINAL)
+				.addParameter(controllerClassName, "controller", Modifier.FINAL)
+				.addParameter(String.class, "path", Modifier.FINAL)
+				.addParameter(intentClassName, "intent", Modifier.FINAL)
+				.returns(TypeName.VOID)
+				.addJavadoc("执行一般页面跳转规则。\n")
+				.addJavadoc("@param routeIndex 路由id。");
+			PackedRouteTable.addRouteSwitch(holderBuilder, navigateRouteMethodBuilder.build(), navigateCases,
+				CodeBlock.builder().addStatement("break").build());
+			if (prefetch) {
+				addPrefetchMembers(holderBuilder);
+			}
+			JavaFile navMapperHolderFile = JavaFile.builder(GENERATED_CLASS_PACKAGE_NAME, holderBuilder.build())
+				.build();
 			navMapperHolderFile.writeTo(mFiler);
 		}
 		catch (IOException e) {
@@ -329,16 +928,244 @@ public class NavProcessor extends AbstractProcessor{
 		return false;
 	}
 
+	/**
+	 * 生成跳转频次记录与预加载相关的成员。
+	 * 每次经由路由表跳转后记录跳转，并在主线程空闲时于后台预加载下一次最可能跳转的页面所在的类。
+	 */
+	private void addPrefetchMembers(TypeSpec.Builder holderBuilder){
+		ClassName nullableClassName = ClassName.get("androidx.annotation", "Nullable");
+		ClassName nonNullClassName = ClassName.get("androidx.annotation", "NonNull");
+		ClassName idleHandlerClassName = ClassName.get("android.os", "MessageQueue", "IdleHandler");
+		ClassName looperClassName = ClassName.get("android.os", "Looper");
+		TypeSpec prefetchTask = TypeSpec.anonymousClassBuilder("")
+			.addSuperinterface(Runnable.class)
+			.addMethod(MethodSpec.methodBuilder("run")
+				.addAnnotation(Override.class)
+				.addModifiers(Modifier.PUBLIC)
+				.returns(TypeName.VOID)
+				.addStatement("getHandlerClasses(nextRouteIndex)")
+				.build())
+			.build();
+		TypeSpec idleHandler = TypeSpec.anonymousClassBuilder("")
+			.addSuperinterface(idleHandlerClassName)
+			.addMethod(MethodSpec.methodBuilder("queueIdle")
+				.addAnnotation(Override.class)
+				.addModifiers(Modifier.PUBLIC)
+				.returns(TypeName.BOOLEAN)
+				.addStatement("prefetchScheduled = false")
+				.addStatement("final $T executor = prefetchExecutor", Executor.class)
+				.addStatement("final int nextRouteIndex = TRANSITIONS.predictNext()")
+				.beginControlFlow("if (executor != null && nextRouteIndex >= 0)")
+				.addStatement("executor.execute($L)", prefetchTask)
+				.endControlFlow()
+				.addStatement("return false")
+				.build())
+			.build();
+		holderBuilder
+			.addField(FieldSpec.builder(TRANSITION_TABLE_CLASS_NAME, "TRANSITIONS",
+					Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+				.initializer("new $T(ROUTE_TABLE)", TRANSITION_TABLE_CLASS_NAME)
+				.addJavadoc("路由跳转频次表，首页与错误页的路由id与{@link #HOME_PAGE_ROUTE_INDEX}、{@link #ERROR_PAGE_ROUTE_INDEX}一致。")
+				.build())
+			.addField(FieldSpec.builder(Executor.class, "prefetchExecutor", Modifier.PRIVATE, Modifier.STATIC,
+					Modifier.VOLATILE)
+				.addJavadoc("执行预加载的后台线程池，为null时不记录跳转。")
+				.build())
+			.addField(FieldSpec.builder(TypeName.BOOLEAN, "prefetchScheduled", Modifier.PRIVATE, Modifier.STATIC)
+				.addJavadoc("是否已在等待主线程空闲，仅在主线程中访问。")
+				.build())
+			.addField(FieldSpec.builder(idleHandlerClassName, "PREFETCH_IDLE_HANDLER",
+					Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+				.initializer("$L", idleHandler)
+				.addJavadoc("主线程空闲时预加载下一次最可能跳转的页面。")
+				.build())
+			.addMethod(MethodSpec.methodBuilder("setPrefetchExecutor")
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.addParameter(ParameterSpec.builder(Executor.class, "executor", Modifier.FINAL)
+					.addAnnotation(nullableClassName)
+					.build())
+				.returns(TypeName.VOID)
+				.addJavadoc("设置执行预加载的后台线程池。\n")
+				.addJavadoc("设置后，每次跳转均将记录跳转频次，并在主线程空闲时于<code>executor</code>中\n")
+				.addJavadoc("预加载下一次最可能跳转的页面所在的类。\n")
+				.addJavadoc("@param executor 后台线程池，为null时停止记录与预加载。")
+				.addStatement("prefetchExecutor = executor")
+				.build())
+			.addMethod(MethodSpec.methodBuilder("saveTransitions")
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.addParameter(ParameterSpec.builder(DataOutput.class, "out", Modifier.FINAL)
+					.addAnnotation(nonNullClassName)
+					.build())
+				.addException(IOException.class)
+				.returns(TypeName.VOID)
+				.addJavadoc("保存跳转频次记录，可在下次启动时通过{@link #loadTransitions}恢复。\n")
+				.addJavadoc("@param out 写入目标。")
+				.addStatement("TRANSITIONS.writeTo(out)")
+				.build())
+			.addMethod(MethodSpec.methodBuilder("loadTransitions")
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.addParameter(ParameterSpec.builder(DataInput.class, "in", Modifier.FINAL)
+					.addAnnotation(nonNullClassName)
+					.build())
+				.addException(IOException.class)
+				.returns(TypeName.VOID)
+				.addJavadoc("恢复由{@link #saveTransitions}保存的跳转频次记录，已不存在的路由将被忽略。\n")
+				.addJavadoc("@param in 读取来源。")
+				.addStatement("TRANSITIONS.readFrom(in)")
+				.build())
+			.addMethod(MethodSpec.methodBuilder("recordTransition")
+				.addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+				.addParameter(TypeName.INT, "routeIndex", Modifier.FINAL)
+				.returns(TypeName.VOID)
+				.addJavadoc("记录跳转，并在主线程空闲时预加载下一次最可能跳转的页面。必须在主线程中调用。\n")
+				.addJavadoc("@param routeIndex 路由id，含首页与错误页。")
+				.beginControlFlow("if (prefetchExecutor == null)")
+				.addStatement("return")
+				.endControlFlow()
+				.addStatement("TRANSITIONS.record(routeIndex)")
+				.beginControlFlow("if (!prefetchScheduled)")
+				.addStatement("prefetchScheduled = true")
+				.addStatement("$T.myQueue().addIdleHandler(PREFETCH_IDLE_HANDLER)", looperClassName)
+				.endControlFlow()
+				.build());
+	}
+
+	/**
+	 * 构建跳转规则的方法体。
+	 *
+	 * @param node 跳转规则。
+	 * @return 方法体代码，其中可引用<code>controller</code>、<code>path</code>、<code>intent</code>三个参数。
+	 */
+	private CodeBlock buildPerformerBody(NavAptMapperNode node){
+		if (node instanceof NavAptDestinationNode) {
+			return buildDestinationBody((NavAptDestinationNode) node);
+		}
+		CodeBlock.Builder builder = CodeBlock.builder();
+		if (node.isReuseExisting()) {
+			builder.addStatement("final $T linkKey = linkKey(path, intent)", String.class)
+				.beginControlFlow("if (reuseDestination(controller, $L, linkKey))", node.getDestination())
+				.addStatement("return")
+				.endControlFlow();
+		}
+		int[] parentDestinations = node.getParentDestinations();
+		if (parentDestinations.length > 0) {
+			CodeBlock[] parentIds = new CodeBlock[parentDestinations.length];
+			for (int i = 0; i < parentDestinations.length; i++) {
+				parentIds[i] = CodeBlock.of("$L", parentDestinations[i]);
+			}
+			builder.add("// 补全父页面链。\n");
+			buildParentChain(builder, parentIds, parentIds.length - 1);
+		}
+		builder.addStatement("$T.$L($L)",
+			mTypeUtils.getDeclaredType((TypeElement) node.getMethodElement().getEnclosingElement()),
+			node.getMethodName(),
+			node.getSortedParams());
+		if (node.isReuseExisting()) {
+			builder.addStatement("tagDestination(controller, $L, linkKey)", node.getDestination());
+		}
+		return builder.build();
+	}
+
+	/**
+	 * 构建直接跳转至导航图页面的方法体。
+	 *
+	 * @param node 跳转规则。
+	 * @return 方法体代码。
+	 */
+	private CodeBlock buildDestinationBody(NavAptDestinationNode node){
+		CodeBlock.Builder builder = CodeBlock.builder();
+		CodeBlock destinationId = navGraphIdReference(node.getDestinationName());
+		if (node.isReuseExisting()) {
+			builder.addStatement("final $T linkKey = linkKey(path, intent)", String.class)
+				.beginControlFlow("if (reuseDestination(controller, $L, linkKey))", destinationId)
+				.addStatement("return")
+				.endControlFlow();
+		}
+		String[] parentDestinationNames = node.getParentDestinationNames();
+		if (parentDestinationNames.length > 0) {
+			CodeBlock[] parentIds = new CodeBlock[parentDestinationNames.length];
+			for (int i = 0; i < parentDestinationNames.length; i++) {
+				parentIds[i] = navGraphIdReference(parentDestinationNames[i]);
+			}
+			builder.add("// 补全父页面链。\n");
+			buildParentChain(builder, parentIds, parentIds.length - 1);
+		}
+		String navOptions = node.hasNavOptions() ? navOptionsFieldNames.get(node.getNavOptionsKey()) : "null";
+		if (!node.isReuseExisting() || node.isSingleTop()) {
+			builder.addStatement("controller.navigate($L, navigationArguments(intent), $L)", destinationId, navOptions);
+		}
+		else {
+			// 目标页面位于栈顶但参数不同时，以singleTop方式替换为新的参数。
+			builder.addStatement("controller.navigate($L, navigationArguments(intent), isCurrentDestination(controller, $L) ? $L : $L)",
+				destinationId, destinationId, navOptionsFieldNames.get(node.getSingleTopNavOptionsKey()), navOptions);
+		}
+		if (node.isReuseExisting()) {
+			builder.addStatement("tagDestination(controller, $L, linkKey)", destinationId);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * 构建{@code NavOptions}常量，取值相同时共用已构建的常量。
+	 *
+	 * @param fields              已构建的常量。
+	 * @param navOptionsClassName {@code NavOptions}类名。
+	 * @param singleTop           是否以singleTop方式跳转。
+	 * @param popUpTo             弹出返回栈直至的页面，为空时不弹出。
+	 * @param popUpToInclusive    是否同时弹出该页面。
+	 */
+	private void addNavOptionsField(List<FieldSpec> fields, ClassName navOptionsClassName,
+		boolean singleTop, String popUpTo, boolean popUpToInclusive){
+		String key = NavAptDestinationNode.navOptionsKey(singleTop, popUpTo, popUpToInclusive);
+		if (navOptionsFieldNames.containsKey(key)) {
+			return;
+		}
+		String fieldName = "NAV_OPTIONS_" + fields.size();
+		CodeBlock.Builder initializer = CodeBlock.builder().add("new $T.Builder()$>", navOptionsClassName);
+		if (singleTop) {
+			initializer.add("\n.setLaunchSingleTop(true)");
+		}
+		if (!popUpTo.isEmpty()) {
+			initializer.add("\n.setPopUpTo($L, $L)", navGraphIdReference(popUpTo), popUpToInclusive);
+		}
+		fields.add(FieldSpec.builder(navOptionsClassName, fieldName,
+				Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+			.initializer(initializer.add("\n.build()$<").build())
+			.build());
+		navOptionsFieldNames.put(key, fieldName);
+	}
+
+	/**
+	 * 构建引用导航图页面id的代码。
+	 *
+	 * @param name 页面id名称。
+	 * @return 形如<code>R.id.xxx</code>的代码。
+	 */
+	private CodeBlock navGraphIdReference(String name){
+		return CodeBlock.of("$T.$N", ClassName.get(rPackage, "R", "id"), name);
+	}
+
+	/**
+	 * 构建补全父页面链的代码：若第<code>depth</code>层父页面无法复用，则先补全其上层，再跳转至该页面。
+	 *
+	 * @param builder            代码构建器。
+	 * @param parentDestinations 父页面链。
+	 * @param depth              当前处理的层级。
+	 */
+	private static void buildParentChain(CodeBlock.Builder builder, CodeBlock[] parentDestinations, int depth){
+		builder.beginControlFlow("if (!reuseParent(controller, $L))", parentDestinations[depth]);
+		if (depth > 0) {
+			buildParentChain(builder, parentDestinations, depth - 1);
+		}
+		builder.addStatement("controller.navigate($L)", parentDestinations[depth]);
+		builder.endControlFlow();
+	}
 
 	private boolean buildOtherClasses(){
 		ClassName performerClassName = ClassName.get(
 			GENERATED_CLASS_PACKAGE_NAME,
 			GENERATED_NAV_PERFORMER_CLASS_NAME
 		);
-		ClassName nodeClassName = ClassName.get(
-			GENERATED_CLASS_PACKAGE_NAME,
-			GENERATED_NAV_MAPPER_NODE_CLASS_NAME
-		);
 		ClassName intentClassName = ClassName.get(
 			INTENT_PACKAGE_NAME,
 			INTENT_CLASS_NAME
@@ -386,82 +1213,505 @@ public class NavProcessor extends AbstractProcessor{
 				"failed to generate NavPerformer class."
 			);
 		}
+		return false;
+	}
+
+	/**
+	 * 检查各路由id是否冲突。
+	 *
+	 * @return 存在冲突时返回true并输出错误信息，否则返回false。
+	 */
+	private boolean checkRouteIds(){
+		Map<Integer, NavAptMapperNode> routeIdMap = new HashMap<>();
+		for (NavAptMapperNode node : this.mapperNodeSet) {
+			NavAptMapperNode conflict = routeIdMap.put(node.getRouteId(), node);
+			if (conflict != null) {
+				mMessage.printMessage(
+					Diagnostic.Kind.ERROR,
+					IntentNavMethod.class.getCanonicalName() + ": Failed to build intent nav class: route id of " +
+						node.getPath() + " conflicts with " + conflict.getPath(),
+					node.getMethodElement()
+				);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 检查各路由id常量名是否冲突。常量名仅由路径得到，不随路由的增删而变化，因此重名时无法自动区分。
+	 *
+	 * @return 存在冲突时返回true并输出错误信息，否则返回false。
+	 */
+	private boolean checkRouteConstantNames(){
+		Map<String, NavAptMapperNode> routeNameMap = new HashMap<>();
+		// 避免路由常量与路由表常量重名。
+		routeNameMap.put("TABLE", null);
+		for (NavAptMapperNode node : this.mapperNodeSet) {
+			String name = node.getRouteConstantName();
+			if (routeNameMap.containsKey(name)) {
+				NavAptMapperNode conflict = routeNameMap.get(name);
+				mMessage.printMessage(
+					Diagnostic.Kind.ERROR,
+					IntentNavMethod.class.getCanonicalName() + ": Failed to build intent nav class: route constant " +
+						name + " of " + node.getPath() + " conflicts with " +
+						(conflict == null ? "TelepathRoutes.TABLE" : conflict.getPath()),
+					node.getMethodElement()
+				);
+				return true;
+			}
+			routeNameMap.put(name, node);
+		}
+		return false;
+	}
+
+	/**
+	 * 检查共用同一路径的跳转规则的条件是否冲突。
+	 *
+	 * @return 存在冲突时返回true并输出错误信息，否则返回false。
+	 */
+	private boolean checkRouteVariants(){
+		for (NavAptMapperNode node : this.mapperNodeSet) {
+			NavAptMapperNode[] overlap = RouteDecisionTree.findOverlap(node.getVariants());
+			if (overlap == null) {
+				continue;
+			}
+			for (NavAptMapperNode conflict : overlap) {
+				mMessage.printMessage(
+					Diagnostic.Kind.ERROR,
+					IntentNavMethod.class.getCanonicalName() + ": Failed to build intent nav class: conditions " +
+						overlap[0].getConditions() + " and " + overlap[1].getConditions() + " of path " +
+						node.getPath() + " overlap.",
+					conflict.getMethodElement()
+				);
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * 将全部模式路由合并编译为自动机，结果保存至{@link #patternMatcher}，不存在模式路由时为null。
+	 *
+	 * @return 模式冲突或过于复杂时返回true并输出错误信息，否则返回false。
+	 */
+	private boolean compilePatternRoutes(){
+		List<String> patterns = new ArrayList<>();
+		int firstRouteIndex = 0;
+		NavAptMapperNode firstPatternNode = null;
+		for (NavAptMapperNode node : this.mapperNodeSet) {
+			if (!node.isPattern()) {
+				firstRouteIndex++;
+				continue;
+			}
+			if (firstPatternNode == null) {
+				firstPatternNode = node;
+			}
+			patterns.add(node.getPath());
+		}
+		if (firstPatternNode == null) {
+			patternMatcher = null;
+			return false;
+		}
+		try {
+			patternMatcher = PatternCompiler.compile(patterns.toArray(new String[0]), firstRouteIndex);
+			return false;
+		}
+		catch (IllegalArgumentException e) {
+			mMessage.printMessage(
+				Diagnostic.Kind.ERROR,
+				IntentNavMethod.class.getCanonicalName() + ": Failed to build intent nav class: " + e.getMessage(),
+				firstPatternNode.getMethodElement()
+			);
+			return true;
+		}
+	}
+
+	/** 自动构建路由id常量类。 */
+	private boolean buildRoutesClass(){
 		if (DEBUG_MODE) {
 			mMessage.printMessage(
 				Diagnostic.Kind.NOTE,
-				"Intent nav APT: Start to build NavMapperNode class file."
+				"Intent nav APT: Start to build routes class file."
 			);
 		}
+		TypeSpec.Builder routesClassBuilder = TypeSpec.classBuilder(GENERATED_NAV_ROUTES_CLASS_NAME)
+			.addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+			.addJavadoc("路由id常量，配合{@link $T#stampRoute}使用。\n",
+				ClassName.get(GENERATED_CLASS_PACKAGE_NAME, GENERATED_NAV_MAPPER_HOLDER_CLASS_NAME))
+			.addJavadoc("路由id仅由路径计算得到，路径不变时在不同版本间保持稳定。\n")
+			.addJavadoc("自动化生成文件，在编译时重置。请勿手动修改此文件。\n")
+			.addJavadoc("@author 8f23\n")
+			.addJavadoc(
+				"@create $L\n",
+				new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.CHINA).format(processTime)
+			)
+			.addField(FieldSpec.builder(
+					ROUTE_TABLE_CLASS_NAME,
+					"TABLE",
+					Modifier.PUBLIC,
+					Modifier.STATIC,
+					Modifier.FINAL
+				)
+				.initializer("$L", PackedRouteTable.routeTableInitializer(this.mapperNodeSet, patternMatcher))
+				.addJavadoc("路由表，下标即生成代码中的路由下标。不依赖Android，可在JVM环境中用于路径匹配。")
+				.build())
+			.addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build());
+		for (NavAptMapperNode node : this.mapperNodeSet) {
+			String name = node.getRouteConstantName();
+			routesClassBuilder.addField(FieldSpec.builder(
+					TypeName.INT,
+					name,
+					Modifier.PUBLIC,
+					Modifier.STATIC,
+					Modifier.FINAL
+				)
+				.initializer("$L", node.getRouteId())
+				// 模式中的“*/”会提前结束注释。
+				.addJavadoc("$L：<code>$L</code>$L", node.getDescription(), node.getPath().replace("*/", "*&#47;"),
+					node.isPrefix() ? "（前缀）" : (node.isPattern() ? "（模式）" : ""))
+				.build());
+		}
 		try {
+			JavaFile.builder(GENERATED_CLASS_PACKAGE_NAME, routesClassBuilder.build()).build().writeTo(mFiler);
+		}
+		catch (IOException e) {
+			mMessage.printMessage(
+				Diagnostic.Kind.WARNING,
+				"failed to generate Routes class."
+			);
+		}
+		return false;
+	}
+
+	/** 自动构建链接构造方法类。 */
+	private boolean buildLinksClass(){
+		if (DEBUG_MODE) {
+			mMessage.printMessage(
+				Diagnostic.Kind.NOTE,
+				"Intent nav APT: Start to build links class file."
+			);
+		}
+		TypeSpec.Builder linksClassBuilder = TypeSpec.classBuilder(GENERATED_LINKS_CLASS_NAME)
+			.addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+			.addJavadoc("链接构造方法，按各跳转规则的路径与{@link $T#linkParams()}写入链接。\n", IntentNavMethod.class)
+			.addJavadoc("写入{@link $T}或{@link $T}时不创建中间字符串；参数不可为null。\n",
+				StringBuilder.class, Appendable.class)
+			.addJavadoc("自动化生成文件，在编译时重置。请勿手动修改此文件。\n")
+			.addJavadoc("@author 8f23\n")
+			.addJavadoc(
+				"@create $L\n",
+				new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.CHINA).format(processTime)
+			)
+			.addField(FieldSpec.builder(
+					String.class,
+					"BASE",
+					Modifier.PUBLIC,
+					Modifier.STATIC,
+					Modifier.FINAL
+				)
+				.initializer("$S", linkBase)
+				.addJavadoc("链接前缀，由编译参数<code>$L</code>指定。", OPTION_LINK_BASE)
+				.build())
+			.addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build());
+		// 共用同一路径的各跳转规则分别生成方法，并写入各自的跳转条件；方法名冲突已由checkLinkMethods检查。
+		for (NavAptMapperNode node : this.mapperNodeSet) {
+			if (node.isPattern()) {
+				continue;
+			}
+			for (NavAptMapperNode variant : node.getVariants()) {
+				addLinkMethods(linksClassBuilder, variant);
+			}
+		}
+		try {
+			JavaFile.builder(GENERATED_CLASS_PACKAGE_NAME, linksClassBuilder.build()).build().writeTo(mFiler);
+		}
+		catch (IOException e) {
+			mMessage.printMessage(
+				Diagnostic.Kind.WARNING,
+				"failed to generate Links class."
+			);
+		}
+		return false;
+	}
 
-			JavaFile nabMapperFile = JavaFile.builder(
+	/**
+	 * 检查链接构造方法。方法名由路径与跳转条件得到，重名时编译失败；查询参数不可与跳转条件同名。
+	 *
+	 * @return 存在冲突时返回true并输出错误信息，否则返回false。
+	 */
+	private boolean checkLinkMethods(){
+		Map<String, NavAptMapperNode> linkMethodMap = new HashMap<>();
+		for (NavAptMapperNode node : this.mapperNodeSet) {
+			if (node.isPattern()) {
+				// 模式路由无法由参数确定唯一链接。
+				continue;
+			}
+			for (NavAptMapperNode variant : node.getVariants()) {
+				for (NavAptLinkParam linkParam : variant.getLinkParams()) {
+					if (variant.getConditions().containsKey(linkParam.getName())) {
+						mMessage.printMessage(
+							Diagnostic.Kind.ERROR,
+							IntentNavMethod.class.getCanonicalName() + ": Failed to build intent nav class: link param " +
+								linkParam.getName() + " of path " + variant.getPath() + " is fixed by its condition",
+							variant.getMethodElement()
+						);
+						return true;
+					}
+				}
+				NavAptMapperNode conflict = linkMethodMap.put(variant.getLinkMethodName(), variant);
+				if (conflict != null) {
+					mMessage.printMessage(
+						Diagnostic.Kind.ERROR,
+						IntentNavMethod.class.getCanonicalName() + ": Failed to build intent nav class: link method " +
+							variant.getLinkMethodName() + " of " + variant.getPath() + " " + variant.getConditions() +
+							" conflicts with " + conflict.getPath() + " " + conflict.getConditions(),
+						variant.getMethodElement()
+					);
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 为单个跳转规则生成写入{@link StringBuilder}、写入{@link Appendable}与返回字符串的三个链接构造方法。
+	 * 跳转条件作为固定的查询参数写入，使链接按条件选中该规则。
+	 * 路径本身含有查询参数（<code>?</code>）时，以<code>&amp;</code>连接其后的查询参数。
+	 */
+	private void addLinkMethods(TypeSpec.Builder linksClassBuilder, NavAptMapperNode node){
+		final String name = node.getLinkMethodName();
+		final NavAptLinkParam[] linkParams = node.getLinkParams();
+		ClassName stringBuilderClassName = ClassName.get(StringBuilder.class);
+		List<ParameterSpec> parameters = new ArrayList<>();
+		if (node.isPrefix()) {
+			parameters.add(ParameterSpec.builder(CharSequence.class, "suffix").build());
+		}
+		for (NavAptLinkParam linkParam : linkParams) {
+			parameters.add(ParameterSpec.builder(linkParam.getType(), linkParam.getName()).build());
+		}
+		String summary = node.getDescription() + "：<code>" + node.getPath() + "</code>" +
+			(node.isPrefix() ? "（前缀）" : "") +
+			(node.getConditions().isEmpty() ? "" : "，条件<code>" + node.getConditions() + "</code>");
+		CodeBlock.Builder builderBody = CodeBlock.builder()
+			.addStatement("out.append($S)", linkBase + node.getPath());
+		CodeBlock.Builder appendableBody = CodeBlock.builder()
+			.addStatement("out.append($S)", linkBase + node.getPath());
+		// 预估链接长度，基本类型参数按最大长度计算。
+		CodeBlock.Builder capacity = CodeBlock.builder()
+			.add("$L", linkBase.length() + node.getPath().length());
+		if (node.isPrefix()) {
+			builderBody.addStatement("$T.appendPath(out, suffix)", LINK_WRITER_CLASS_NAME);
+			appendableBody.addStatement("$T.appendPath(out, suffix)", LINK_WRITER_CLASS_NAME);
+			capacity.add(" + suffix.length()");
+		}
+		int fixedLength = 0;
+		boolean hasQuery = (linkBase + node.getPath()).indexOf('?') >= 0;
+		if (!node.getConditions().isEmpty()) {
+			StringBuilder conditions = new StringBuilder();
+			for (Map.Entry<String, String> condition : node.getConditions().entrySet()) {
+				conditions.append(hasQuery ? '&' : '?');
+				hasQuery = true;
+				LinkWriter.appendEncoded(conditions, condition.getKey());
+				conditions.append('=');
+				LinkWriter.appendEncoded(conditions, condition.getValue());
+			}
+			builderBody.addStatement("out.append($S)", conditions.toString());
+			appendableBody.addStatement("out.append($S)", conditions.toString());
+			fixedLength += conditions.length();
+		}
+		for (NavAptLinkParam linkParam : linkParams) {
+			String key = (hasQuery ? "&" : "?") + linkParam.getName() + "=";
+			hasQuery = true;
+			builderBody.addStatement("out.append($S)", key);
+			appendableBody.addStatement("out.append($S)", key);
+			fixedLength += key.length();
+			if (!linkParam.isPrimitive()) {
+				builderBody.addStatement("$T.appendEncoded(out, $N)", LINK_WRITER_CLASS_NAME, linkParam.getName());
+				appendableBody.addStatement("$T.appendEncoded(out, $N)", LINK_WRITER_CLASS_NAME, linkParam.getName());
+				capacity.add(" + $N.length()", linkParam.getName());
+				continue;
+			}
+			fixedLength += linkParam.getEstimatedLength();
+			builderBody.addStatement("out.append($N)", linkParam.getName());
+			if (TypeName.BOOLEAN.equals(linkParam.getType())) {
+				appendableBody.addStatement("out.append($N ? $S : $S)", linkParam.getName(), "true", "false");
+			}
+			else {
+				appendableBody.addStatement("$T.appendDecimal(out, $N)", LINK_WRITER_CLASS_NAME, linkParam.getName());
+			}
+		}
+		if (fixedLength > 0) {
+			capacity.add(" + $L", fixedLength);
+		}
+		StringBuilder arguments = new StringBuilder();
+		for (ParameterSpec parameter : parameters) {
+			arguments.append(", ").append(parameter.name);
+		}
+		linksClassBuilder
+			.addMethod(MethodSpec.methodBuilder(name)
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.addJavadoc("写入链接，$L。\n\n@param out 写入目标。\n@return 写入目标。\n", summary)
+				.addParameter(stringBuilderClassName, "out")
+				.addParameters(parameters)
+				.returns(stringBuilderClassName)
+				.addCode(builderBody.build())
+				.addStatement("return out")
+				.build())
+			.addMethod(MethodSpec.methodBuilder(name)
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.addJavadoc("写入链接，$L。\n\n@param out 写入目标。\n", summary)
+				.addParameter(Appendable.class, "out")
+				.addParameters(parameters)
+				.addException(IOException.class)
+				.addCode(appendableBody.build())
+				.build())
+			.addMethod(MethodSpec.methodBuilder(name)
+				.addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+				.addJavadoc("构造链接，$L。缓冲区按预估长度一次分配。\n\n@return 链接。\n", summary)
+				.addParameters(parameters)
+				.returns(String.class)
+				.addStatement("return $N(new $T($L)$L).toString()", name, stringBuilderClassName, capacity.build(),
+					arguments)
+				.build());
+	}
+
+	/**
+	 * 读取{@link #navigationDirs}中的导航图资源，已读取时直接返回。
+	 *
+	 * @return 读取失败时返回true并输出错误信息，否则返回false。
+	 */
+	private boolean loadNavGraphResources(){
+		if (navGraphResources != null) {
+			return false;
+		}
+		try {
+			NavGraphResources resources = new NavGraphResources();
+			for (String navigationDir : navigationDirs.split(File.pathSeparator)) {
+				if (!navigationDir.trim().isEmpty()) {
+					resources.load(new File(navigationDir.trim()));
+				}
+			}
+			navGraphResources = resources;
+			return false;
+		}
+		catch (Exception e) {
+			mMessage.printMessage(
+				Diagnostic.Kind.ERROR,
+				"Intent nav APT: Failed to read navigation graph from " + navigationDirs + ": " + e.getMessage()
+			);
+			return true;
+		}
+	}
+
+	/** 根据导航图自动构建FragmentFactory类，以直接调用构造方法代替反射创建页面。 */
+	private boolean buildFragmentFactoryClass(){
+		if (DEBUG_MODE) {
+			mMessage.printMessage(
+				Diagnostic.Kind.NOTE,
+				"Intent nav APT: Start to build fragment factory class file."
+			);
+		}
+		if (loadNavGraphResources()) {
+			return true;
+		}
+		TypeElement fragmentElement = mElementUtils.getTypeElement(FRAGMENT_PACKAGE_NAME + ".Fragment");
+		if (fragmentElement == null) {
+			mMessage.printMessage(
+				Diagnostic.Kind.WARNING,
+				"Intent nav APT: " + FRAGMENT_PACKAGE_NAME + ".Fragment not found, skip fragment factory."
+			);
+			return false;
+		}
+		ClassName fragmentClassName = ClassName.get(fragmentElement);
+		ClassName nonNullClassName = ClassName.get("androidx.annotation", "NonNull");
+		CodeBlock.Builder switchBuilder = CodeBlock.builder()
+			.beginControlFlow("switch (className)");
+		for (String className : navGraphResources.getFragmentClassNames()) {
+			// 导航图中的内部类以“$”分隔，需转换为规范名称后查找。
+			TypeElement typeElement = mElementUtils.getTypeElement(className.replace('$', '.'));
+			if (typeElement == null || !isDirectlyInstantiable(typeElement)
+				|| !mTypeUtils.isAssignable(typeElement.asType(), fragmentElement.asType())
+			) {
+				// 无法直接创建的页面交由父类反射创建。
+				mMessage.printMessage(
+					Diagnostic.Kind.WARNING,
+					"Intent nav APT: " + className + " can not be instantiated directly, fall back to reflection."
+				);
+				continue;
+			}
+			switchBuilder
+				.add("case $S:\n", className)
+				.indent()
+				.addStatement("return new $T()", ClassName.get(typeElement))
+				.unindent();
+		}
+		CodeBlock switchBlock = switchBuilder
+			.add("default:\n")
+			.indent()
+			.addStatement("return super.instantiate(classLoader, className)")
+			.unindent()
+			.endControlFlow()
+			.build();
+		try {
+			JavaFile.builder(
 				GENERATED_CLASS_PACKAGE_NAME,
-				TypeSpec.classBuilder(GENERATED_NAV_MAPPER_NODE_CLASS_NAME)
+				TypeSpec.classBuilder(GENERATED_FRAGMENT_FACTORY_CLASS_NAME)
 					.addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-					.addJavadoc("外部intent跳转的结点。\n")
-					.addJavadoc("该类及其实现、实例将通过APT自动化生成。请勿手动修改此类！\n\n")
+					.superclass(ClassName.get(FRAGMENT_PACKAGE_NAME, "FragmentFactory"))
+					.addJavadoc("导航图页面的FragmentFactory，直接调用构造方法创建页面，避免反射。\n")
+					.addJavadoc("请在Activity的<code>onCreate</code>之前设置到其FragmentManager中，" +
+						"NavHostFragment的子FragmentManager将沿用此设置。\n")
+					.addJavadoc("该类将通过APT自动化生成。请勿手动修改此类！\n\n")
 					.addJavadoc("@author 8f23\n")
 					.addJavadoc(
 						"@create $L\n",
 						new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.CHINA).format(processTime)
 					)
-					.addSuperinterface(ParameterizedTypeName.get(Comparable.class, Object.class))
-					.addField(FieldSpec.builder(String.class, "path", Modifier.PRIVATE, Modifier.FINAL).build())
-					.addMethod(MethodSpec.methodBuilder("getPath")
-						.addModifiers(Modifier.PUBLIC)
-						.returns(String.class)
-						.addStatement("return this.path")
-						.build())
-					.addField(FieldSpec.builder(TypeName.BOOLEAN, "prefix", Modifier.PRIVATE, Modifier.FINAL).build())
-					.addMethod(MethodSpec.methodBuilder("isPrefix")
-						.addModifiers(Modifier.PUBLIC)
-						.returns(TypeName.BOOLEAN)
-						.addStatement("return this.prefix")
-						.build())
-					.addField(FieldSpec.builder(
-						performerClassName,
-						"performer",
-						Modifier.PRIVATE, Modifier.FINAL
-					).build())
-					.addMethod(MethodSpec.methodBuilder("getPerformer")
-						.addModifiers(Modifier.PUBLIC)
-						.returns(performerClassName)
-						.addStatement("return this.performer")
-						.build())
-					.addMethod(MethodSpec.constructorBuilder()
-						.addParameter(String.class, "path")
-						.addParameter(TypeName.BOOLEAN, "prefix")
-						.addParameter(performerClassName, "performer")
-						.addStatement("this.path = path")
-						.addStatement("this.prefix = prefix")
-						.addStatement("this.performer = performer")
-						.build())
-					.addMethod(MethodSpec.methodBuilder("compareTo")
-						.addModifiers(Modifier.PUBLIC)
-						.addParameter(Object.class, "o")
+					.addMethod(MethodSpec.methodBuilder("instantiate")
 						.addAnnotation(Override.class)
-						.returns(TypeName.INT)
-						.beginControlFlow("if (o instanceof $T)", nodeClassName)
-						.addStatement("return this.path.compareTo((($T) o).path)", nodeClassName)
-						.nextControlFlow("else if (o instanceof String)")
-						.addStatement("return this.path.compareTo((String) o)")
-						.endControlFlow()
-						.addStatement("throw new UnsupportedOperationException()")
+						.addAnnotation(nonNullClassName)
+						.addModifiers(Modifier.PUBLIC)
+						.addParameter(ParameterSpec.builder(ClassLoader.class, "classLoader")
+							.addAnnotation(nonNullClassName)
+							.build())
+						.addParameter(ParameterSpec.builder(String.class, "className")
+							.addAnnotation(nonNullClassName)
+							.build())
+						.returns(fragmentClassName)
+						.addCode(switchBlock)
 						.build())
 					.build()
-			).build();
-			nabMapperFile.writeTo(mFiler);
+			).build().writeTo(mFiler);
 		}
 		catch (IOException e) {
-			// 禁止在公开类以外使用此注解。
 			mMessage.printMessage(
 				Diagnostic.Kind.WARNING,
-				"failed to generate NavMapperNode class."
+				"failed to generate FragmentFactory class."
 			);
 		}
 		return false;
 	}
 
+	/** 判断类是否可在生成代码中直接调用无参构造方法创建。 */
+	private boolean isDirectlyInstantiable(TypeElement typeElement){
+		if (!typeElement.getModifiers().contains(Modifier.PUBLIC)
+			|| typeElement.getModifiers().contains(Modifier.ABSTRACT)
+			|| (typeElement.getNestingKind().isNested() && !typeElement.getModifiers().contains(Modifier.STATIC))
+		) {
+			return false;
+		}
+		for (Element enclosedElement : typeElement.getEnclosedElements()) {
+			if (enclosedElement.getKind() == ElementKind.CONSTRUCTOR
+				&& ((ExecutableElement) enclosedElement).getParameters().isEmpty()
+			) {
+				return enclosedElement.getModifiers().contains(Modifier.PUBLIC);
+			}
+		}
+		return false;
+	}
+
 	/** 自动输出清单文件。 */
 	private boolean printManifest(){
 		try {
@@ -480,25 +1730,36 @@ public class NavProcessor extends AbstractProcessor{
 					new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.CHINA).format(new Date()) +
 					"\npath,\tprefix,\tdescription,\tmethod\n"
 			);
-			for (NavAptMapperNode mapperNode : this.mapperNodeSet) {
-				Element methodElement = mapperNode.getMethodElement();
-				List<? extends VariableElement> parameters = ((ExecutableElement) methodElement).getParameters();
-				StringBuilder parameterText = new StringBuilder();
-				for (VariableElement parameter : parameters) {
-					parameterText
-						.append(parameter.asType().toString())
-						.append(" ")
-						.append(parameter.getSimpleName())
-						.append(", ");
+			for (NavAptMapperNode pathNode : this.mapperNodeSet) {
+				for (NavAptMapperNode mapperNode : pathNode.getVariants()) {
+					if (mapperNode instanceof NavAptDestinationNode) {
+						// 直接跳转至导航图页面的规则无跳转方法，输出页面id。
+						navManifestWriter.write(
+							mapperNode.getPath() + ",\t" + mapperNode.isPrefix() + ",\t" +
+								mapperNode.getDescription() + ",\t@id/" +
+								((NavAptDestinationNode) mapperNode).getDestinationName() + "\n");
+						continue;
+					}
+					Element methodElement = mapperNode.getMethodElement();
+					List<? extends VariableElement> parameters = ((ExecutableElement) methodElement).getParameters();
+					StringBuilder parameterText = new StringBuilder();
+					for (VariableElement parameter : parameters) {
+						parameterText
+							.append(parameter.asType().toString())
+							.append(" ")
+							.append(parameter.getSimpleName())
+							.append(", ");
+					}
+					String methodText = mElementUtils.getPackageOf(methodElement).getQualifiedName().toString() + "." +
+						methodElement.getEnclosingElement().getSimpleName().toString() + "." +
+						(methodElement.getSimpleName().toString()) + "(" +
+						((parameterText.length() == 0) ? ("") : parameterText.substring(0, parameterText.length() - 2))
+						+ ")";
+					navManifestWriter.write(
+						mapperNode.getPath() + ",\t" + (mapperNode.isPattern() ? "pattern" : mapperNode.isPrefix()) +
+							",\t" + mapperNode.getDescription() + ",\t" + methodText +
+							(mapperNode.getConditions().isEmpty() ? "" : " when " + mapperNode.getConditions()) + "\n");
 				}
-				String methodText = mElementUtils.getPackageOf(methodElement).getQualifiedName().toString() + "." +
-					methodElement.getEnclosingElement().getSimpleName().toString() + "." +
-					(methodElement.getSimpleName().toString()) + "(" +
-					((parameterText.length() == 0) ? ("") : parameterText.substring(0, parameterText.length() - 2))
-					+ ")";
-				navManifestWriter.write(
-					mapperNode.getPath() + ",\t" + mapperNode.isPrefix() + ",\t" +
-						mapperNode.getDescription() + ",\t" + methodText + "\n");
 			}
 			if (DEBUG_MODE) {
 				mMessage.printMessage(
@@ -536,8 +1797,34 @@ public class NavProcessor extends AbstractProcessor{
 		IntentNavMethod methodAnnotation = annotatedElement.getAnnotation(IntentNavMethod.class);
 		String path = methodAnnotation.value();
 		boolean isPrefix = methodAnnotation.isPrefix();
+		boolean isPattern = methodAnnotation.isPattern();
 		String description = methodAnnotation.description();
-		if (path.isEmpty() || !path.matches("/[a-zA-Z0-9/_?%]*")) {
+		int destination = methodAnnotation.destination();
+		boolean reuseExisting = methodAnnotation.reuseExisting();
+		int[] parentDestinations = methodAnnotation.parentDestinations();
+		if (isPattern) {
+			if (isPrefix || !path.startsWith("/")) {
+				mMessage.printMessage(
+					Diagnostic.Kind.ERROR,
+					IntentNavMethod.class.getSimpleName() + " pattern should start with '/' and should not be " +
+						"combined with isPrefix, use '**' instead.",
+					annotatedElement
+				);
+				return true;
+			}
+			try {
+				PatternCompiler.validate(path);
+			}
+			catch (IllegalArgumentException e) {
+				mMessage.printMessage(
+					Diagnostic.Kind.ERROR,
+					IntentNavMethod.class.getSimpleName() + ": " + e.getMessage(),
+					annotatedElement
+				);
+				return true;
+			}
+		}
+		else if (path.isEmpty() || !path.matches("/[a-zA-Z0-9/_?%]*")) {
 			// 必须填写有效的path。
 			mMessage.printMessage(
 				Diagnostic.Kind.ERROR,
@@ -556,6 +1843,34 @@ public class NavProcessor extends AbstractProcessor{
 			);
 			return true;
 		}
+		if (reuseExisting && destination == 0) {
+			// 复用页面时必须指定目标页面。
+			mMessage.printMessage(
+				Diagnostic.Kind.ERROR,
+				IntentNavMethod.class.getSimpleName() + " should set destination when reuseExisting is enabled.",
+				annotatedElement
+			);
+			return true;
+		}
+		for (int parentDestination : parentDestinations) {
+			if (parentDestination == 0) {
+				// 父页面链中不允许出现无效id。
+				mMessage.printMessage(
+					Diagnostic.Kind.ERROR,
+					IntentNavMethod.class.getSimpleName() + " should not contain 0 in parentDestinations.",
+					annotatedElement
+				);
+				return true;
+			}
+		}
+		NavAptLinkParam[] linkParams = parseLinkParams(methodAnnotation.linkParams(), annotatedElement);
+		if (linkParams == null) {
+			return true;
+		}
+		Map<String, String> conditions = parseConditions(methodAnnotation.when(), annotatedElement);
+		if (conditions == null) {
+			return true;
+		}
 		if (DEBUG_MODE) {
 			String packageName = mElementUtils.getPackageOf(annotatedElement).getQualifiedName().toString();
 			String className = annotatedElement.getEnclosingElement().getSimpleName().toString();
@@ -567,10 +1882,29 @@ public class NavProcessor extends AbstractProcessor{
 			);
 		}
 		NavAptMapperNode navMapperNode =
-			new NavAptMapperNode(path, isPrefix, annotatedElement, description);
+			new NavAptMapperNode(path, isPrefix, annotatedElement, description, destination, reuseExisting,
+				parentDestinations, linkParams);
 		if (navMapperNode.check(mMessage, DEBUG_MODE)) {
 			return true;
 		}
+		navMapperNode.setConditions(conditions);
+		navMapperNode.setPattern(isPattern);
+		// 路径相同且声明了跳转条件时，合并为同一路由下的多个跳转规则，冲突在全部规则收集完毕后检查。
+		NavAptMapperNode samePathNode = mapperNodeSet.ceiling(navMapperNode);
+		if (samePathNode != null && samePathNode.compareTo(navMapperNode) == 0) {
+			if (!(samePathNode instanceof NavAptDestinationNode) && samePathNode.isPrefix() == isPrefix
+				&& (!conditions.isEmpty() || samePathNode.hasVariants())) {
+				samePathNode.addVariant(navMapperNode);
+				return false;
+			}
+			mMessage.printMessage(
+				Diagnostic.Kind.ERROR,
+				IntentNavMethod.class.getCanonicalName() + ": Failed to build intent nav class: same path " +
+					"exists without conditions:" + path,
+				annotatedElement
+			);
+			return true;
+		}
 		// 检查路径冲突。
 		if (searchNodeCompatibility(navMapperNode)) {
 			return true;
@@ -582,6 +1916,135 @@ public class NavProcessor extends AbstractProcessor{
 		return false;
 	}
 
+	private boolean handleDestinationType(Element annotatedElement){
+		if (!annotatedElement.getKind().isClass() && !annotatedElement.getKind().isInterface()) {
+			mMessage.printMessage(
+				Diagnostic.Kind.ERROR,
+				IntentNavDestination.class.getSimpleName() + " should be annotated on TYPE(s)!",
+				annotatedElement
+			);
+			return true;
+		}
+		if (navigationDirs == null || rPackage == null) {
+			// 须读取导航图以检查页面，并引用R类中的页面id。
+			mMessage.printMessage(
+				Diagnostic.Kind.ERROR,
+				IntentNavDestination.class.getSimpleName() + " requires processor options " +
+					OPTION_NAVIGATION_DIR + " and " + OPTION_R_PACKAGE + ".",
+				annotatedElement
+			);
+			return true;
+		}
+		if (loadNavGraphResources()) {
+			return true;
+		}
+		// 提取信息用以构建类。
+		IntentNavDestination destinationAnnotation = annotatedElement.getAnnotation(IntentNavDestination.class);
+		String path = destinationAnnotation.value();
+		String description = destinationAnnotation.description();
+		if (path.isEmpty() || !path.matches("/[a-zA-Z0-9/_?%]*")) {
+			// 必须填写有效的path。
+			mMessage.printMessage(
+				Diagnostic.Kind.ERROR,
+				IntentNavDestination.class.getSimpleName() + " should set value with string matching regex " +
+					"(/[a-zA-Z0-9/_?%]*)",
+				annotatedElement
+			);
+			return true;
+		}
+		if (description.isEmpty()) {
+			// 必须填写文档。
+			mMessage.printMessage(
+				Diagnostic.Kind.ERROR,
+				IntentNavDestination.class.getSimpleName() + " should fill its description to generate document file.",
+				annotatedElement
+			);
+			return true;
+		}
+		NavAptLinkParam[] linkParams = parseLinkParams(destinationAnnotation.linkParams(), annotatedElement);
+		if (linkParams == null) {
+			return true;
+		}
+		List<String> referredDestinations = new ArrayList<>();
+		referredDestinations.add(destinationAnnotation.destination());
+		Collections.addAll(referredDestinations, destinationAnnotation.parentDestinations());
+		if (!destinationAnnotation.popUpTo().isEmpty()) {
+			referredDestinations.add(destinationAnnotation.popUpTo());
+		}
+		Set<String> destinationIds = navGraphResources.getDestinationIds();
+		for (String referredDestination : referredDestinations) {
+			if (!destinationIds.contains(referredDestination)) {
+				// 引用的页面必须存在于导航图中。
+				mMessage.printMessage(
+					Diagnostic.Kind.ERROR,
+					IntentNavDestination.class.getSimpleName() + ": destination \"" + referredDestination +
+						"\" not found in navigation graph " + navigationDirs,
+					annotatedElement
+				);
+				return true;
+			}
+		}
+		NavAptMapperNode navMapperNode = new NavAptDestinationNode(path, destinationAnnotation.isPrefix(),
+			annotatedElement, description, destinationAnnotation.destination(),
+			destinationAnnotation.reuseExisting(), destinationAnnotation.parentDestinations(),
+			destinationAnnotation.singleTop(), destinationAnnotation.popUpTo(),
+			destinationAnnotation.popUpToInclusive(), linkParams);
+		// 检查路径冲突。
+		if (searchNodeCompatibility(navMapperNode)) {
+			return true;
+		}
+		mapperNodeSet.add(navMapperNode);
+		return false;
+	}
+
+	/**
+	 * 解析链接构造方法的查询参数。
+	 *
+	 * @return 参数；存在不合法或重复的参数时返回null并输出错误信息。
+	 */
+	private NavAptLinkParam[] parseLinkParams(String[] specs, Element annotatedElement){
+		NavAptLinkParam[] linkParams = new NavAptLinkParam[specs.length];
+		Set<String> names = new HashSet<>();
+		// 避免与构造方法的固定形参重名。
+		names.add("out");
+		names.add("suffix");
+		for (int i = 0; i < specs.length; i++) {
+			linkParams[i] = NavAptLinkParam.parse(specs[i]);
+			if (linkParams[i] == null || !names.add(linkParams[i].getName())) {
+				mMessage.printMessage(
+					Diagnostic.Kind.ERROR,
+					"Intent nav APT: Illegal or duplicated link param \"" + specs[i] + "\", expected name, " +
+						"name:long, name:int or name:boolean.",
+					annotatedElement
+				);
+				return null;
+			}
+		}
+		return linkParams;
+	}
+
+	/**
+	 * 解析跳转条件。
+	 *
+	 * @return 跳转条件，键为查询参数名；存在不合法或重复的条件时返回null并输出错误信息。
+	 */
+	private Map<String, String> parseConditions(String[] specs, Element annotatedElement){
+		Map<String, String> conditions = new TreeMap<>();
+		for (String spec : specs) {
+			int equals = spec.indexOf('=');
+			if (equals <= 0 || equals == spec.length() - 1
+				|| conditions.put(spec.substring(0, equals), spec.substring(equals + 1)) != null) {
+				mMessage.printMessage(
+					Diagnostic.Kind.ERROR,
+					"Intent nav APT: Illegal or duplicated condition \"" + spec + "\", expected key=value.",
+					annotatedElement
+				);
+				return null;
+			}
+		}
+		return conditions;
+	}
+
 	/**
 	 * 检索列表是否会发生冲突。
 	 *
@@ -589,7 +2052,8 @@ public class NavProcessor extends AbstractProcessor{
 	 */
 	private boolean searchNodeCompatibility(NavAptMapperNode node){
 		String path = node.getPath();
-		if (mapperNodeSet.isEmpty()) {
+		if (mapperNodeSet.isEmpty() || node.isPattern()) {
+			// 模式之间的冲突在编译自动机时检查，模式与普通路由之间以普通路由优先。
 			return false;
 		}
 		NavAptMapperNode left = mapperNodeSet.ceiling(node);
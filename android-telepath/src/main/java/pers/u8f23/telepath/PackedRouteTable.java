@@ -0,0 +1,205 @@
+package pers.u8f23.telepath;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import java.util.Collection;
+import java.util.List;
+
+import javax.lang.model.element.Modifier;
+
+import pers.u8f23.telepath.runtime.PackedArrays;
+import pers.u8f23.telepath.runtime.PatternMatcher;
+import pers.u8f23.telepath.runtime.RouteTable;
+
+/**
+ * 路由表的代码生成工具。
+ * <p>
+ * 路由表的格式与查找逻辑由{@link RouteTable}提供，本类负责生成其初始化代码。
+ * 路由表总是被编码为若干字符串常量（见{@link PackedArrays}），以规避数组字面量导致的类初始化方法超出64KB字节码上限的问题；
+ * 路由数量不影响类初始化方法的字节码大小。
+ *
+ * @author 8f23
+ * @create 2026/10/19-08:20
+ * @see NavProcessor
+ */
+final class PackedRouteTable{
+	/** 单个分派方法所处理的路由数量，用于规避单个方法超出64KB字节码上限。 */
+	private static final int SWITCH_CHUNK_SIZE = 256;
+	private static final ClassName PACKED_ARRAYS_CLASS_NAME = ClassName.get(PackedArrays.class);
+
+	private PackedRouteTable(){
+	}
+
+	/**
+	 * 构建路由表的初始化代码。
+	 *
+	 * @param nodes    按字典序排列的跳转规则，模式路由位于最后。
+	 * @param patterns 模式路由的自动机，无模式路由时为null。
+	 * @return 构建{@link RouteTable}的代码。
+	 */
+	static CodeBlock routeTableInitializer(Collection<NavAptMapperNode> nodes, PatternMatcher patterns){
+		StringBuilder routePaths = new StringBuilder();
+		int[] routePathOffsets = new int[nodes.size() + 1];
+		byte[] routeFlags = new byte[nodes.size()];
+		int routeIndex = 0;
+		for (NavAptMapperNode node : nodes) {
+			routePathOffsets[routeIndex] = routePaths.length();
+			routeFlags[routeIndex] = flagOf(node);
+			routePaths.append(node.getPath());
+			routeIndex++;
+		}
+		routePathOffsets[nodes.size()] = routePaths.length();
+		CodeBlock.Builder builder = CodeBlock.builder()
+			.add("new $T(\n$>", RouteTable.class)
+			.add("$T.unpackChars($L, $L),\n", PACKED_ARRAYS_CLASS_NAME,
+				chunks(PackedArrays.packChars(routePaths)), routePaths.length())
+			.add("$T.unpackInts($L, $L),\n", PACKED_ARRAYS_CLASS_NAME,
+				chunks(PackedArrays.packInts(routePathOffsets)), routePathOffsets.length)
+			.add("$T.unpackBytes($L, $L)", PACKED_ARRAYS_CLASS_NAME,
+				chunks(PackedArrays.packBytes(routeFlags)), routeFlags.length);
+		if (patterns != null) {
+			builder.add(",\n$L", patternMatcherInitializer(patterns));
+		}
+		return builder.add(")$<").build();
+	}
+
+	private static byte flagOf(NavAptMapperNode node){
+		if (node.isPattern()) {
+			return RouteTable.FLAG_PATTERN;
+		}
+		return (byte) (node.isPrefix() ? RouteTable.FLAG_PREFIX : 0);
+	}
+
+	/**
+	 * 构建模式路由自动机的初始化代码。状态转移表通常远大于路由表，同样编码为字符串常量。
+	 *
+	 * @param patterns 自动机。
+	 * @return 构建{@link PatternMatcher}的代码。
+	 */
+	private static CodeBlock patternMatcherInitializer(PatternMatcher patterns){
+		char[] classStarts = patterns.getClassStarts();
+		int[] transitions = patterns.getTransitions();
+		int[] accepts = patterns.getAccepts();
+		return CodeBlock.builder()
+			.add("new $T(\n$>", PatternMatcher.class)
+			.add("$T.unpackChars($L, $L),\n", PACKED_ARRAYS_CLASS_NAME,
+				chunks(PackedArrays.packChars(new String(classStarts))), classStarts.length)
+			.add("$T.unpackInts($L, $L),\n", PACKED_ARRAYS_CLASS_NAME,
+				chunks(PackedArrays.packInts(transitions)), transitions.length)
+			.add("$T.unpackInts($L, $L))$<", PACKED_ARRAYS_CLASS_NAME,
+				chunks(PackedArrays.packInts(accepts)), accepts.length)
+			.build();
+	}
+
+	/**
+	 * 添加以路由下标分派的<code>switch</code>方法。路由数量较多时，按{@link #SWITCH_CHUNK_SIZE}拆分为多个方法。
+	 * 方法的第一个参数必须为<code>routeIndex</code>。
+	 *
+	 * @param holder      生成类。
+	 * @param method      方法模板，包含方法名、参数、返回值与文档。
+	 * @param cases       各路由的分支代码，须以<code>return</code>或<code>break</code>结尾。
+	 * @param defaultCase 默认分支代码，须以<code>return</code>或<code>break</code>结尾。
+	 */
+	static void addRouteSwitch(TypeSpec.Builder holder, MethodSpec method, List<CodeBlock> cases,
+		CodeBlock defaultCase){
+		if (cases.size() <= SWITCH_CHUNK_SIZE) {
+			holder.addMethod(method.toBuilder()
+				.addCode(routeSwitch(cases, 0, cases.size(), defaultCase))
+				.build());
+			return;
+		}
+		StringBuilder arguments = new StringBuilder();
+		for (ParameterSpec parameter : method.parameters) {
+			arguments.append((arguments.length() == 0) ? "" : ", ").append(parameter.name);
+		}
+		boolean isVoid = TypeName.VOID.equals(method.returnType);
+		CodeBlock.Builder dispatcher = CodeBlock.builder()
+			.beginControlFlow("switch (routeIndex / $L)", SWITCH_CHUNK_SIZE);
+		for (int chunk = 0; chunk * SWITCH_CHUNK_SIZE < cases.size(); chunk++) {
+			int from = chunk * SWITCH_CHUNK_SIZE;
+			int to = Math.min(from + SWITCH_CHUNK_SIZE, cases.size());
+			String chunkName = method.name + chunk;
+			if (isVoid) {
+				dispatcher.add("case $L:\n$>", chunk)
+					.addStatement("$L($L)", chunkName, arguments)
+					.addStatement("return")
+					.add("$<");
+			}
+			else {
+				dispatcher.add("case $L:\n$>", chunk)
+					.addStatement("return $L($L)", chunkName, arguments)
+					.add("$<");
+			}
+			holder.addMethod(MethodSpec.methodBuilder(chunkName)
+				.addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+				.addParameters(method.parameters)
+				.returns(method.returnType)
+				.addCode(routeSwitch(cases, from, to, defaultCase))
+				.build());
+		}
+		dispatcher.add("default:\n$>").add(defaultCase).add("$<").endControlFlow();
+		holder.addMethod(method.toBuilder().addCode(dispatcher.build()).build());
+	}
+
+	private static CodeBlock routeSwitch(List<CodeBlock> cases, int from, int to, CodeBlock defaultCase){
+		CodeBlock.Builder builder = CodeBlock.builder().beginControlFlow("switch (routeIndex)");
+		for (int i = from; i < to; i++) {
+			builder.add("case $L:\n$>", i).add(cases.get(i)).add("$<");
+		}
+		return builder.add("default:\n$>").add(defaultCase).add("$<").endControlFlow().build();
+	}
+
+	/**
+	 * 构建字符串常量数组。
+	 *
+	 * @return 形如<code>new String[]{"...", "..."}</code>的代码。
+	 */
+	private static CodeBlock chunks(String[] chunks){
+		CodeBlock.Builder builder = CodeBlock.builder().add("new String[]{");
+		for (int i = 0; i < chunks.length; i++) {
+			if (i > 0) {
+				builder.add(",\n");
+			}
+			builder.add("$L", literal(chunks[i]));
+		}
+		return builder.add("}").build();
+	}
+
+	/**
+	 * 构建字符串字面量。非可见ASCII字符使用Unicode转义；换行、引号与反斜杠须使用普通转义，
+	 * 因为Unicode转义会先于词法分析被替换。
+	 */
+	private static String literal(CharSequence data){
+		StringBuilder builder = new StringBuilder(data.length() + 2).append('"');
+		for (int i = 0; i < data.length(); i++) {
+			char c = data.charAt(i);
+			switch (c) {
+				case '"':
+					builder.append("\\\"");
+					break;
+				case '\\':
+					builder.append("\\\\");
+					break;
+				case '\n':
+					builder.append("\\n");
+					break;
+				case '\r':
+					builder.append("\\r");
+					break;
+				default:
+					if (c >= 0x20 && c < 0x7F) {
+						builder.append(c);
+					}
+					else {
+						builder.append(String.format("\\u%04x", (int) c));
+					}
+			}
+		}
+		return builder.append('"').toString();
+	}
+}
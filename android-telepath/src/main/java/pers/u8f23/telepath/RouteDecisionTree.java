@@ -0,0 +1,152 @@
+package pers.u8f23.telepath;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * 共用同一路径的跳转规则的代码生成工具，将各规则的跳转条件合并为决策树。
+ * <p>
+ * 决策树的每一层读取一个查询参数并按取值分支，未约束该参数的规则进入所有分支；
+ * 同一条判断路径上每个查询参数至多读取一次。
+ *
+ * @author 8f23
+ * @create 2026/10/19-12:20
+ * @see IntentNavMethod#when()
+ */
+final class RouteDecisionTree{
+	private static final ClassName URI_CLASS_NAME = ClassName.get("android.net", "Uri");
+
+	private RouteDecisionTree(){
+	}
+
+	/**
+	 * 查找可同时满足的两组跳转条件。无条件的规则仅在其余规则均不满足时执行，不视为冲突，但至多存在一个。
+	 *
+	 * @param variants 共用同一路径的跳转规则。
+	 * @return 冲突的两个规则；不存在冲突时返回null。
+	 */
+	static NavAptMapperNode[] findOverlap(List<NavAptMapperNode> variants){
+		NavAptMapperNode fallback = null;
+		for (int i = 0; i < variants.size(); i++) {
+			NavAptMapperNode a = variants.get(i);
+			if (a.getConditions().isEmpty()) {
+				if (fallback != null) {
+					return new NavAptMapperNode[]{fallback, a};
+				}
+				fallback = a;
+				continue;
+			}
+			for (int j = i + 1; j < variants.size(); j++) {
+				NavAptMapperNode b = variants.get(j);
+				if (!b.getConditions().isEmpty() && isCompatible(a.getConditions(), b.getConditions())) {
+					return new NavAptMapperNode[]{a, b};
+				}
+			}
+		}
+		return null;
+	}
+
+	/** 两组条件对共同约束的参数要求相同取值时，存在同时满足二者的链接。 */
+	private static boolean isCompatible(Map<String, String> a, Map<String, String> b){
+		for (Map.Entry<String, String> entry : a.entrySet()) {
+			String other = b.get(entry.getKey());
+			if (other != null && !other.equals(entry.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 构建决策树代码，其中可引用<code>intent</code>参数。各分支均以返回结束。
+	 *
+	 * @param variants 共用同一路径、两两不冲突的跳转规则。
+	 * @param leaf     构建单个规则的跳转代码。
+	 * @param noMatch  所有条件均不满足时执行的代码。
+	 * @return 决策树代码。
+	 */
+	static CodeBlock build(List<NavAptMapperNode> variants, Function<NavAptMapperNode, CodeBlock> leaf,
+		CodeBlock noMatch){
+		return CodeBlock.builder()
+			.addStatement("final $T uri = intent.getData()", URI_CLASS_NAME)
+			.add(buildNode(variants, new TreeSet<String>(), leaf, noMatch))
+			.build();
+	}
+
+	private static CodeBlock buildNode(List<NavAptMapperNode> variants, TreeSet<String> testedKeys,
+		Function<NavAptMapperNode, CodeBlock> leaf, CodeBlock noMatch){
+		// 选择被最多规则约束的参数，使决策树尽量浅。
+		Map<String, Integer> keyCounts = new TreeMap<>();
+		for (NavAptMapperNode variant : variants) {
+			for (String key : variant.getConditions().keySet()) {
+				if (!testedKeys.contains(key)) {
+					keyCounts.merge(key, 1, Integer::sum);
+				}
+			}
+		}
+		if (keyCounts.isEmpty()) {
+			return buildLeaf(variants, leaf, noMatch);
+		}
+		String key = null;
+		for (Map.Entry<String, Integer> entry : keyCounts.entrySet()) {
+			if (key == null || entry.getValue() > keyCounts.get(key)) {
+				key = entry.getKey();
+			}
+		}
+		Map<String, List<NavAptMapperNode>> branches = new TreeMap<>();
+		List<NavAptMapperNode> unconstrained = new ArrayList<>();
+		for (NavAptMapperNode variant : variants) {
+			String value = variant.getConditions().get(key);
+			if (value == null) {
+				unconstrained.add(variant);
+			}
+			else {
+				branches.computeIfAbsent(value, v -> new ArrayList<>()).add(variant);
+			}
+		}
+		TreeSet<String> subTestedKeys = new TreeSet<>(testedKeys);
+		subTestedKeys.add(key);
+		String valueName = "query" + testedKeys.size();
+		CodeBlock.Builder builder = CodeBlock.builder()
+			// 不含链接时读取预先写入的参数，见stampRoute。
+			.addStatement("final String $L = (uri == null) ? intent.getStringExtra($S) : uri.getQueryParameter($S)",
+				valueName, key, key)
+			// 条件取值不为空字符串，缺少参数时进入默认分支。
+			.beginControlFlow("switch (($L == null) ? \"\" : $L)", valueName, valueName);
+		for (Map.Entry<String, List<NavAptMapperNode>> branch : branches.entrySet()) {
+			List<NavAptMapperNode> branchVariants = new ArrayList<>(branch.getValue());
+			branchVariants.addAll(unconstrained);
+			builder.add("case $S: {\n$>", branch.getKey())
+				.add(buildNode(branchVariants, subTestedKeys, leaf, noMatch))
+				.add("$<}\n");
+		}
+		return builder.add("default: {\n$>")
+			.add(buildNode(unconstrained, subTestedKeys, leaf, noMatch))
+			.add("$<}\n")
+			.endControlFlow()
+			.build();
+	}
+
+	/** 条件均已判断完毕，选择条件最多的规则，即最具体的规则。 */
+	private static CodeBlock buildLeaf(List<NavAptMapperNode> variants, Function<NavAptMapperNode, CodeBlock> leaf,
+		CodeBlock noMatch){
+		NavAptMapperNode selected = null;
+		for (NavAptMapperNode variant : variants) {
+			if (selected == null || variant.getConditions().size() > selected.getConditions().size()) {
+				selected = variant;
+			}
+		}
+		CodeBlock.Builder builder = CodeBlock.builder();
+		if (selected == null) {
+			return builder.add(noMatch).addStatement("return").build();
+		}
+		return builder.add(leaf.apply(selected)).addStatement("return").build();
+	}
+}
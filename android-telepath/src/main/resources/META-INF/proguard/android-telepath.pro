@@ -0,0 +1,12 @@
+# Telepath 随库附带的混淆规则，由 R8 自动应用于依赖本库的模块。
+#
+# 生成的 TelepathMapperHolder 直接调用各跳转方法，不依赖反射，
+# 因此无需为 @IntentNavMethod 方法或其所在类添加 -keep 规则，
+# 代码压缩工具可自由内联、移除或混淆它们。
+
+# 注解处理器仅在编译期运行，其依赖不会打包进应用。
+-dontwarn com.google.auto.service.**
+-dontwarn com.squareup.javapoet.**
+-dontwarn javax.annotation.processing.**
+-dontwarn javax.lang.model.**
+-dontwarn javax.tools.**
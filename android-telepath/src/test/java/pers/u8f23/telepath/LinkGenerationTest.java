@@ -0,0 +1,133 @@
+package pers.u8f23.telepath;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 生成的{@code TelepathLinks}：查询参数的连接符、编码，以及共用同一路径的跳转规则各自生成写入条件的方法。
+ *
+ * @author 8f23
+ * @create 2026/10/19-17:40
+ */
+public class LinkGenerationTest{
+	private static final String ROUTES = "package com.ex;\n"
+		+ "import androidx.navigation.NavController;\n"
+		+ "import pers.u8f23.telepath.*;\n"
+		+ "public class Routes {\n"
+		+ "  @IntentNavMethod(value = \"/shop/item\", description = \"item\","
+		+ " linkParams = {\"id:long\", \"from\", \"debug:boolean\"})\n"
+		+ "  public static void item(@IntentNavController NavController c) {}\n"
+		+ "  @IntentNavMethod(value = \"/user\", isPrefix = true, description = \"user\","
+		+ " linkParams = {\"orderId:int\"})\n"
+		+ "  public static void user(@IntentNavController NavController c) {}\n"
+		+ "  @IntentNavMethod(value = \"/search?all\", description = \"search\", linkParams = {\"q\"})\n"
+		+ "  public static void search(@IntentNavController NavController c) {}\n"
+		+ "  @IntentNavMethod(value = \"/pay\", description = \"card\", when = {\"method=card\"},"
+		+ " linkParams = {\"orderId:long\"})\n"
+		+ "  public static void card(@IntentNavController NavController c) {}\n"
+		+ "  @IntentNavMethod(value = \"/pay\", description = \"wallet\", when = {\"method=wallet\"},"
+		+ " linkParams = {\"orderId:long\", \"token\"})\n"
+		+ "  public static void wallet(@IntentNavController NavController c) {}\n"
+		+ "}\n";
+
+	@Test
+	public void writesQueryParameters() throws Exception{
+		Class<?> links = compileLinks(Collections.emptyList());
+		assertEquals("/shop/item?id=-7&from=a%20b%26c&debug=true",
+			invoke(links, "shopItem", -7L, "a b&c", true));
+	}
+
+	@Test
+	public void prefixRouteWritesEncodedSuffix() throws Exception{
+		Class<?> links = compileLinks(Collections.emptyList());
+		assertEquals("/user/a%20b?orderId=3", invoke(links, "user", "/a b", 3));
+	}
+
+	@Test
+	public void pathWithQueryContinuesWithAmpersand() throws Exception{
+		Class<?> links = compileLinks(Collections.emptyList());
+		assertEquals("/search?all&q=x%3Fy", invoke(links, "searchAll", "x?y"));
+	}
+
+	@Test
+	public void variantsGetOwnMethodsWritingConditions() throws Exception{
+		Class<?> links = compileLinks(Collections.emptyList());
+		List<String> names = new ArrayList<>();
+		for (Method method : links.getDeclaredMethods()) {
+			names.add(method.getName());
+		}
+		assertFalse(names.contains("pay"));
+		assertEquals(3, Collections.frequency(names, "payMethodCard"));
+		assertEquals(3, Collections.frequency(names, "payMethodWallet"));
+		assertEquals("/pay?method=card&orderId=1", invoke(links, "payMethodCard", 1L));
+		assertEquals("/pay?method=wallet&orderId=1&token=t", invoke(links, "payMethodWallet", 1L, "t"));
+	}
+
+	@Test
+	public void linkParamFixedByConditionFails() throws Exception{
+		ProcessorHarness.Result result = ProcessorHarness.compile(Collections.emptyList(), "package com.ex;\n"
+			+ "import androidx.navigation.NavController;\n"
+			+ "import pers.u8f23.telepath.*;\n"
+			+ "public class Routes {\n"
+			+ "  @IntentNavMethod(value = \"/pay\", description = \"card\", when = {\"method=card\"},"
+			+ " linkParams = {\"method\"})\n"
+			+ "  public static void card(@IntentNavController NavController c) {}\n"
+			+ "}\n");
+		assertTrue(result.errors().toString(), result.errors().toString().contains("fixed by its condition"));
+	}
+
+	@Test
+	public void appendableMatchesStringBuilder() throws Exception{
+		Class<?> links = compileLinks(Collections.emptyList());
+		StringWriter writer = new StringWriter();
+		links.getMethod("shopItem", Appendable.class, long.class, CharSequence.class, boolean.class)
+			.invoke(null, writer, Long.MIN_VALUE, "é", false);
+		assertEquals(invoke(links, "shopItem", Long.MIN_VALUE, "é", false), writer.toString());
+	}
+
+	@Test
+	public void linkBaseIsPrepended() throws Exception{
+		Class<?> links = compileLinks(Collections.singletonList("-AtelepathLinkBase=app://host"));
+		assertEquals("app://host/shop/item?id=1&from=&debug=false", invoke(links, "shopItem", 1L, "", false));
+	}
+
+	@Test
+	public void conflictingMethodNamesFail() throws Exception{
+		ProcessorHarness.Result result = ProcessorHarness.compile(Collections.emptyList(), "package com.ex;\n"
+			+ "import androidx.navigation.NavController;\n"
+			+ "import pers.u8f23.telepath.*;\n"
+			+ "public class Routes {\n"
+			+ "  @IntentNavMethod(value = \"/shop/item\", description = \"a\")\n"
+			+ "  public static void a(@IntentNavController NavController c) {}\n"
+			+ "  @IntentNavMethod(value = \"/shopItem\", description = \"b\")\n"
+			+ "  public static void b(@IntentNavController NavController c) {}\n"
+			+ "}\n");
+		assertTrue(result.errors().toString(), result.errors().toString().contains("link method shopItem"));
+	}
+
+	private static Class<?> compileLinks(List<String> options) throws Exception{
+		ProcessorHarness.Result result = ProcessorHarness.compile(options, ROUTES);
+		assertEquals(Collections.emptyList(), result.errors());
+		return result.load("TelepathLinks");
+	}
+
+	/** 调用返回字符串的链接构造方法。 */
+	private static String invoke(Class<?> links, String name, Object... arguments) throws Exception{
+		for (Method method : links.getMethods()) {
+			if (method.getName().equals(name) && method.getReturnType() == String.class
+				&& method.getParameterCount() == arguments.length) {
+				return (String) method.invoke(null, arguments);
+			}
+		}
+		throw new NoSuchMethodException(name);
+	}
+}
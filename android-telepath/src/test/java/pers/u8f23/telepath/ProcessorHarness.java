@@ -0,0 +1,209 @@
+package pers.u8f23.telepath;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * 在测试中运行{@link NavProcessor}：连同生成代码所引用的Android类的最小桩代码一起编译示例源码，
+ * 可读取生成的源码并加载生成的类。
+ *
+ * @author 8f23
+ * @create 2026/10/19-17:40
+ */
+final class ProcessorHarness{
+	/** 生成代码引用的Android类，仅声明生成代码用到的成员。 */
+	private static final String[] ANDROID_STUBS = {
+		"package android.content; public class Intent {"
+			+ " private final java.util.Map<String, Object> extras = new java.util.HashMap<>();"
+			+ " private android.net.Uri data;"
+			+ " public android.net.Uri getData(){ return data; }"
+			+ " public Intent setData(android.net.Uri d){ data = d; return this; }"
+			+ " public String getDataString(){ return null; }"
+			+ " public int getIntExtra(String k, int d){"
+			+ " Object v = extras.get(k); return (v == null) ? d : (Integer) v; }"
+			+ " public String getStringExtra(String k){ return (String) extras.get(k); }"
+			+ " public android.os.Bundle getExtras(){ return null; }"
+			+ " public Intent putExtra(String k, int v){ extras.put(k, v); return this; }"
+			+ " public Intent putExtra(String k, String v){ extras.put(k, v); return this; }"
+			+ " public Intent putExtras(android.os.Bundle b){ return this; } }",
+		"package android.net; public class Uri {"
+			+ " private String path; private String query;"
+			+ " public static Uri parse(String s){ Uri u = new Uri(); int q = s.indexOf('?');"
+			+ " u.path = (q < 0) ? s : s.substring(0, q); u.query = (q < 0) ? null : s.substring(q + 1); return u; }"
+			+ " public String getPath(){ return path; }"
+			+ " public String getQueryParameter(String k){ if (query == null) return null;"
+			+ " for (String p : query.split(\"&\")) { int e = p.indexOf('='); String n = (e < 0) ? p : p.substring(0, e);"
+			+ " if (n.equals(k)) { try { return java.net.URLDecoder.decode((e < 0) ? \"\" : p.substring(e + 1), \"UTF-8\"); }"
+			+ " catch (java.io.UnsupportedEncodingException x) { throw new AssertionError(x); } } }"
+			+ " return null; } }",
+		"package android.os; public class Bundle {"
+			+ " public void remove(String k){} public boolean isEmpty(){ return true; } }",
+		"package android.os; public class SystemClock { public static long uptimeMillis(){ return 0; } }",
+		"package android.os; public class Looper { public static MessageQueue myQueue(){ return null; } }",
+		"package android.os; public class MessageQueue {"
+			+ " public interface IdleHandler { boolean queueIdle(); }"
+			+ " public void addIdleHandler(IdleHandler h){} }",
+		"package android.util; public class Log { public static int e(String t, String m){ return 0; } }",
+		"package androidx.annotation; public @interface NonNull {}",
+		"package androidx.annotation; public @interface Nullable {}",
+		"package androidx.navigation; public class NavDestination { public int getId(){ return 0; } }",
+		"package androidx.navigation; public class NavBackStackEntry {"
+			+ " public NavDestination getDestination(){ return null; } }",
+		"package androidx.navigation; public class NavOptions { public static class Builder {"
+			+ " public Builder setLaunchSingleTop(boolean b){ return this; }"
+			+ " public Builder setPopUpTo(int id, boolean inclusive){ return this; }"
+			+ " public NavOptions build(){ return new NavOptions(); } } }",
+		"package androidx.navigation; public class NavController {"
+			+ " public void navigate(int id){}"
+			+ " public void navigate(int id, android.os.Bundle args, NavOptions options){}"
+			+ " public boolean popBackStack(int id, boolean inclusive){ return false; }"
+			+ " public NavDestination getCurrentDestination(){ return null; }"
+			+ " public NavBackStackEntry getBackStackEntry(int id){ return null; }"
+			+ " public NavBackStackEntry getCurrentBackStackEntry(){ return null; } }",
+	};
+	private static final Pattern PACKAGE = Pattern.compile("package\\s+([\\w.]+)\\s*;");
+	private static final Pattern TYPE = Pattern.compile("(?:class|interface|@interface|enum)\\s+(\\w+)");
+
+	private ProcessorHarness(){
+	}
+
+	/** 单次编译的结果。 */
+	static final class Result{
+		private final Path sourceDir;
+		private final Path classDir;
+		private final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+		private URLClassLoader loader;
+
+		private Result(Path sourceDir, Path classDir, List<Diagnostic<? extends JavaFileObject>> diagnostics){
+			this.sourceDir = sourceDir;
+			this.classDir = classDir;
+			this.diagnostics = diagnostics;
+		}
+
+		/** @return 全部错误信息，编译成功时为空。 */
+		List<String> errors(){
+			List<String> errors = new ArrayList<>();
+			for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+				if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+					errors.add(diagnostic.getMessage(Locale.ROOT));
+				}
+			}
+			return errors;
+		}
+
+		/**
+		 * 读取生成的源码。
+		 *
+		 * @param simpleName 生成类的类名，位于{@code pers.u8f23.telepath}包中。
+		 * @return 源码。
+		 */
+		String source(String simpleName) throws IOException{
+			Path file = sourceDir.resolve("pers/u8f23/telepath/" + simpleName + ".java");
+			return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * 加载生成的类。
+		 *
+		 * @param simpleName 生成类的类名，位于{@code pers.u8f23.telepath}包中。
+		 * @return 类。
+		 */
+		Class<?> load(String simpleName) throws IOException, ClassNotFoundException{
+			return loadClass("pers.u8f23.telepath." + simpleName);
+		}
+
+		/**
+		 * 加载编译得到的类，包括示例源码与Android桩代码。同一结果中的类由同一类加载器加载。
+		 *
+		 * @param name 类的全限定名。
+		 * @return 类。
+		 */
+		synchronized Class<?> loadClass(String name) throws IOException, ClassNotFoundException{
+			if (loader == null) {
+				loader = new URLClassLoader(new URL[]{classDir.toUri().toURL()},
+					ProcessorHarness.class.getClassLoader());
+			}
+			return Class.forName(name, true, loader);
+		}
+	}
+
+	/**
+	 * 编译示例源码。
+	 *
+	 * @param options 注解处理器参数，如{@code -AtelepathLinkBase=app://host}。
+	 * @param sources 示例源码，每项为一个完整的编译单元。
+	 * @return 编译结果。
+	 */
+	static Result compile(List<String> options, String... sources) throws IOException{
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		Path sourceDir = Files.createTempDirectory("telepath-gen");
+		Path classDir = Files.createTempDirectory("telepath-classes");
+		List<JavaFileObject> units = new ArrayList<>();
+		for (String stub : ANDROID_STUBS) {
+			units.add(new SourceUnit(stub));
+		}
+		for (String source : sources) {
+			units.add(new SourceUnit(source));
+		}
+		List<String> arguments = new ArrayList<>(Arrays.asList(
+			"-classpath", System.getProperty("java.class.path"),
+			"-d", classDir.toString(),
+			"-s", sourceDir.toString(),
+			"-encoding", "UTF-8",
+			"-nowarn"));
+		arguments.addAll(options);
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT,
+			StandardCharsets.UTF_8)) {
+			JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, arguments, null,
+				units);
+			task.setProcessors(Collections.singletonList(new NavProcessor()));
+			task.call();
+		}
+		return new Result(sourceDir, classDir, diagnostics.getDiagnostics());
+	}
+
+	/** 内存中的编译单元，按源码中的包名与首个类型名确定文件名。 */
+	private static final class SourceUnit extends SimpleJavaFileObject{
+		private final String source;
+
+		SourceUnit(String source){
+			super(URI.create("string:///" + fileName(source)), Kind.SOURCE);
+			this.source = source;
+		}
+
+		private static String fileName(String source){
+			Matcher packageMatcher = PACKAGE.matcher(source);
+			Matcher typeMatcher = TYPE.matcher(source);
+			if (!typeMatcher.find()) {
+				throw new IllegalArgumentException("No type declared in source.");
+			}
+			String packagePath = packageMatcher.find() ? packageMatcher.group(1).replace('.', '/') + "/" : "";
+			return packagePath + typeMatcher.group(1) + ".java";
+		}
+
+		@Override public CharSequence getCharContent(boolean ignoreEncodingErrors){
+			return source;
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package pers.u8f23.telepath;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import pers.u8f23.telepath.runtime.RouteTable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 共用同一路径的跳转规则：生成的决策树每个查询参数至多读取一次，按条件选择规则，各规则的链接选中该规则，
+ * 并预加载所有规则所在的类。
+ *
+ * @author 8f23
+ * @create 2026/10/19-18:40
+ */
+public class RouteVariantTest{
+	private static final String PAY = "package com.ex;\n"
+		+ "import androidx.navigation.NavController;\n"
+		+ "import pers.u8f23.telepath.*;\n"
+		+ "public class Pay {\n"
+		+ "  public static String hit;\n"
+		+ "  @IntentNavMethod(value = \"/pay\", description = \"default\")\n"
+		+ "  public static void fallback(@IntentNavController NavController c) { hit = \"fallback\"; }\n"
+		+ "}\n";
+	private static final String CARD_PAY = "package com.ex;\n"
+		+ "import androidx.navigation.NavController;\n"
+		+ "import pers.u8f23.telepath.*;\n"
+		+ "public class CardPay {\n"
+		+ "  @IntentNavMethod(value = \"/pay\", description = \"card\", when = {\"method=card\"})\n"
+		+ "  public static void card(@IntentNavController NavController c) { Pay.hit = \"card\"; }\n"
+		+ "}\n";
+	private static final String WALLET_PAY = "package com.ex;\n"
+		+ "import androidx.navigation.NavController;\n"
+		+ "import pers.u8f23.telepath.*;\n"
+		+ "public class WalletPay {\n"
+		+ "  @IntentNavMethod(value = \"/pay\", description = \"wallet\", when = {\"method=wallet\", \"beta=0\"})\n"
+		+ "  public static void wallet(@IntentNavController NavController c) { Pay.hit = \"wallet\"; }\n"
+		+ "  @IntentNavMethod(value = \"/pay\", description = \"wallet beta\", when = {\"method=wallet\", \"beta=1\"})\n"
+		+ "  public static void walletBeta(@IntentNavController NavController c) { Pay.hit = \"walletBeta\"; }\n"
+		+ "}\n";
+
+	@Test
+	public void readsEachQueryParameterOnce() throws Exception{
+		String holder = compile().source("TelepathMapperHolder");
+		assertEquals(1, count(holder, "uri.getQueryParameter(\"method\")"));
+		// 仅method=wallet的分支中存在受beta约束的规则。
+		assertEquals(1, count(holder, "uri.getQueryParameter(\"beta\")"));
+		assertTrue(holder, holder.contains("case \"card\": {"));
+		assertTrue(holder, holder.contains("case \"wallet\": {"));
+		assertTrue(holder, holder.contains("case \"0\": {"));
+		assertTrue(holder, holder.contains("case \"1\": {"));
+	}
+
+	@Test
+	public void selectsVariantByConditions() throws Exception{
+		ProcessorHarness.Result result = compile();
+		assertEquals("card", dispatch(result, "card", null));
+		assertEquals("card", dispatch(result, "card", "1"));
+		assertEquals("wallet", dispatch(result, "wallet", "0"));
+		assertEquals("walletBeta", dispatch(result, "wallet", "1"));
+		// 条件不完全满足时执行无条件的规则。
+		assertEquals("fallback", dispatch(result, "wallet", null));
+		assertEquals("fallback", dispatch(result, "crypto", "1"));
+		assertEquals("fallback", dispatch(result, null, null));
+	}
+
+	/** 各跳转规则的链接构造方法生成的链接均选中该规则。 */
+	@Test
+	public void generatedLinksSelectTheirVariant() throws Exception{
+		ProcessorHarness.Result result = compile();
+		Class<?> links = result.load("TelepathLinks");
+		assertEquals("/pay?method=card", links.getMethod("payMethodCard").invoke(null));
+		assertEquals("fallback", dispatchLink(result, (String) links.getMethod("pay").invoke(null)));
+		assertEquals("card", dispatchLink(result, (String) links.getMethod("payMethodCard").invoke(null)));
+		assertEquals("wallet", dispatchLink(result, (String) links.getMethod("payBeta0MethodWallet").invoke(null)));
+		assertEquals("walletBeta",
+			dispatchLink(result, (String) links.getMethod("payBeta1MethodWallet").invoke(null)));
+	}
+
+	@Test
+	public void preloadsEveryVariantHandler() throws Exception{
+		ProcessorHarness.Result result = compile();
+		Class<?> holder = result.load("TelepathMapperHolder");
+		Method getHandlerClasses = holder.getDeclaredMethod("getHandlerClasses", int.class);
+		getHandlerClasses.setAccessible(true);
+		RouteTable table = (RouteTable) field(holder, "ROUTE_TABLE");
+		Class<?>[] classes = (Class<?>[]) getHandlerClasses.invoke(null, table.getRouteIndex("/pay"));
+		assertEquals(new HashSet<>(Arrays.asList(result.loadClass("com.ex.Pay"), result.loadClass("com.ex.CardPay"),
+			result.loadClass("com.ex.WalletPay"))), new HashSet<>(Arrays.asList(classes)));
+		assertEquals(3, classes.length);
+	}
+
+	@Test
+	public void overlappingConditionsFail() throws Exception{
+		ProcessorHarness.Result result = ProcessorHarness.compile(Collections.emptyList(), "package com.ex;\n"
+			+ "import androidx.navigation.NavController;\n"
+			+ "import pers.u8f23.telepath.*;\n"
+			+ "public class Pay {\n"
+			+ "  @IntentNavMethod(value = \"/pay\", description = \"card\", when = {\"method=card\"})\n"
+			+ "  public static void card(@IntentNavController NavController c) {}\n"
+			+ "  @IntentNavMethod(value = \"/pay\", description = \"beta\", when = {\"beta=1\"})\n"
+			+ "  public static void beta(@IntentNavController NavController c) {}\n"
+			+ "}\n");
+		assertTrue(result.errors().toString(), result.errors().toString().contains("overlap"));
+	}
+
+	private static ProcessorHarness.Result compile() throws Exception{
+		ProcessorHarness.Result result = ProcessorHarness.compile(Collections.emptyList(), PAY, CARD_PAY, WALLET_PAY);
+		assertEquals(Collections.emptyList(), result.errors());
+		return result;
+	}
+
+	/** 以写入路由id与条件参数的Intent执行跳转，返回被执行的跳转方法。 */
+	private static String dispatch(ProcessorHarness.Result result, String method, String beta) throws Exception{
+		Class<?> holder = result.load("TelepathMapperHolder");
+		Class<?> intentClass = result.loadClass("android.content.Intent");
+		Class<?> controllerClass = result.loadClass("androidx.navigation.NavController");
+		Class<?> bundleClass = result.loadClass("android.os.Bundle");
+		Class<?> pay = result.loadClass("com.ex.Pay");
+		holder.getMethod("setCoalesceWindow", long.class).invoke(null, 0L);
+		Object intent = intentClass.getConstructor().newInstance();
+		Method putExtra = intentClass.getMethod("putExtra", String.class, String.class);
+		if (method != null) {
+			putExtra.invoke(intent, "method", method);
+		}
+		if (beta != null) {
+			putExtra.invoke(intent, "beta", beta);
+		}
+		holder.getMethod("stampRoute", intentClass, int.class, String.class, bundleClass)
+			.invoke(null, intent, RouteTable.routeIdOf("/pay"), "/pay", null);
+		pay.getField("hit").set(null, null);
+		holder.getMethod("performIntent", intentClass, controllerClass)
+			.invoke(null, intent, controllerClass.getConstructor().newInstance());
+		return (String) pay.getField("hit").get(null);
+	}
+
+	/** 以链接执行跳转，返回被执行的跳转方法。 */
+	private static String dispatchLink(ProcessorHarness.Result result, String link) throws Exception{
+		Class<?> holder = result.load("TelepathMapperHolder");
+		Class<?> intentClass = result.loadClass("android.content.Intent");
+		Class<?> uriClass = result.loadClass("android.net.Uri");
+		Class<?> controllerClass = result.loadClass("androidx.navigation.NavController");
+		Class<?> pay = result.loadClass("com.ex.Pay");
+		holder.getMethod("setCoalesceWindow", long.class).invoke(null, 0L);
+		Object intent = intentClass.getConstructor().newInstance();
+		intentClass.getMethod("setData", uriClass).invoke(intent, uriClass.getMethod("parse", String.class)
+			.invoke(null, link));
+		pay.getField("hit").set(null, null);
+		holder.getMethod("performIntent", intentClass, controllerClass)
+			.invoke(null, intent, controllerClass.getConstructor().newInstance());
+		return (String) pay.getField("hit").get(null);
+	}
+
+	private static Object field(Class<?> type, String name) throws Exception{
+		Field field = type.getDeclaredField(name);
+		field.setAccessible(true);
+		return field.get(null);
+	}
+
+	private static int count(String text, String part){
+		int count = 0;
+		for (int index = text.indexOf(part); index >= 0; index = text.indexOf(part, index + part.length())) {
+			count++;
+		}
+		return count;
+	}
+}
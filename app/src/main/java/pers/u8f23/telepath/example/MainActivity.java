@@ -1,13 +1,50 @@
 package pers.u8f23.telepath.example;
 
+import android.content.Intent;
+import android.os.Bundle;
 import android.view.LayoutInflater;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.navigation.NavController;
+import androidx.navigation.fragment.NavHostFragment;
+
+import io.reactivex.schedulers.Schedulers;
+import pers.u8f23.telepath.R;
+import pers.u8f23.telepath.TelepathFragmentFactory;
+import pers.u8f23.telepath.TelepathMapperHolder;
 import pers.u8f23.telepath.example.core.BaseActivity;
 import pers.u8f23.telepath.databinding.ActivityMainBinding;
 
+import java.util.Objects;
+
 public class MainActivity extends BaseActivity<ActivityMainBinding>{
 
+	@Override public void onCreate(@Nullable Bundle savedInstanceState){
+		// 须在恢复Fragment之前设置，导航图中的页面将直接创建而非反射创建。
+		getSupportFragmentManager().setFragmentFactory(new TelepathFragmentFactory());
+		if (savedInstanceState == null) {
+			// 冷启动时，在布局填充期间于后台预解析外部跳转。
+			TelepathMapperHolder.prepareIntent(getIntent(), command -> Schedulers.io().scheduleDirect(command));
+		}
+		super.onCreate(savedInstanceState);
+		TelepathMapperHolder.attachController(requireNavController());
+	}
+
+	@Override protected void onNewIntent(Intent intent){
+		super.onNewIntent(intent);
+		setIntent(intent);
+		TelepathMapperHolder.performIntent(intent, requireNavController());
+	}
+
 	@Override protected ActivityMainBinding viewBindingInflate(LayoutInflater inflater){
 		return ActivityMainBinding.inflate(getLayoutInflater());
 	}
-}
\ No newline at end of file
+
+	@NonNull
+	private NavController requireNavController(){
+		NavHostFragment navHostFragment = (NavHostFragment) Objects.requireNonNull(
+			getSupportFragmentManager().findFragmentById(R.id.nav_host_fragment_activity_main));
+		return navHostFragment.getNavController();
+	}
+}
@@ -10,6 +10,7 @@ import androidx.viewbinding.ViewBinding;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.ToLongFunction;
 
 /**
  * @author 8f23
@@ -28,19 +29,44 @@ public final class ArrayListAdapter<Binding extends ViewBinding, Type>
 	@NonNull
 	private final List<? extends Type> dataList;
 	private final boolean isRecyclable;
+	@Nullable
+	private final ToLongFunction<? super Type> keyExtractor;
+	@Nullable
+	private final StableIdIndex idIndex;
+	@Nullable
+	private final BindingPrewarmer<Binding> prewarmer;
 
 	private ArrayListAdapter(
 		@NonNull LayoutInflater inflater,
 		@NonNull BindingInflater<Binding> bindingInflater,
 		@Nullable ItemBinder<Binding, ? super Type> itemBinder,
 		@Nullable ItemRecycler<Binding> itemRecycler,
-		@NonNull List<? extends Type> dataList, boolean isRecyclable){
+		@NonNull List<? extends Type> dataList, boolean isRecyclable,
+		@Nullable ToLongFunction<? super Type> keyExtractor,
+		int prewarmCount){
 		this.inflater = inflater;
 		this.bindingInflater = bindingInflater;
 		this.itemBinder = itemBinder;
 		this.itemRecycler = itemRecycler;
 		this.dataList = dataList;
 		this.isRecyclable = isRecyclable;
+		this.keyExtractor = keyExtractor;
+		if (keyExtractor == null) {
+			this.idIndex = null;
+		}
+		else {
+			// 须在注册任何监听之前启用。
+			setHasStableIds(true);
+			this.idIndex = new StableIdIndex(this::getItemId, this::getItemCount);
+			registerAdapterDataObserver(this.idIndex);
+		}
+		if (prewarmCount <= 0) {
+			this.prewarmer = null;
+		}
+		else {
+			this.prewarmer = new BindingPrewarmer<>(inflater);
+			this.prewarmer.prewarm(0, bindingInflater::inflate, prewarmCount);
+		}
 	}
 
 	@Override public void onBindViewHolder(@NonNull ViewHolder<Binding> holder, int position){
@@ -67,7 +93,10 @@ public final class ArrayListAdapter<Binding extends ViewBinding, Type>
 	}
 
 	@NonNull @Override public ViewHolder<Binding> onCreateViewHolder(@NonNull ViewGroup parent, int viewType){
-		Binding binding = this.bindingInflater.inflate(inflater);
+		Binding binding = (prewarmer == null) ? null : prewarmer.poll(viewType);
+		if (binding == null) {
+			binding = this.bindingInflater.inflate(inflater);
+		}
 		ViewHolder<Binding> holder = new ViewHolder<>(binding);
 		holder.setIsRecyclable(isRecyclable);
 		return holder;
@@ -77,6 +106,25 @@ public final class ArrayListAdapter<Binding extends ViewBinding, Type>
 		return dataList.size();
 	}
 
+	@Override public long getItemId(int position){
+		if (keyExtractor == null) {
+			return RecyclerView.NO_ID;
+		}
+		Type data = dataList.get(position);
+		return (data == null) ? RecyclerView.NO_ID : keyExtractor.applyAsLong(data);
+	}
+
+	/**
+	 * 查找稳定id对应的位置。索引依据本Adapter的项变化通知增量更新，数据集变化后须调用对应的通知方法。
+	 *
+	 * @param itemId 稳定id。
+	 * @return 位置；未启用稳定id或不存在时返回{@link RecyclerView#NO_POSITION}。
+	 * @throws IllegalStateException 存在稳定id相同的两项。
+	 */
+	public int getPositionForItemId(long itemId){
+		return (idIndex == null) ? RecyclerView.NO_POSITION : idIndex.positionOf(itemId);
+	}
+
 	/**
 	 * ViewBinding构建接口。
 	 *
@@ -144,6 +192,9 @@ public final class ArrayListAdapter<Binding extends ViewBinding, Type>
 		@Nullable
 		private List<? extends Type> dataList;
 		private boolean isRecyclable = true;
+		@Nullable
+		private ToLongFunction<? super Type> keyExtractor;
+		private int prewarmCount = 0;
 
 		/**
 		 * 指定{@link LayoutInflater}实例。
@@ -193,6 +244,23 @@ public final class ArrayListAdapter<Binding extends ViewBinding, Type>
 			return this;
 		}
 
+		/**
+		 * 指定项的稳定id，各项的id须唯一。指定后将启用稳定id，默认不启用。
+		 */
+		public Builder<Binding, Type> keyExtractor(ToLongFunction<? super Type> keyExtractor){
+			this.keyExtractor = keyExtractor;
+			return this;
+		}
+
+		/**
+		 * 指定预构建的组件数量，构造实例后即在后台线程中构造，创建组件时优先取用，一般取首屏可见的项数。
+		 * 对应的构造方法须可在后台线程中调用。默认不预构建。
+		 */
+		public Builder<Binding, Type> prewarm(int count){
+			this.prewarmCount = count;
+			return this;
+		}
+
 		/**
 		 * 构造实例。
 		 */
@@ -203,7 +271,9 @@ public final class ArrayListAdapter<Binding extends ViewBinding, Type>
 				itemBinder,
 				itemRecycler,
 				Objects.requireNonNull(dataList),
-				isRecyclable);
+				isRecyclable,
+				keyExtractor,
+				prewarmCount);
 		}
 	}
 
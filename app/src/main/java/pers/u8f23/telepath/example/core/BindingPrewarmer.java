@@ -0,0 +1,142 @@
+package pers.u8f23.telepath.example.core;
+
+import android.os.Process;
+import android.util.SparseArray;
+import android.view.LayoutInflater;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.viewbinding.ViewBinding;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 在后台线程中预先构建项视图的ViewBinding，供Adapter在{@code onCreateViewHolder}中直接取用，
+ * 减少列表首次展示时主线程中的构建耗时。
+ * <p>
+ * 各视图类型的预构建数量即该类型最多可取用的预构建数量：主线程因预构建尚未完成而自行构建时，
+ * 将相应减少后台线程中剩余的构建数量。构建使用{@link LayoutInflater#cloneInContext}得到的独立实例；
+ * 视图无法在后台线程中构建（如构造时创建{@link android.os.Handler}）时，该类型的剩余构建将改由主线程按需完成。
+ *
+ * @author 8f23
+ * @create 2026/10/19-15:10
+ */
+final class BindingPrewarmer<Binding extends ViewBinding>{
+	/** 执行预构建的线程，所有实例共享，以后台优先级运行。 */
+	private static volatile Executor executor;
+
+	/** 仅在后台线程中使用的{@link LayoutInflater}。 */
+	@NonNull
+	private final LayoutInflater inflater;
+	/** 各视图类型的预构建状态，仅在主线程中修改。 */
+	@NonNull
+	private final SparseArray<Slot<Binding>> slots = new SparseArray<>();
+
+	/** 单个视图类型的预构建状态。 */
+	private static final class Slot<Binding>{
+		/** 已构建且尚未取用的Binding。 */
+		final ConcurrentLinkedQueue<Binding> ready = new ConcurrentLinkedQueue<>();
+		/** 尚未开始构建的数量。 */
+		final AtomicInteger remaining;
+
+		Slot(int count){
+			this.remaining = new AtomicInteger(count);
+		}
+	}
+
+	/**
+	 * @param inflater 项视图的{@link LayoutInflater}。
+	 */
+	BindingPrewarmer(@NonNull LayoutInflater inflater){
+		this.inflater = inflater.cloneInContext(inflater.getContext());
+	}
+
+	/**
+	 * 开始在后台线程中构建指定视图类型的Binding，须在主线程中调用。
+	 *
+	 * @param viewType 视图类型，重复调用时忽略。
+	 * @param factory  构建方法，须可在后台线程中调用。
+	 * @param count    预构建数量。
+	 */
+	void prewarm(int viewType, @NonNull Function<LayoutInflater, ? extends Binding> factory,
+		@IntRange (from = 0) int count){
+		if (count <= 0 || slots.indexOfKey(viewType) >= 0) {
+			return;
+		}
+		final Slot<Binding> slot = new Slot<>(count);
+		slots.put(viewType, slot);
+		requireExecutor().execute(() -> {
+			while (tryAcquire(slot.remaining)) {
+				final Binding binding;
+				try {
+					binding = factory.apply(inflater);
+				}
+				catch (RuntimeException e) {
+					// 无法在后台线程中构建，剩余数量改由主线程构建。
+					slot.remaining.set(0);
+					return;
+				}
+				slot.ready.add(binding);
+			}
+		});
+	}
+
+	/**
+	 * 取用一个已构建的Binding，须在主线程中调用。
+	 *
+	 * @param viewType 视图类型。
+	 * @return 已构建的Binding；尚未构建完成或已全部取用时返回null，此时调用方须自行构建，并计入预构建数量。
+	 */
+	@Nullable
+	Binding poll(int viewType){
+		final Slot<Binding> slot = slots.get(viewType);
+		if (slot == null) {
+			return null;
+		}
+		final Binding binding = slot.ready.poll();
+		if (binding == null) {
+			tryAcquire(slot.remaining);
+		}
+		return binding;
+	}
+
+	/** 剩余数量大于0时减1。 */
+	private static boolean tryAcquire(@NonNull AtomicInteger remaining){
+		while (true) {
+			final int count = remaining.get();
+			if (count <= 0) {
+				return false;
+			}
+			if (remaining.compareAndSet(count, count - 1)) {
+				return true;
+			}
+		}
+	}
+
+	@NonNull
+	private static Executor requireExecutor(){
+		Executor result = executor;
+		if (result == null) {
+			synchronized (BindingPrewarmer.class) {
+				result = executor;
+				if (result == null) {
+					result = Executors.newSingleThreadExecutor(runnable -> {
+						Thread thread = new Thread(() -> {
+							Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+							runnable.run();
+						}, "BindingPrewarmer");
+						thread.setDaemon(true);
+						return thread;
+					});
+					executor = result;
+				}
+			}
+		}
+		return result;
+	}
+}
@@ -1,16 +1,22 @@
 package pers.u8f23.telepath.example.core;
 
+import android.os.Handler;
+import android.os.Looper;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
 import android.view.LayoutInflater;
 import android.view.ViewGroup;
 
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.lifecycle.DefaultLifecycleObserver;
 import androidx.lifecycle.LifecycleOwner;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.Observer;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.ListUpdateCallback;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.viewbinding.ViewBinding;
 
@@ -18,12 +24,30 @@ import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
- * 基于{@link ListAdapter}的实现，集成了{@link ViewBinding}和{@link LiveData}，性能不错<s>，并且应该没有bug</s>。
- * 使用Builder模式构造<s>，现在再也不用写子类实现了</s>。示例用法如下：
+ * 与{@link ListAdapter}用法一致的列表实现，集成了{@link ViewBinding}和{@link LiveData}，性能不错<s>，并且应该没有bug</s>。
+ * 使用Builder模式构造<s>，现在再也不用写子类实现了</s>。
+ * <p>
+ * 列表差异在后台线程中计算，仅应用最后一次提交的结果，过期的结果将被丢弃，见{@link #getSkippedUpdateCount()}。
+ * 通过{@link Builder#diffExecutor(Executor)}指定线程池后，{@link LiveData}更新时的列表转换与拷贝也将在该线程池中执行。
+ * 已知具体变化时，可通过{@link #edit()}直接修改当前列表，不计算列表差异。
+ * 列表包含多种视图时，可通过{@link Builder#viewType(int, BindingInflater, ItemBinder)}为各视图类型分别设置构建与绑定方法，
+ * 并通过{@link Builder#recycledViewPool(RecyclerView.RecycledViewPool, int)}在多个Adapter之间共享视图缓存。
+ * 通过{@link Builder#changeMask(ChangeMask)}与{@link Builder#partialBinder(PartialBinder)}，
+ * 内容变化的项可仅更新变化的部分视图，而无需完整地重新绑定。
+ * 通过{@link Builder#prewarm(int, int)}可在等待数据时于后台线程中预先构建项视图，减少首次展示时主线程的构建耗时。
+ * 无法全部载入内存的长列表可通过{@link #registerPagedWindow(PagedWindow, LifecycleOwner)}分页加载，未加载的项展示占位内容。
+ * 频繁修改的长列表可使用{@link PersistentList}：未改变内容的修改返回同一列表，不计算差异；两个列表共享的部分也不参与差异计算。
+ * 示例用法如下：
  * <h2>示例代码</h2>
  * <h3>实体类 {@code ExampleItem}</h3>
  * <pre><code>
@@ -152,33 +176,124 @@ import java.util.function.Function;
  * @see Builder
  */
 public final class LiveDataListAdapter<Binding extends ViewBinding, Type>
-	extends ListAdapter<Type, LiveDataListAdapter.ViewHolder<Binding>>{
+	extends RecyclerView.Adapter<LiveDataListAdapter.ViewHolder<Binding>>{
+	/** 通过{@link Builder#bindingInflater(BindingInflater)}设置的视图类型。 */
+	public static final int DEFAULT_VIEW_TYPE = 0;
+	/** 未指定线程池时用于计算列表差异的线程池，与{@link ListAdapter}的默认配置一致。 */
+	private static volatile Executor defaultDiffExecutor;
+
+	@NonNull
+	private final DiffUtil.ItemCallback<Type> itemCallback;
+	@NonNull
+	private final Executor diffExecutor;
+	/** 是否在{@link #diffExecutor}中执行{@link LiveData}的列表转换与拷贝。 */
+	private final boolean mapInBackground;
+	@NonNull
+	private final Handler mainHandler = new Handler(Looper.getMainLooper());
 	@NonNull
 	private final LayoutInflater layoutInflater;
+	/** 各视图类型的构建与绑定方法。 */
 	@NonNull
-	private final BindingInflater<Binding> bindingInflater;
+	private final SparseArray<ViewTypeSpec<Binding, Type>> viewTypes;
+	/** 读取项的视图类型，为null时所有项均为{@link #defaultViewType}。 */
 	@Nullable
-	private final ItemBinder<Binding, Type> itemBinder;
+	private final ToIntFunction<? super Type> viewTypeResolver;
+	/** 未设置{@link #viewTypeResolver}或项为null时的视图类型。 */
+	private final int defaultViewType;
+	/** 多个Adapter共享的视图缓存池，为null时使用{@link RecyclerView}自身的缓存池。 */
+	@Nullable
+	private final RecyclerView.RecycledViewPool recycledViewPool;
+	/** {@link #recycledViewPool}中各视图类型的缓存数量上限。 */
+	private final int maxRecycledViews;
+	/** 预构建的项视图，未设置预构建数量时为null。 */
+	@Nullable
+	private final BindingPrewarmer<Binding> prewarmer;
 	@Nullable
 	private final ItemRecycler<Binding> itemRecycler;
 	private final boolean createListCopies;
+	/** 读取项的稳定id，为null时不启用稳定id。 */
+	@Nullable
+	private final ToLongFunction<? super Type> keyExtractor;
+	/** 稳定id至位置的索引，未启用稳定id时为null。 */
+	@Nullable
+	private final StableIdIndex idIndex;
 	@Nullable
 	private DataSource<?> dataSource;
+	/** 当前关联的分页窗口，此时{@link #currentList}为窗口的列表形式。 */
+	@Nullable
+	private PagedSource<Type> pagedSource;
+	/** 渲染未加载的项，为null时不渲染。 */
+	@Nullable
+	private final PlaceholderBinder<Binding> placeholderBinder;
+	/** 当前展示的列表，即最后一次应用的列表实例，仅在主线程中修改。 */
+	@NonNull
+	private volatile List<Type> currentList = Collections.emptyList();
+	/** {@link #currentList}的只读视图。 */
+	@NonNull
+	private List<Type> readOnlyList = Collections.emptyList();
+	/** {@link #currentList}是否为本实例创建且不会在后台线程中读取，此时可直接修改。仅在主线程中访问。 */
+	private boolean ownsCurrentList = false;
+	/** 最后一次提交的代数，结果应用时代数不一致即为过期结果。仅在主线程中修改。 */
+	private volatile int generation = 0;
+	/** 当前展示的列表所对应的提交代数，与{@link #generation}不一致时存在尚未应用的已提交列表。仅在主线程中访问。 */
+	private int appliedGeneration = 0;
+	/** 等待尚未应用的已提交列表应用后再执行的修改，见{@link #edit()}。仅在主线程中访问。 */
+	@NonNull
+	private final List<Consumer<List<Type>>> pendingEdits = new ArrayList<>();
+	/** 已应用的更新次数，仅在主线程中访问。 */
+	private long appliedUpdateCount = 0;
+	/** 被丢弃的更新次数。 */
+	@NonNull
+	private final AtomicLong skippedUpdateCount = new AtomicLong();
 
 	private LiveDataListAdapter(
 		@NonNull BiFunction<Type, Type, Boolean> areSame,
 		@NonNull BiFunction<Type, Type, Boolean> areEqual,
+		@Nullable ChangeMask<Type> changeMask,
 		@NonNull LayoutInflater layoutInflater,
-		@NonNull BindingInflater<Binding> bindingInflater,
-		@Nullable ItemBinder<Binding, Type> itemBinder,
+		@NonNull SparseArray<ViewTypeSpec<Binding, Type>> viewTypes,
+		@Nullable ToIntFunction<? super Type> viewTypeResolver,
+		@Nullable RecyclerView.RecycledViewPool recycledViewPool,
+		int maxRecycledViews,
+		@NonNull SparseIntArray prewarmCounts,
+		@Nullable PlaceholderBinder<Binding> placeholderBinder,
 		@Nullable ItemRecycler<Binding> itemRecycler,
-		boolean createListCopies){
-		super(buildDifferConfig(areSame, areEqual));
+		boolean createListCopies,
+		@Nullable Executor diffExecutor,
+		@Nullable ToLongFunction<? super Type> keyExtractor){
+		this.itemCallback = buildDifferConfig(areSame, areEqual, changeMask);
+		this.diffExecutor = (diffExecutor == null) ? requireDefaultDiffExecutor() : diffExecutor;
+		this.mapInBackground = diffExecutor != null;
 		this.layoutInflater = layoutInflater;
-		this.bindingInflater = bindingInflater;
-		this.itemBinder = itemBinder;
+		this.viewTypes = viewTypes;
+		this.viewTypeResolver = viewTypeResolver;
+		this.defaultViewType = (viewTypes.indexOfKey(DEFAULT_VIEW_TYPE) >= 0) ? DEFAULT_VIEW_TYPE : viewTypes.keyAt(0);
+		this.recycledViewPool = recycledViewPool;
+		this.maxRecycledViews = maxRecycledViews;
+		if (prewarmCounts.size() == 0) {
+			this.prewarmer = null;
+		}
+		else {
+			this.prewarmer = new BindingPrewarmer<>(layoutInflater);
+			for (int i = 0; i < prewarmCounts.size(); i++) {
+				final int viewType = prewarmCounts.keyAt(i);
+				this.prewarmer.prewarm(viewType, requireViewType(viewType).bindingInflater::inflate,
+					prewarmCounts.valueAt(i));
+			}
+		}
+		this.placeholderBinder = placeholderBinder;
 		this.itemRecycler = itemRecycler;
 		this.createListCopies = createListCopies;
+		this.keyExtractor = keyExtractor;
+		if (keyExtractor == null) {
+			this.idIndex = null;
+		}
+		else {
+			// 须在注册任何监听之前启用。
+			setHasStableIds(true);
+			this.idIndex = new StableIdIndex(this::getItemId, this::getItemCount);
+			registerAdapterDataObserver(this.idIndex);
+		}
 	}
 
 	/**
@@ -207,42 +322,381 @@ public final class LiveDataListAdapter<Binding extends ViewBinding, Type>
 	){
 		this.unregisterDataSource();
 		Observer<LiveDataType> observer = (data) -> {
-			// 根据创建时的策略决定是否需要拷贝新的List，保证DiffUtil可以准确接收到新的List实例，
-			// 从而有效处理每次提交的新List实例。
-			@Nullable List<Type> submittedList = (data == null)
-				? null
-				: (createListCopies ? new ArrayList<>(mapper.apply(data)) : mapper.apply(data));
-			this.submitList(submittedList);
+			if (!mapInBackground) {
+				this.submitList(toSubmittedList(data, mapper));
+				return;
+			}
+			final int generation = nextGeneration();
+			// 当前列表可能在后台线程中读取，之后的修改须先拷贝。
+			this.ownsCurrentList = false;
+			diffExecutor.execute(() -> {
+				// 先读取列表再校验代数，校验通过时读取到的即为本次数据提交时的列表。
+				final List<Type> previous = this.currentList;
+				if (generation != this.generation) {
+					// 已有更新的数据，无需转换。
+					skippedUpdateCount.incrementAndGet();
+					return;
+				}
+				calculateDiff(generation, previous, toSubmittedList(data, mapper), null);
+			});
 		};
 		liveData.observe(lifecycleOwner, observer);
 		this.dataSource = new DataSource<>(liveData, observer);
 	}
 
+	/**
+	 * 注册分页窗口，展示窗口中的数据。窗口仅加载绑定位置附近的页，未加载的项为null，
+	 * 由{@link Builder#placeholderBinder(PlaceholderBinder)}渲染占位内容；页加载完成时仅通知该页内变化的项。
+	 * 当前展示的列表将被清空，关联期间不可通过{@link #edit()}修改；提交列表或取消监听时取消关联并清空。
+	 * 须在主线程中调用。
+	 *
+	 * @param window         分页窗口，同一时间仅可关联一个Adapter。
+	 * @param lifecycleOwner 关联周期对应的{@link LifecycleOwner}实例，销毁时取消关联。
+	 */
+	public void registerPagedWindow(@NonNull PagedWindow<Type> window, @NonNull LifecycleOwner lifecycleOwner){
+		this.unregisterDataSource();
+		this.submitList(null);
+		this.appliedGeneration = nextGeneration();
+		this.currentList = window.asList();
+		this.readOnlyList = this.currentList;
+		this.ownsCurrentList = false;
+		DefaultLifecycleObserver observer = new DefaultLifecycleObserver(){
+			@Override
+			public void onDestroy(@NonNull LifecycleOwner owner){
+				PagedSource<Type> pagedSource = LiveDataListAdapter.this.pagedSource;
+				if (pagedSource != null && pagedSource.window == window) {
+					unregisterDataSource();
+				}
+			}
+		};
+		lifecycleOwner.getLifecycle().addObserver(observer);
+		this.pagedSource = new PagedSource<>(window, lifecycleOwner, observer);
+		if (!this.currentList.isEmpty()) {
+			notifyItemRangeInserted(0, this.currentList.size());
+		}
+		window.attach(new PagedWindowCallback());
+	}
+
+	/**
+	 * 取消关联分页窗口并清空当前展示的列表，须在主线程中调用。
+	 */
+	private void detachPagedWindow(){
+		PagedSource<Type> pagedSource = this.pagedSource;
+		if (pagedSource == null) {
+			return;
+		}
+		this.pagedSource = null;
+		pagedSource.detach();
+		this.appliedGeneration = nextGeneration();
+		final int size = this.currentList.size();
+		this.currentList = Collections.emptyList();
+		this.readOnlyList = Collections.emptyList();
+		this.ownsCurrentList = false;
+		if (size > 0) {
+			notifyItemRangeRemoved(0, size);
+		}
+	}
+
+	/**
+	 * 根据创建时的策略决定是否需要拷贝新的List，保证DiffUtil可以准确接收到新的List实例，
+	 * 从而有效处理每次提交的新List实例。
+	 */
+	@Nullable
+	private <LiveDataType> List<Type> toSubmittedList(
+		@Nullable LiveDataType data, @NonNull Function<LiveDataType, ? extends List<Type>> mapper
+	){
+		if (data == null) {
+			return null;
+		}
+		final List<Type> list = mapper.apply(data);
+		// PersistentList不可修改，无需拷贝。
+		return (createListCopies && !(list instanceof PersistentList)) ? new ArrayList<>(list) : list;
+	}
+
+	/**
+	 * 提交新的列表，在后台计算差异后更新，用法与{@link ListAdapter#submitList(List)}一致。
+	 * 须在主线程中调用。
+	 *
+	 * @param list 新的列表，提交后请勿修改。
+	 */
+	public void submitList(@Nullable List<Type> list){
+		this.submitList(list, null);
+	}
+
+	/**
+	 * 提交新的列表，在后台计算差异后更新，用法与{@link ListAdapter#submitList(List, Runnable)}一致。
+	 * 须在主线程中调用。
+	 *
+	 * @param list           新的列表，提交后请勿修改。
+	 * @param commitCallback 列表应用后执行的回调；被之后提交的列表取代时不执行。
+	 */
+	public void submitList(@Nullable List<Type> list, @Nullable Runnable commitCallback){
+		detachPagedWindow();
+		final List<Type> previous = this.currentList;
+		if (list == previous) {
+			// 与ListAdapter一致，同一实例视为未变化。
+			if (commitCallback != null) {
+				commitCallback.run();
+			}
+			return;
+		}
+		final int generation = nextGeneration();
+		if (list == null || list.isEmpty() || previous.isEmpty()) {
+			applyList(generation, list, null, commitCallback);
+			return;
+		}
+		this.ownsCurrentList = false;
+		diffExecutor.execute(() -> calculateDiff(generation, previous, list, commitCallback));
+	}
+
+	/**
+	 * 开始直接修改当前列表，适用于已知具体变化的场景（如追加少量项），不计算列表差异。
+	 * 各项修改立即生效并通知对应的项变化；之后提交的列表将与修改后的列表比较差异。须在主线程中调用。
+	 * <p>
+	 * 存在尚未应用的已提交列表（包括{@link LiveData}的数据）时，该列表不会被丢弃：各项修改将依次暂存，
+	 * 待该列表应用后在其基础上执行，位置以执行时的列表为准。该列表被之后提交的列表取代时，暂存的修改一并丢弃。
+	 * <p>
+	 * 首次修改已提交的列表时将拷贝一次，之后的修改直接在拷贝上进行，直至再次提交列表。
+	 *
+	 * @return 修改器，在下一次提交列表前有效。
+	 */
+	@NonNull
+	public Editor edit(){
+		if (this.pagedSource != null) {
+			throw new IllegalStateException("Can not edit a paged window.");
+		}
+		return new Editor(this.generation);
+	}
+
+	/**
+	 * 开始新的提交，之前提交的列表及暂存的修改均不再应用。须在主线程中调用。
+	 *
+	 * @return 新的提交代数。
+	 */
+	private int nextGeneration(){
+		this.pendingEdits.clear();
+		return ++this.generation;
+	}
+
+	/**
+	 * 获取可直接修改的当前列表，必要时先拷贝。须在主线程中调用。
+	 */
+	@NonNull
+	private List<Type> requireOwnedList(){
+		if (!this.ownsCurrentList) {
+			this.currentList = new ArrayList<>(this.currentList);
+			this.readOnlyList = Collections.unmodifiableList(this.currentList);
+			this.ownsCurrentList = true;
+		}
+		return this.currentList;
+	}
+
+	/**
+	 * 在后台线程中计算列表差异，并在主线程中应用。
+	 * <p>
+	 * <code>previous</code>可在后台线程中读取：提交代数为<code>generation</code>的列表之后，
+	 * 只有该代数及之后提交的列表会被应用，因此读取时的{@link #currentList}即为本次结果应用前展示的列表。
+	 */
+	private void calculateDiff(int generation, @NonNull List<Type> previous, @Nullable List<Type> list,
+		@Nullable Runnable commitCallback){
+		if (generation != this.generation) {
+			skippedUpdateCount.incrementAndGet();
+			return;
+		}
+		final ScopedDiff result = (list == null || list.isEmpty() || previous.isEmpty())
+			? null
+			: computeDiff(previous, list);
+		mainHandler.post(() -> {
+			if (generation != this.generation) {
+				skippedUpdateCount.incrementAndGet();
+				return;
+			}
+			applyList(generation, list, result, commitCallback);
+		});
+	}
+
+	/**
+	 * 计算两个非空列表的差异。两个列表均为{@link PersistentList}时，开头与末尾共享的部分不参与计算。
+	 */
+	@NonNull
+	private ScopedDiff computeDiff(@NonNull List<Type> previous, @NonNull List<Type> list){
+		int prefix = 0;
+		int suffix = 0;
+		if (previous instanceof PersistentList && list instanceof PersistentList) {
+			final PersistentList<Type> oldList = (PersistentList<Type>) previous;
+			final PersistentList<Type> newList = (PersistentList<Type>) list;
+			prefix = PersistentList.commonPrefix(oldList, newList);
+			suffix = PersistentList.commonSuffix(oldList, newList, Math.min(oldList.size(), newList.size()) - prefix);
+		}
+		final List<Type> oldPart = previous.subList(prefix, previous.size() - suffix);
+		final List<Type> newPart = list.subList(prefix, list.size() - suffix);
+		if (oldPart.isEmpty() && newPart.isEmpty()) {
+			return new ScopedDiff(null, prefix);
+		}
+		return new ScopedDiff(DiffUtil.calculateDiff(new ListDiffCallback<>(oldPart, newPart, itemCallback)), prefix);
+	}
+
+	/**
+	 * 应用新的列表，并执行等待该列表应用的修改，须在主线程中调用。
+	 *
+	 * @param generation 列表的提交代数。
+	 * @param result     与当前列表的差异；为null时，新旧列表中至少一个为空。
+	 */
+	private void applyList(int generation, @Nullable List<Type> list, @Nullable ScopedDiff result,
+		@Nullable Runnable commitCallback){
+		final List<Type> previous = this.currentList;
+		this.currentList = (list == null) ? Collections.emptyList() : list;
+		this.readOnlyList = Collections.unmodifiableList(this.currentList);
+		this.ownsCurrentList = false;
+		if (result != null) {
+			result.dispatchUpdatesTo(this);
+		}
+		else if (!previous.isEmpty()) {
+			notifyItemRangeRemoved(0, previous.size());
+		}
+		else if (!this.currentList.isEmpty()) {
+			notifyItemRangeInserted(0, this.currentList.size());
+		}
+		appliedUpdateCount++;
+		this.appliedGeneration = generation;
+		if (!this.pendingEdits.isEmpty()) {
+			final List<Consumer<List<Type>>> edits = new ArrayList<>(this.pendingEdits);
+			this.pendingEdits.clear();
+			final List<Type> editedList = requireOwnedList();
+			for (Consumer<List<Type>> edit : edits) {
+				edit.accept(editedList);
+			}
+		}
+		if (commitCallback != null) {
+			commitCallback.run();
+		}
+	}
+
+	/**
+	 * @return 当前展示的列表，不可修改。
+	 */
+	@NonNull
+	public List<Type> getCurrentList(){
+		return this.readOnlyList;
+	}
+
+	/**
+	 * @return 已应用的更新次数。
+	 */
+	public long getAppliedUpdateCount(){
+		return appliedUpdateCount;
+	}
+
+	/**
+	 * @return 因应用前已有更新的数据而被丢弃的更新次数，包括未转换即被丢弃的{@link LiveData}数据。
+	 */
+	public long getSkippedUpdateCount(){
+		return skippedUpdateCount.get();
+	}
+
+	@Override
+	public int getItemCount(){
+		return this.currentList.size();
+	}
+
+	@Override
+	public int getItemViewType(int position){
+		final ToIntFunction<? super Type> viewTypeResolver = this.viewTypeResolver;
+		if (viewTypeResolver == null) {
+			return defaultViewType;
+		}
+		final Type item = getItem(position);
+		return (item == null) ? defaultViewType : viewTypeResolver.applyAsInt(item);
+	}
+
+	@Override
+	public long getItemId(int position){
+		final ToLongFunction<? super Type> keyExtractor = this.keyExtractor;
+		if (keyExtractor == null) {
+			return RecyclerView.NO_ID;
+		}
+		final Type item = getItem(position);
+		return (item == null) ? RecyclerView.NO_ID : keyExtractor.applyAsLong(item);
+	}
+
+	/**
+	 * 查找稳定id对应的位置，须在主线程中调用。索引随列表变化增量更新。
+	 *
+	 * @param itemId 稳定id，见{@link Builder#keyExtractor(ToLongFunction)}。
+	 * @return 位置；未启用稳定id或不存在时返回{@link RecyclerView#NO_POSITION}。
+	 * @throws IllegalStateException 存在稳定id相同的两项。
+	 */
+	public int getPositionForItemId(long itemId){
+		final StableIdIndex idIndex = this.idIndex;
+		return (idIndex == null) ? RecyclerView.NO_POSITION : idIndex.positionOf(itemId);
+	}
+
+	/**
+	 * @param position 项的位置。
+	 * @return 当前列表中对应位置的项。
+	 */
+	protected Type getItem(int position){
+		return this.currentList.get(position);
+	}
+
 	/**
 	 * 取消数据监听。
 	 */
 	public void unregisterDataSource(){
 		DataSource<?> dataSource = this.dataSource;
-		if (dataSource == null) {
-			return;
+		if (dataSource != null) {
+			dataSource.removeObserver();
+			this.dataSource = null;
 		}
-		dataSource.removeObserver();
-		this.dataSource = null;
+		detachPagedWindow();
 	}
 
 	@NonNull
 	@Override
 	public ViewHolder<Binding> onCreateViewHolder(@NonNull ViewGroup parent, int viewType){
-		return new ViewHolder<>(this.bindingInflater.inflate(this.layoutInflater));
+		final ViewTypeSpec<Binding, Type> spec = requireViewType(viewType);
+		final BindingPrewarmer<Binding> prewarmer = this.prewarmer;
+		Binding binding = (prewarmer == null) ? null : prewarmer.poll(viewType);
+		if (binding == null) {
+			binding = spec.bindingInflater.inflate(this.layoutInflater);
+		}
+		return new ViewHolder<>(binding);
 	}
 
 	@Override
 	public void onBindViewHolder(@NonNull ViewHolder<Binding> holder, int position){
 		Binding binding = holder.binding;
-		ItemBinder<Binding, Type> itemBinder = this.itemBinder;
+		PagedSource<Type> pagedSource = this.pagedSource;
+		if (pagedSource != null) {
+			pagedSource.window.loadAround(position);
+		}
+		Type itemData = null;
+		try {
+			itemData = this.getItem(position);
+		}
+		catch (Exception ignored) {
+		}
+		if (itemData == null) {
+			if (placeholderBinder != null) {
+				placeholderBinder.bindPlaceholder(binding, position);
+			}
+			return;
+		}
+		ItemBinder<Binding, Type> itemBinder = requireViewType(holder.getItemViewType()).itemBinder;
 		if (itemBinder == null) {
 			return;
 		}
+		itemBinder.bindView(binding, itemData, position);
+	}
+
+	@Override
+	public void onBindViewHolder(@NonNull ViewHolder<Binding> holder, int position, @NonNull List<Object> payloads){
+		PartialBinder<Binding, Type> partialBinder = requireViewType(holder.getItemViewType()).partialBinder;
+		final int changedFields = mergeChangedFields(payloads);
+		if (partialBinder == null || changedFields == 0) {
+			onBindViewHolder(holder, position);
+			return;
+		}
 		Type itemData = null;
 		try {
 			itemData = this.getItem(position);
@@ -252,7 +706,48 @@ public final class LiveDataListAdapter<Binding extends ViewBinding, Type>
 		if (itemData == null) {
 			return;
 		}
-		itemBinder.bindView(binding, itemData, position);
+		partialBinder.bindChanges(holder.binding, itemData, position, changedFields);
+	}
+
+	/**
+	 * 合并{@link ChangeMask}计算的各次变化。
+	 *
+	 * @return 变化字段的位掩码；存在其他类型的payload或无payload时返回0，此时需要完整地重新绑定。
+	 */
+	private static int mergeChangedFields(@NonNull List<Object> payloads){
+		int changedFields = 0;
+		for (int i = 0; i < payloads.size(); i++) {
+			Object payload = payloads.get(i);
+			if (!(payload instanceof Integer)) {
+				return 0;
+			}
+			changedFields |= (Integer) payload;
+		}
+		return changedFields;
+	}
+
+	@NonNull
+	private ViewTypeSpec<Binding, Type> requireViewType(int viewType){
+		ViewTypeSpec<Binding, Type> spec = this.viewTypes.get(viewType);
+		if (spec == null) {
+			throw new IllegalArgumentException("Unknown view type " + viewType + ".");
+		}
+		return spec;
+	}
+
+	@Override
+	public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView){
+		super.onAttachedToRecyclerView(recyclerView);
+		final RecyclerView.RecycledViewPool recycledViewPool = this.recycledViewPool;
+		if (recycledViewPool == null) {
+			return;
+		}
+		for (int i = 0; i < viewTypes.size(); i++) {
+			recycledViewPool.setMaxRecycledViews(viewTypes.keyAt(i), maxRecycledViews);
+		}
+		if (recyclerView.getRecycledViewPool() != recycledViewPool) {
+			recyclerView.setRecycledViewPool(recycledViewPool);
+		}
 	}
 
 	@Override public void onViewRecycled(@NonNull ViewHolder<Binding> holder){
@@ -263,6 +758,197 @@ public final class LiveDataListAdapter<Binding extends ViewBinding, Type>
 		itemRecycler.recycle(holder.binding);
 	}
 
+	/**
+	 * 将分页窗口的变化通知至{@link RecyclerView}，仅比较变化的页内各位置，刷新时比较已加载部分的差异。
+	 */
+	private final class PagedWindowCallback implements PagedWindow.Callback<Type>{
+		@Override
+		public void onPageChanged(int start, int length, @Nullable List<Type> oldItems, @Nullable List<Type> newItems){
+			if (oldItems == null || newItems == null) {
+				// 占位与已加载的项之间的变化。
+				notifyItemRangeChanged(start, length);
+				return;
+			}
+			for (int i = 0; i < length; i++) {
+				final Type oldItem = oldItems.get(i);
+				final Type newItem = newItems.get(i);
+				if (oldItem == newItem) {
+					continue;
+				}
+				if (oldItem == null || newItem == null || !itemCallback.areItemsTheSame(oldItem, newItem)) {
+					notifyItemChanged(start + i);
+				}
+				else if (!itemCallback.areContentsTheSame(oldItem, newItem)) {
+					notifyItemChanged(start + i, itemCallback.getChangePayload(oldItem, newItem));
+				}
+			}
+		}
+
+		@Override
+		public void onRangeRefreshed(int start, @NonNull List<Type> oldItems, @NonNull List<Type> newItems){
+			// 仅比较已加载的部分，数量有限，在主线程中计算。
+			new ScopedDiff(DiffUtil.calculateDiff(new ListDiffCallback<>(oldItems, newItems, itemCallback)), start)
+				.dispatchUpdatesTo(LiveDataListAdapter.this);
+		}
+
+		@Override
+		public void onCountChanged(int oldCount, int newCount){
+			if (newCount > oldCount) {
+				notifyItemRangeInserted(oldCount, newCount - oldCount);
+			}
+			else {
+				notifyItemRangeRemoved(newCount, oldCount - newCount);
+			}
+		}
+	}
+
+	/**
+	 * 当前列表的修改器，由{@link #edit()}获取，各方法均须在主线程中调用。
+	 */
+	public final class Editor{
+		/** 创建时的提交代数，用于检查修改器是否已失效。 */
+		private final int generation;
+
+		private Editor(int generation){
+			this.generation = generation;
+		}
+
+		/**
+		 * 执行修改；存在尚未应用的已提交列表时暂存至该列表应用后执行。
+		 *
+		 * @param edit 修改并通知变化。
+		 * @return {@code this}
+		 */
+		@NonNull
+		private Editor apply(@NonNull Consumer<List<Type>> edit){
+			if (generation != LiveDataListAdapter.this.generation) {
+				throw new IllegalStateException("Editor is expired by a later submission.");
+			}
+			if (generation != appliedGeneration) {
+				pendingEdits.add(edit);
+				return this;
+			}
+			edit.accept(requireOwnedList());
+			return this;
+		}
+
+		/**
+		 * 在指定位置插入一项。
+		 *
+		 * @param position 插入位置。
+		 * @param item     插入的项。
+		 * @return {@code this}
+		 */
+		@NonNull
+		public Editor insert(@IntRange (from = 0) int position, @NonNull Type item){
+			return apply(list -> {
+				list.add(position, item);
+				notifyItemInserted(position);
+			});
+		}
+
+		/**
+		 * 在指定位置插入多项。
+		 *
+		 * @param position 插入位置。
+		 * @param items    插入的项。
+		 * @return {@code this}
+		 */
+		@NonNull
+		public Editor insertAll(@IntRange (from = 0) int position, @NonNull Collection<? extends Type> items){
+			return apply(list -> {
+				if (list.addAll(position, items)) {
+					notifyItemRangeInserted(position, items.size());
+				}
+			});
+		}
+
+		/**
+		 * 在末尾追加多项，追加位置为执行时列表的末尾。
+		 *
+		 * @param items 追加的项。
+		 * @return {@code this}
+		 */
+		@NonNull
+		public Editor append(@NonNull Collection<? extends Type> items){
+			return apply(list -> {
+				final int position = list.size();
+				if (list.addAll(items)) {
+					notifyItemRangeInserted(position, items.size());
+				}
+			});
+		}
+
+		/**
+		 * 移除连续的多项。
+		 *
+		 * @param position 起始位置。
+		 * @param count    移除的数量。
+		 * @return {@code this}
+		 */
+		@NonNull
+		public Editor remove(@IntRange (from = 0) int position, @IntRange (from = 0) int count){
+			return apply(list -> {
+				list.subList(position, position + count).clear();
+				if (count > 0) {
+					notifyItemRangeRemoved(position, count);
+				}
+			});
+		}
+
+		/**
+		 * 移动一项。
+		 *
+		 * @param fromPosition 原位置。
+		 * @param toPosition   移动后的位置。
+		 * @return {@code this}
+		 */
+		@NonNull
+		public Editor move(@IntRange (from = 0) int fromPosition, @IntRange (from = 0) int toPosition){
+			return apply(list -> {
+				list.add(toPosition, list.remove(fromPosition));
+				notifyItemMoved(fromPosition, toPosition);
+			});
+		}
+
+		/**
+		 * 替换一项，视为同一项的内容变化并重新渲染。
+		 *
+		 * @param position 位置。
+		 * @param item     新的项。
+		 * @return {@code this}
+		 */
+		@NonNull
+		public Editor change(@IntRange (from = 0) int position, @NonNull Type item){
+			return apply(list -> {
+				list.set(position, item);
+				notifyItemChanged(position);
+			});
+		}
+
+		/**
+		 * 替换一项，视为同一项的部分内容变化，由{@link PartialBinder}仅更新变化的部分。
+		 *
+		 * @param position      位置。
+		 * @param item          新的项。
+		 * @param changedFields 变化字段的位掩码，为0时视为全部变化。
+		 * @return {@code this}
+		 * @see ChangeMask
+		 */
+		@NonNull
+		public Editor change(@IntRange (from = 0) int position, @NonNull Type item, int changedFields){
+			return apply(list -> {
+				list.set(position, item);
+				if (changedFields == 0) {
+					notifyItemChanged(position);
+				}
+				else {
+					notifyItemChanged(position, changedFields);
+				}
+			});
+		}
+	}
+
 	/**
 	 * ViewBinding构建接口。
 	 *
@@ -297,6 +983,60 @@ public final class LiveDataListAdapter<Binding extends ViewBinding, Type>
 		void bindView(@NonNull Binding binding, @NonNull Type data, @IntRange (from = 0) int position);
 	}
 
+	/**
+	 * 部分视图绑定方法接口，仅更新变化的部分视图。
+	 *
+	 * @param <Binding> 组件Binding。
+	 * @param <Type>    列表项的类型。
+	 * @see RecyclerView.Adapter#onBindViewHolder(RecyclerView.ViewHolder, int, List)
+	 */
+	public interface PartialBinder<Binding extends ViewBinding, Type>{
+		/**
+		 * 部分视图绑定方法。
+		 *
+		 * @param binding       ViewBinding实例，此前已绑定同一项变化前的内容。
+		 * @param data          对应项数据。
+		 * @param position      所在项的位置。
+		 * @param changedFields 变化字段的位掩码，不为0，可能为多次变化合并的结果。
+		 */
+		void bindChanges(@NonNull Binding binding, @NonNull Type data, @IntRange (from = 0) int position,
+			int changedFields);
+	}
+
+	/**
+	 * 占位视图绑定方法接口，用于渲染尚未加载或为null的项。
+	 *
+	 * @param <Binding> 组件Binding。
+	 * @see PagedWindow
+	 */
+	public interface PlaceholderBinder<Binding extends ViewBinding>{
+		/**
+		 * 占位视图绑定方法。
+		 *
+		 * @param binding  ViewBinding实例，可能此前已绑定其他项的内容。
+		 * @param position 所在项的位置。
+		 */
+		void bindPlaceholder(@NonNull Binding binding, @IntRange (from = 0) int position);
+	}
+
+	/**
+	 * 变化字段计算接口。
+	 *
+	 * @param <Type> 列表项的类型。
+	 * @see DiffUtil.ItemCallback#getChangePayload(Object, Object)
+	 */
+	public interface ChangeMask<Type>{
+		/**
+		 * 计算同一项前后变化的字段，每个字段对应一位，由使用方自行约定。
+		 * 仅在两项为同一项且内容不同时调用，在计算列表差异的线程中执行。
+		 *
+		 * @param oldItem 变化前的项。
+		 * @param newItem 变化后的项。
+		 * @return 变化字段的位掩码；返回0时完整地重新绑定。
+		 */
+		int changedFields(@NonNull Type oldItem, @NonNull Type newItem);
+	}
+
 	/**
 	 * 视图回收方法接口。
 	 *
@@ -323,24 +1063,59 @@ public final class LiveDataListAdapter<Binding extends ViewBinding, Type>
 	public static final class Builder<Binding extends ViewBinding, Type>{
 		@Nullable private BiFunction<Type, Type, Boolean> areSame;
 		@Nullable private BiFunction<Type, Type, Boolean> areEqual;
+		@Nullable private ChangeMask<Type> changeMask;
 		@Nullable private LayoutInflater layoutInflater;
 		@Nullable private BindingInflater<Binding> bindingInflater;
 		@Nullable private ItemBinder<Binding, Type> itemBinder;
+		@Nullable private PartialBinder<Binding, Type> partialBinder;
+		@NonNull private final SparseArray<ViewTypeSpec<Binding, Type>> viewTypes = new SparseArray<>();
+		@Nullable private ToIntFunction<? super Type> viewTypeResolver;
+		@Nullable private RecyclerView.RecycledViewPool recycledViewPool;
+		private int maxRecycledViews;
+		@NonNull private final SparseIntArray prewarmCounts = new SparseIntArray();
+		@Nullable private PlaceholderBinder<Binding> placeholderBinder;
 		@Nullable private ItemRecycler<Binding> itemRecycler;
 		private boolean createListCopies = false;
+		@Nullable private Executor diffExecutor;
+		@Nullable private ToLongFunction<? super Type> keyExtractor;
 
 		/**
 		 * 构建Adapter实例。
+		 *
+		 * @throws IllegalStateException 设置了{@link #recycledViewPool(RecyclerView.RecycledViewPool, int)}，
+		 *                               但通过{@link #bindingInflater(BindingInflater)}设置视图。
 		 */
 		public LiveDataListAdapter<Binding, Type> build(){
+			SparseArray<ViewTypeSpec<Binding, Type>> viewTypes = this.viewTypes.clone();
+			if (bindingInflater != null && recycledViewPool != null) {
+				// 各Adapter的默认视图类型相同，共享缓存池时将取得其他Adapter构建的视图。
+				throw new IllegalStateException(
+					"Parameter 'recycledViewPool' requires view types set by viewType() instead of 'bindingInflater'!");
+			}
+			if (bindingInflater != null) {
+				viewTypes.put(DEFAULT_VIEW_TYPE, new ViewTypeSpec<>(bindingInflater, itemBinder, partialBinder));
+			}
+			if (viewTypes.size() == 0) {
+				throw new NullPointerException("Parameter 'bindingInflater' is null!");
+			}
+			if (viewTypes.size() > 1 && viewTypeResolver == null) {
+				throw new NullPointerException("Parameter 'viewTypeResolver' is null!");
+			}
 			return new LiveDataListAdapter<>(
 				Objects.requireNonNull(areSame, "Parameter 'isSame' is null!"),
 				Objects.requireNonNull(areEqual, "Parameter 'areEqual' is null!"),
+				changeMask,
 				Objects.requireNonNull(layoutInflater, "Parameter 'layoutInflater' is null!"),
-				Objects.requireNonNull(bindingInflater, "Parameter 'bindingInflater' is null!"),
-				itemBinder,
+				viewTypes,
+				viewTypeResolver,
+				recycledViewPool,
+				maxRecycledViews,
+				prewarmCounts.clone(),
+				placeholderBinder,
 				itemRecycler,
-				createListCopies);
+				createListCopies,
+				diffExecutor,
+				keyExtractor);
 		}
 
 		/**
@@ -371,6 +1146,22 @@ public final class LiveDataListAdapter<Binding extends ViewBinding, Type>
 			return this;
 		}
 
+		/**
+		 * <strong>【可选】</strong>设置变化字段的计算方法。若未填写或赋值为{@code null}，则内容变化的项总是完整地重新绑定。
+		 * 设置后，计算结果将作为payload随变化通知传递，由{@link #partialBinder(PartialBinder)}等方法设置的部分绑定方法仅更新变化的部分，
+		 * 且{@link RecyclerView}将复用原有视图而不执行变化动画。
+		 * 结果以{@link Integer}传递，仅使用低7位时不产生新的对象。
+		 *
+		 * @param changeMask 计算方法。
+		 * @return {@code this}
+		 * @see DiffUtil.ItemCallback#getChangePayload(Object, Object)
+		 */
+		@NonNull
+		public Builder<Binding, Type> changeMask(@Nullable ChangeMask<Type> changeMask){
+			this.changeMask = changeMask;
+			return this;
+		}
+
 		/**
 		 * <strong>【必填】</strong>设置项视图的{@link LayoutInflater}。
 		 *
@@ -384,7 +1175,8 @@ public final class LiveDataListAdapter<Binding extends ViewBinding, Type>
 		}
 
 		/**
-		 * <strong>【必填】</strong>设置项视图的ViewBinding构建方法。
+		 * <strong>【必填】</strong>设置项视图的ViewBinding构建方法，对应视图类型{@link #DEFAULT_VIEW_TYPE}。
+		 * 已通过{@link #viewType(int, BindingInflater, ItemBinder)}设置视图类型时可不填写。
 		 *
 		 * @param bindingInflater 构建方法。
 		 * @return {@code this}
@@ -407,6 +1199,134 @@ public final class LiveDataListAdapter<Binding extends ViewBinding, Type>
 			return this;
 		}
 
+		/**
+		 * <strong>【可选】</strong>设置项视图的部分绑定渲染方法，在项的部分内容变化时代替{@link #itemBinder(ItemBinder)}调用。
+		 * 若未填写或赋值为{@code null}，则总是完整地重新绑定。须同时设置{@link #changeMask(ChangeMask)}。
+		 *
+		 * @param partialBinder 部分绑定方法。
+		 * @return {@code this}
+		 */
+		@NonNull
+		public Builder<Binding, Type> partialBinder(@Nullable PartialBinder<Binding, Type> partialBinder){
+			this.partialBinder = partialBinder;
+			return this;
+		}
+
+		/**
+		 * <strong>【可选】</strong>设置一种视图类型的ViewBinding构建方法与绑定渲染方法，适用于包含多种视图的列表。
+		 * 此时Adapter的{@code Binding}类型参数一般为{@link ViewBinding}，各视图类型的绑定方法将收到其自身构建的Binding。
+		 * 设置多种视图类型时须同时设置{@link #viewTypeResolver(ToIntFunction)}。
+		 *
+		 * @param viewType        视图类型，重复设置时覆盖；{@link #DEFAULT_VIEW_TYPE}以{@link #bindingInflater(BindingInflater)}的设置为准。
+		 * @param bindingInflater 构建方法。
+		 * @param itemBinder      绑定渲染方法，为{@code null}时不渲染该类型的项。
+		 * @param <B>             该视图类型的Binding。
+		 * @return {@code this}
+		 */
+		@NonNull
+		public <B extends Binding> Builder<Binding, Type> viewType(
+			int viewType, @NonNull BindingInflater<B> bindingInflater, @Nullable ItemBinder<B, Type> itemBinder
+		){
+			return viewType(viewType, bindingInflater, itemBinder, null);
+		}
+
+		/**
+		 * <strong>【可选】</strong>设置一种视图类型的ViewBinding构建方法、绑定渲染方法与部分绑定渲染方法。
+		 *
+		 * @param viewType        视图类型。
+		 * @param bindingInflater 构建方法。
+		 * @param itemBinder      绑定渲染方法，为{@code null}时不渲染该类型的项。
+		 * @param partialBinder   部分绑定渲染方法，为{@code null}时总是完整地重新绑定。
+		 * @param <B>             该视图类型的Binding。
+		 * @return {@code this}
+		 * @see #viewType(int, BindingInflater, ItemBinder)
+		 * @see #partialBinder(PartialBinder)
+		 */
+		@NonNull
+		@SuppressWarnings ("unchecked")
+		public <B extends Binding> Builder<Binding, Type> viewType(
+			int viewType,
+			@NonNull BindingInflater<B> bindingInflater,
+			@Nullable ItemBinder<B, Type> itemBinder,
+			@Nullable PartialBinder<B, Type> partialBinder
+		){
+			// 各视图类型的绑定方法仅会收到由同一类型的构建方法创建的Binding。
+			this.viewTypes.put(viewType, new ViewTypeSpec<>(bindingInflater,
+				(ItemBinder<Binding, Type>) itemBinder, (PartialBinder<Binding, Type>) partialBinder));
+			return this;
+		}
+
+		/**
+		 * <strong>【可选】</strong>设置读取项的视图类型的方法，返回值须为已设置的视图类型。
+		 * 若未填写或赋值为{@code null}，则所有项均使用{@link #DEFAULT_VIEW_TYPE}，未设置该类型时使用最小的已设置类型；
+		 * 列表中为{@code null}的项同样使用该类型。
+		 *
+		 * @param viewTypeResolver 读取视图类型的方法。
+		 * @return {@code this}
+		 * @see RecyclerView.Adapter#getItemViewType(int)
+		 */
+		@NonNull
+		public Builder<Binding, Type> viewTypeResolver(@Nullable ToIntFunction<? super Type> viewTypeResolver){
+			this.viewTypeResolver = viewTypeResolver;
+			return this;
+		}
+
+		/**
+		 * <strong>【可选】</strong>设置与其他Adapter共享的视图缓存池。若未填写或赋值为{@code null}，则使用{@link RecyclerView}自身的缓存池。
+		 * 设置后，Adapter关联{@link RecyclerView}时将为其设置该缓存池，并将各视图类型的缓存数量上限设为<code>maxRecycledViews</code>。
+		 * 多个页面（如各标签页）的列表共享同一缓存池时，切换页面可复用已构建的视图而无需重新构建。
+		 * <p>
+		 * 共享同一缓存池的各Adapter中，相同的视图类型须使用相同的构建方法，建议以布局资源id作为视图类型。
+		 * 因此设置缓存池时须通过{@link #viewType(int, BindingInflater, ItemBinder)}设置视图类型，
+		 * 不可使用{@link #bindingInflater(BindingInflater)}，否则{@link #build()}时抛出异常。
+		 * 列表所在页面销毁时，须使其视图回收至缓存池，如调用
+		 * {@link androidx.recyclerview.widget.LinearLayoutManager#setRecycleChildrenOnDetach(boolean)}，
+		 * 或在销毁视图前移除{@link RecyclerView}的Adapter。
+		 *
+		 * @param recycledViewPool 共享的缓存池。
+		 * @param maxRecycledViews 各视图类型的缓存数量上限。
+		 * @return {@code this}
+		 * @see RecyclerView#setRecycledViewPool(RecyclerView.RecycledViewPool)
+		 */
+		@NonNull
+		public Builder<Binding, Type> recycledViewPool(
+			@Nullable RecyclerView.RecycledViewPool recycledViewPool, @IntRange (from = 0) int maxRecycledViews
+		){
+			this.recycledViewPool = recycledViewPool;
+			this.maxRecycledViews = maxRecycledViews;
+			return this;
+		}
+
+		/**
+		 * <strong>【可选】</strong>设置视图类型的预构建数量，默认不预构建。
+		 * 构建Adapter后即在后台线程中构建该数量的ViewBinding，{@link RecyclerView}创建视图时优先取用已构建的实例，
+		 * 一般取首屏可见的项数。对应的构建方法须可在后台线程中调用，无法在后台线程中构建时改由主线程构建。
+		 * 建议在等待数据期间（如{@code onViewCreated}中）构建Adapter，以便在数据到达前完成构建。
+		 *
+		 * @param viewType 视图类型，须为已设置的视图类型，通过{@link #bindingInflater(BindingInflater)}设置时为{@link #DEFAULT_VIEW_TYPE}。
+		 * @param count    预构建数量，为0时不预构建。
+		 * @return {@code this}
+		 */
+		@NonNull
+		public Builder<Binding, Type> prewarm(int viewType, @IntRange (from = 0) int count){
+			this.prewarmCounts.put(viewType, count);
+			return this;
+		}
+
+		/**
+		 * <strong>【可选】</strong>设置占位视图的绑定渲染方法，用于渲染分页窗口中尚未加载的项或列表中为{@code null}的项。
+		 * 若未填写或赋值为{@code null}，则不渲染这些项。占位项的视图类型见{@link #viewTypeResolver(ToIntFunction)}。
+		 *
+		 * @param placeholderBinder 占位视图绑定方法。
+		 * @return {@code this}
+		 * @see LiveDataListAdapter#registerPagedWindow(PagedWindow, LifecycleOwner)
+		 */
+		@NonNull
+		public Builder<Binding, Type> placeholderBinder(@Nullable PlaceholderBinder<Binding> placeholderBinder){
+			this.placeholderBinder = placeholderBinder;
+			return this;
+		}
+
 		/**
 		 * <strong>【可选】</strong>设置项视图的回收方法。若未填写或赋值为{@code null}，则不会回收各项视图。
 		 *
@@ -425,6 +1345,8 @@ public final class LiveDataListAdapter<Binding extends ViewBinding, Type>
 		 * 如果{@link LiveData}的更新总是会通过构建完全不同的列表实例而更新其持有的实例引用，则此值为{@code false}即可；
 		 * 如果{@link LiveData}的更新可能会在其持有的旧列表引用的基础上修改，则此值应当为{@code true}以保证
 		 * {@link androidx.recyclerview.widget.AsyncListDiffer}可以准确比较列表前后的变化。
+		 * {@link PersistentList}不可修改，总是不拷贝；需要在原有列表的基础上频繁修改时，建议使用{@link PersistentList}代替拷贝，
+		 * 每次修改仅复制少量节点，且未变化的部分不参与差异计算。
 		 *
 		 * @param required 是否需要创建新的{@link List}实例。
 		 * @return {@code this}
@@ -435,6 +1357,37 @@ public final class LiveDataListAdapter<Binding extends ViewBinding, Type>
 			this.createListCopies = required;
 			return this;
 		}
+
+		/**
+		 * <strong>【可选】</strong>设置计算列表差异的线程池。若未填写或赋值为{@code null}，则使用共享的默认线程池，
+		 * 且{@link LiveData}更新时的列表转换与拷贝在主线程中执行。
+		 * 设置后，列表转换、拷贝与差异计算均在该线程池中执行，因此{@link #registerDataSource}的转换方法须可在后台线程中调用。
+		 * {@link LiveData}频繁更新时，尚未开始转换或尚未应用的过期数据将被丢弃，仅应用最后一次的数据。
+		 *
+		 * @param diffExecutor 线程池。
+		 * @return {@code this}
+		 * @see LiveDataListAdapter#getSkippedUpdateCount()
+		 */
+		@NonNull
+		public Builder<Binding, Type> diffExecutor(@Nullable Executor diffExecutor){
+			this.diffExecutor = diffExecutor;
+			return this;
+		}
+
+		/**
+		 * <strong>【可选】</strong>设置项的稳定id。若未填写或赋值为{@code null}，则不启用稳定id。
+		 * 设置后将启用{@link RecyclerView.Adapter#setHasStableIds(boolean)}，各项的id须唯一且不随内容变化，
+		 * 使{@link RecyclerView}在整体刷新时仍可复用对应项的视图并正确执行动画。
+		 *
+		 * @param keyExtractor 读取id的方法。
+		 * @return {@code this}
+		 * @see LiveDataListAdapter#getPositionForItemId(long)
+		 */
+		@NonNull
+		public Builder<Binding, Type> keyExtractor(@Nullable ToLongFunction<? super Type> keyExtractor){
+			this.keyExtractor = keyExtractor;
+			return this;
+		}
 	}
 
 	/**
@@ -450,8 +1403,23 @@ public final class LiveDataListAdapter<Binding extends ViewBinding, Type>
 		}
 	}
 
+	/**
+	 * 单个视图类型的构建与绑定方法。
+	 */
+	@AllArgsConstructor
+	private static final class ViewTypeSpec<Binding extends ViewBinding, Type>{
+		@NonNull
+		private final BindingInflater<? extends Binding> bindingInflater;
+		@Nullable
+		private final ItemBinder<Binding, Type> itemBinder;
+		@Nullable
+		private final PartialBinder<Binding, Type> partialBinder;
+	}
+
 	private static <Type> DiffUtil.ItemCallback<Type> buildDifferConfig(
-		@NonNull BiFunction<Type, Type, Boolean> areSame, @NonNull BiFunction<Type, Type, Boolean> areEqual
+		@NonNull BiFunction<Type, Type, Boolean> areSame,
+		@NonNull BiFunction<Type, Type, Boolean> areEqual,
+		@Nullable ChangeMask<Type> changeMask
 	){
 		return new DiffUtil.ItemCallback<Type>(){
 			@Override
@@ -463,9 +1431,153 @@ public final class LiveDataListAdapter<Binding extends ViewBinding, Type>
 			public boolean areContentsTheSame(@NonNull Type oldItem, @NonNull Type newItem){
 				return areEqual.apply(oldItem, newItem);
 			}
+
+			@Nullable
+			@Override
+			public Object getChangePayload(@NonNull Type oldItem, @NonNull Type newItem){
+				if (changeMask == null) {
+					return null;
+				}
+				final int changedFields = changeMask.changedFields(oldItem, newItem);
+				// 仅使用低位时为缓存的实例。
+				return (changedFields == 0) ? null : Integer.valueOf(changedFields);
+			}
 		};
 	}
 
+	@NonNull
+	private static Executor requireDefaultDiffExecutor(){
+		Executor executor = defaultDiffExecutor;
+		if (executor == null) {
+			synchronized (LiveDataListAdapter.class) {
+				executor = defaultDiffExecutor;
+				if (executor == null) {
+					executor = Executors.newFixedThreadPool(2);
+					defaultDiffExecutor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * 以{@link DiffUtil.ItemCallback}比较两个列表。
+	 */
+	@AllArgsConstructor
+	private static class ListDiffCallback<Type> extends DiffUtil.Callback{
+		@NonNull
+		private final List<Type> oldList;
+		@NonNull
+		private final List<Type> newList;
+		@NonNull
+		private final DiffUtil.ItemCallback<Type> itemCallback;
+
+		@Override
+		public int getOldListSize(){
+			return oldList.size();
+		}
+
+		@Override
+		public int getNewListSize(){
+			return newList.size();
+		}
+
+		@Override
+		public boolean areItemsTheSame(int oldItemPosition, int newItemPosition){
+			Type oldItem = oldList.get(oldItemPosition);
+			Type newItem = newList.get(newItemPosition);
+			if (oldItem == null || newItem == null) {
+				return oldItem == newItem;
+			}
+			return itemCallback.areItemsTheSame(oldItem, newItem);
+		}
+
+		@Override
+		public boolean areContentsTheSame(int oldItemPosition, int newItemPosition){
+			Type oldItem = oldList.get(oldItemPosition);
+			Type newItem = newList.get(newItemPosition);
+			if (oldItem == null || newItem == null) {
+				return oldItem == newItem;
+			}
+			return itemCallback.areContentsTheSame(oldItem, newItem);
+		}
+
+		@Nullable
+		@Override
+		public Object getChangePayload(int oldItemPosition, int newItemPosition){
+			Type oldItem = oldList.get(oldItemPosition);
+			Type newItem = newList.get(newItemPosition);
+			if (oldItem == null || newItem == null) {
+				return null;
+			}
+			return itemCallback.getChangePayload(oldItem, newItem);
+		}
+	}
+
+	/**
+	 * 列表中间部分的差异。
+	 */
+	@AllArgsConstructor
+	private static final class ScopedDiff{
+		/** 变化部分的差异，为null时列表没有变化。 */
+		@Nullable
+		private final DiffUtil.DiffResult result;
+		/** 变化部分在列表中的起始位置。 */
+		private final int offset;
+
+		void dispatchUpdatesTo(@NonNull RecyclerView.Adapter<?> adapter){
+			if (result == null) {
+				return;
+			}
+			if (offset == 0) {
+				result.dispatchUpdatesTo(adapter);
+				return;
+			}
+			result.dispatchUpdatesTo(new ListUpdateCallback(){
+				@Override
+				public void onInserted(int position, int count){
+					adapter.notifyItemRangeInserted(position + offset, count);
+				}
+
+				@Override
+				public void onRemoved(int position, int count){
+					adapter.notifyItemRangeRemoved(position + offset, count);
+				}
+
+				@Override
+				public void onMoved(int fromPosition, int toPosition){
+					adapter.notifyItemMoved(fromPosition + offset, toPosition + offset);
+				}
+
+				@Override
+				public void onChanged(int position, int count, @Nullable Object payload){
+					adapter.notifyItemRangeChanged(position + offset, count, payload);
+				}
+			});
+		}
+	}
+
+	/**
+	 * 已关联的分页窗口。
+	 */
+	@AllArgsConstructor
+	private static class PagedSource<Type>{
+		@NonNull
+		private final PagedWindow<Type> window;
+		@NonNull
+		private final LifecycleOwner lifecycleOwner;
+		@NonNull
+		private final DefaultLifecycleObserver observer;
+
+		/**
+		 * 取消关联窗口并清除周期监听。
+		 */
+		void detach(){
+			window.detach();
+			lifecycleOwner.getLifecycle().removeObserver(observer);
+		}
+	}
+
 	@AllArgsConstructor
 	private static class DataSource<LiveDataType>{
 		@NonNull
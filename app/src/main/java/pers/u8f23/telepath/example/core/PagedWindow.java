@@ -0,0 +1,511 @@
+package pers.u8f23.telepath.example.core;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * 分页加载的数据窗口，供{@link LiveDataListAdapter#registerPagedWindow}使用，适用于无法全部载入内存的长列表。
+ * <p>
+ * 窗口仅持有访问位置附近的若干页：绑定某一位置时加载该位置前后的页，已加载的页超出上限时移除距访问位置最远的页。
+ * 未加载的位置以null表示，由{@link LiveDataListAdapter.Builder#placeholderBinder}渲染占位内容。
+ * 页加载完成后，仅比较该页内各位置的变化并通知对应的项；刷新时与列表总数一并重新加载已加载的各页，
+ * 仅比较已加载部分的差异，列表开头插入或移除的项不会使其后各项均视为变化。不比较整个列表。
+ * <p>
+ * 窗口通常由ViewModel持有，以便在视图重建后继续使用已加载的页。除{@link PageLoader}的方法外，各方法均须在主线程中调用。
+ *
+ * @param <Type> 列表项的类型。
+ * @author 8f23
+ * @create 2026/10/19-15:40
+ * @see Builder
+ */
+public final class PagedWindow<Type>{
+	/** 未指定线程池时用于加载的线程池。 */
+	private static volatile Executor defaultLoadExecutor;
+
+	@NonNull
+	private final PageLoader<Type> loader;
+	private final int pageSize;
+	/** 访问位置所在页前后各预加载的页数。 */
+	private final int prefetchPages;
+	/** 最多持有的页数。 */
+	private final int maxPages;
+	@NonNull
+	private final Executor loadExecutor;
+	/** 在主线程中执行加载结果的处理。 */
+	@NonNull
+	private final Executor mainExecutor;
+	/** 已加载的页，键为页序号。 */
+	@NonNull
+	private final SparseArray<List<Type>> pages = new SparseArray<>();
+	/** 正在加载的页。 */
+	@NonNull
+	private final SparseBooleanArray loadingPages = new SparseBooleanArray();
+	/** 以列表形式读取窗口，未加载的位置为null。 */
+	@NonNull
+	private final List<Type> items = new AbstractList<Type>(){
+		@Override
+		public Type get(int index){
+			if (index < 0 || index >= count) {
+				throw new IndexOutOfBoundsException("Index " + index + " out of " + count + ".");
+			}
+			List<Type> page = pages.get(index / pageSize);
+			final int offset = index % pageSize;
+			return (page == null || offset >= page.size()) ? null : page.get(offset);
+		}
+
+		@Override
+		public int size(){
+			return count;
+		}
+	};
+	/** 列表总数。 */
+	private int count = 0;
+	/** 刷新的代数，加载完成时代数不一致即为过期结果。 */
+	private int generation = 0;
+	private boolean started = false;
+	/** 是否正在刷新，此时不加载新的页，待刷新完成后再加载。 */
+	private boolean refreshing = false;
+	/** 最后一次访问的页序号。 */
+	private int accessedPage = 0;
+	@Nullable
+	private Callback<Type> callback;
+
+	private PagedWindow(@NonNull PageLoader<Type> loader, int pageSize, int prefetchPages, int maxPages,
+		@Nullable Executor loadExecutor, @Nullable Executor mainExecutor){
+		this.loader = loader;
+		this.pageSize = pageSize;
+		this.prefetchPages = prefetchPages;
+		this.maxPages = maxPages;
+		this.loadExecutor = (loadExecutor == null) ? requireDefaultLoadExecutor() : loadExecutor;
+		this.mainExecutor = (mainExecutor == null) ? new Handler(Looper.getMainLooper())::post : mainExecutor;
+	}
+
+	/**
+	 * @return 列表总数，总数加载完成前为0。
+	 */
+	public int getCount(){
+		return count;
+	}
+
+	/**
+	 * @return 已加载的页数。
+	 */
+	public int getLoadedPageCount(){
+		return pages.size();
+	}
+
+	/**
+	 * 标记访问的位置，加载该位置所在页及其前后的页。{@link LiveDataListAdapter}绑定各项时将自动调用。
+	 *
+	 * @param position 访问的位置，超出范围时忽略。
+	 */
+	public void loadAround(int position){
+		if (position < 0 || position >= count) {
+			return;
+		}
+		final int page = position / pageSize;
+		accessedPage = page;
+		if (refreshing) {
+			return;
+		}
+		for (int p = Math.max(page - prefetchPages, 0); p <= page + prefetchPages; p++) {
+			if (p * pageSize >= count) {
+				break;
+			}
+			if (pages.indexOfKey(p) < 0 && !loadingPages.get(p)) {
+				loadPage(p);
+			}
+		}
+	}
+
+	/**
+	 * 重新加载列表总数与已加载的各页。重新加载完成前仍展示原有内容，完成后仅通知发生变化的项。
+	 * 尚未完成的加载将被丢弃。
+	 */
+	public void refresh(){
+		started = true;
+		refreshing = true;
+		final int generation = ++this.generation;
+		loadingPages.clear();
+		final int[] loadedPages = new int[pages.size()];
+		for (int i = 0; i < loadedPages.length; i++) {
+			loadedPages[i] = pages.keyAt(i);
+		}
+		loadExecutor.execute(() -> {
+			final int newCount;
+			try {
+				newCount = Math.max(loader.loadCount(), 0);
+			}
+			catch (RuntimeException e) {
+				// 加载失败时保留原有内容。
+				mainExecutor.execute(() -> onRefreshFailed(generation));
+				return;
+			}
+			// 与总数一并重新加载已加载的各页，以便比较已加载部分的差异；加载失败的页为null。
+			final List<List<Type>> reloadedPages = new ArrayList<>(loadedPages.length);
+			for (int page : loadedPages) {
+				final int start = page * pageSize;
+				List<Type> loaded = null;
+				if (start < newCount) {
+					try {
+						loaded = loader.loadRange(start, Math.min(pageSize, newCount - start));
+					}
+					catch (RuntimeException ignored) {
+					}
+				}
+				reloadedPages.add(loaded);
+			}
+			mainExecutor.execute(() -> onRefreshed(generation, newCount, loadedPages, reloadedPages));
+		});
+	}
+
+	/**
+	 * 关联Adapter，首次关联时开始加载。
+	 */
+	void attach(@NonNull Callback<Type> callback){
+		this.callback = callback;
+		if (!started) {
+			refresh();
+		}
+	}
+
+	/**
+	 * 取消关联Adapter，已开始的加载仍将完成。
+	 */
+	void detach(){
+		this.callback = null;
+	}
+
+	/**
+	 * @return 窗口的列表形式，随窗口变化，不可修改。
+	 */
+	@NonNull
+	List<Type> asList(){
+		return items;
+	}
+
+	private void onRefreshFailed(int generation){
+		if (generation != this.generation) {
+			return;
+		}
+		refreshing = false;
+		loadAround(Math.min(accessedPage * pageSize, this.count - 1));
+	}
+
+	/**
+	 * 应用刷新结果。刷新期间不加载新的页，因此已加载的页即为<code>loadedPages</code>。
+	 * <p>
+	 * 各段连续的已加载页分别通知新旧内容，由后向前通知，使各段的位置不受其后各段数量变化的影响；
+	 * 各段之后的位置均为占位，最后在列表末尾通知其余的数量变化。
+	 */
+	private void onRefreshed(int generation, int newCount, @NonNull int[] loadedPages,
+		@NonNull List<List<Type>> reloadedPages){
+		if (generation != this.generation) {
+			return;
+		}
+		refreshing = false;
+		final int oldCount = this.count;
+		final SparseArray<List<Type>> oldPages = pages.clone();
+		this.count = newCount;
+		pages.clear();
+		for (int i = 0; i < loadedPages.length; i++) {
+			final List<Type> loaded = reloadedPages.get(i);
+			if (loaded != null) {
+				pages.put(loadedPages[i], fitPage(loadedPages[i], loaded));
+			}
+		}
+		Callback<Type> callback = this.callback;
+		int notifiedCount = oldCount;
+		int runEnd = loadedPages.length;
+		while (runEnd > 0) {
+			int runStart = runEnd - 1;
+			while (runStart > 0 && loadedPages[runStart - 1] == loadedPages[runStart] - 1) {
+				runStart--;
+			}
+			final List<Type> oldItems = new ArrayList<>();
+			final List<Type> newItems = new ArrayList<>();
+			for (int i = runStart; i < runEnd; i++) {
+				oldItems.addAll(oldPages.get(loadedPages[i]));
+				final int start = loadedPages[i] * pageSize;
+				for (int offset = 0; offset < Math.min(pageSize, newCount - start); offset++) {
+					newItems.add(items.get(start + offset));
+				}
+			}
+			if (callback != null) {
+				callback.onRangeRefreshed(loadedPages[runStart] * pageSize, oldItems, newItems);
+			}
+			notifiedCount += newItems.size() - oldItems.size();
+			runEnd = runStart;
+		}
+		if (callback != null && notifiedCount != newCount) {
+			callback.onCountChanged(notifiedCount, newCount);
+		}
+		loadAround(Math.min(accessedPage * pageSize, newCount - 1));
+	}
+
+	/** 将加载的项调整为页的项数量，数量不足时以null补齐。 */
+	@NonNull
+	private List<Type> fitPage(int page, @NonNull List<Type> loaded){
+		final int length = Math.min(pageSize, count - page * pageSize);
+		if (loaded.size() == length) {
+			return loaded;
+		}
+		final List<Type> fitted = new ArrayList<>(length);
+		for (int i = 0; i < length; i++) {
+			fitted.add((i < loaded.size()) ? loaded.get(i) : null);
+		}
+		return fitted;
+	}
+
+	private void loadPage(int page){
+		loadingPages.put(page, true);
+		final int generation = this.generation;
+		final int start = page * pageSize;
+		final int length = Math.min(pageSize, count - start);
+		loadExecutor.execute(() -> {
+			List<Type> loaded;
+			try {
+				loaded = loader.loadRange(start, length);
+			}
+			catch (RuntimeException e) {
+				loaded = null;
+			}
+			final List<Type> result = loaded;
+			mainExecutor.execute(() -> onPageLoaded(generation, page, result));
+		});
+	}
+
+	private void onPageLoaded(int generation, int page, @Nullable List<Type> loaded){
+		if (generation != this.generation) {
+			return;
+		}
+		loadingPages.delete(page);
+		final int start = page * pageSize;
+		if (loaded == null || start >= count) {
+			// 加载失败时保留占位，再次访问时重试。
+			return;
+		}
+		final int length = Math.min(pageSize, count - start);
+		final List<Type> newItems = fitPage(page, loaded);
+		final List<Type> oldItems = pages.get(page);
+		pages.put(page, newItems);
+		Callback<Type> callback = this.callback;
+		if (callback != null) {
+			callback.onPageChanged(start, length,
+				(oldItems != null && oldItems.size() == length) ? oldItems : null, newItems);
+		}
+		evictDistantPages();
+	}
+
+	/** 移除距访问位置最远的页，直至不超出上限。 */
+	private void evictDistantPages(){
+		while (pages.size() > maxPages) {
+			int farthest = 0;
+			for (int i = 1; i < pages.size(); i++) {
+				if (Math.abs(pages.keyAt(i) - accessedPage) > Math.abs(pages.keyAt(farthest) - accessedPage)) {
+					farthest = i;
+				}
+			}
+			final int page = pages.keyAt(farthest);
+			final List<Type> oldItems = pages.valueAt(farthest);
+			pages.removeAt(farthest);
+			final int start = page * pageSize;
+			Callback<Type> callback = this.callback;
+			if (callback != null) {
+				callback.onPageChanged(start, Math.min(pageSize, count - start), oldItems, null);
+			}
+		}
+	}
+
+	@NonNull
+	private static Executor requireDefaultLoadExecutor(){
+		Executor executor = defaultLoadExecutor;
+		if (executor == null) {
+			synchronized (PagedWindow.class) {
+				executor = defaultLoadExecutor;
+				if (executor == null) {
+					executor = Executors.newFixedThreadPool(2);
+					defaultLoadExecutor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+
+	/**
+	 * 分页数据的加载接口，各方法均在后台线程中调用。
+	 *
+	 * @param <Type> 列表项的类型。
+	 */
+	public interface PageLoader<Type>{
+		/**
+		 * 加载列表总数。
+		 *
+		 * @return 列表总数。
+		 */
+		@WorkerThread
+		int loadCount();
+
+		/**
+		 * 加载指定范围内的项。
+		 *
+		 * @param start 起始位置。
+		 * @param count 数量。
+		 * @return 各项，返回后请勿修改；数量不足时其余位置展示占位，数量超出时忽略多余的项。
+		 */
+		@NonNull
+		@WorkerThread
+		List<Type> loadRange(@IntRange (from = 0) int start, @IntRange (from = 1) int count);
+	}
+
+	/**
+	 * 窗口变化的回调，由{@link LiveDataListAdapter}实现。
+	 *
+	 * @param <Type> 列表项的类型。
+	 */
+	interface Callback<Type>{
+		/**
+		 * 一页的内容发生变化。
+		 *
+		 * @param start    页的起始位置。
+		 * @param length   页的项数量。
+		 * @param oldItems 变化前的各项，为null时原为占位。
+		 * @param newItems 变化后的各项，为null时变为占位。
+		 */
+		void onPageChanged(int start, int length, @Nullable List<Type> oldItems, @Nullable List<Type> newItems);
+
+		/**
+		 * 刷新后一段连续的已加载页的内容发生变化，项的数量可能变化，如列表开头插入了新的项。
+		 * 多段变化由后向前依次通知，<code>start</code>之前的位置不受本次变化影响。
+		 *
+		 * @param start    该段的起始位置。
+		 * @param oldItems 变化前的各项。
+		 * @param newItems 变化后的各项，加载失败或数量不足的位置为null。
+		 */
+		void onRangeRefreshed(int start, @NonNull List<Type> oldItems, @NonNull List<Type> newItems);
+
+		/**
+		 * 列表总数发生变化，变化部分位于列表末尾，均为占位。在{@link #onRangeRefreshed}之后通知。
+		 *
+		 * @param oldCount 原总数，即已通知的各段变化之后的数量。
+		 * @param newCount 新总数。
+		 */
+		void onCountChanged(int oldCount, int newCount);
+	}
+
+	/**
+	 * {@link PagedWindow}的Builder。
+	 *
+	 * @param <Type> 列表项的类型。
+	 */
+	public static final class Builder<Type>{
+		@Nullable private PageLoader<Type> loader;
+		private int pageSize = 50;
+		private int prefetchPages = 1;
+		private int maxPages = 8;
+		@Nullable private Executor loadExecutor;
+		@Nullable private Executor mainExecutor;
+
+		/**
+		 * 构建窗口实例。
+		 *
+		 * @throws IllegalArgumentException 参数不合法。
+		 */
+		@NonNull
+		public PagedWindow<Type> build(){
+			if (pageSize <= 0 || prefetchPages < 0 || maxPages < prefetchPages * 2 + 1) {
+				throw new IllegalArgumentException("Illegal page size " + pageSize + ", prefetch pages " +
+					prefetchPages + " or max pages " + maxPages + ".");
+			}
+			return new PagedWindow<>(Objects.requireNonNull(loader, "Parameter 'loader' is null!"),
+				pageSize, prefetchPages, maxPages, loadExecutor, mainExecutor);
+		}
+
+		/**
+		 * <strong>【必填】</strong>设置分页数据的加载方法。
+		 *
+		 * @param loader 加载方法。
+		 * @return {@code this}
+		 */
+		@NonNull
+		public Builder<Type> loader(@NonNull PageLoader<Type> loader){
+			this.loader = loader;
+			return this;
+		}
+
+		/**
+		 * <strong>【可选】</strong>设置每页的项数量，默认为50。
+		 *
+		 * @param pageSize 每页的项数量。
+		 * @return {@code this}
+		 */
+		@NonNull
+		public Builder<Type> pageSize(@IntRange (from = 1) int pageSize){
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		/**
+		 * <strong>【可选】</strong>设置访问位置所在页前后各预加载的页数，默认为1。
+		 *
+		 * @param prefetchPages 预加载的页数。
+		 * @return {@code this}
+		 */
+		@NonNull
+		public Builder<Type> prefetchPages(@IntRange (from = 0) int prefetchPages){
+			this.prefetchPages = prefetchPages;
+			return this;
+		}
+
+		/**
+		 * <strong>【可选】</strong>设置最多持有的页数，默认为8，不可少于预加载所需的页数。
+		 *
+		 * @param maxPages 最多持有的页数。
+		 * @return {@code this}
+		 */
+		@NonNull
+		public Builder<Type> maxPages(@IntRange (from = 1) int maxPages){
+			this.maxPages = maxPages;
+			return this;
+		}
+
+		/**
+		 * <strong>【可选】</strong>设置加载数据的线程池。若未填写或赋值为{@code null}，则使用共享的默认线程池。
+		 *
+		 * @param loadExecutor 线程池。
+		 * @return {@code this}
+		 */
+		@NonNull
+		public Builder<Type> loadExecutor(@Nullable Executor loadExecutor){
+			this.loadExecutor = loadExecutor;
+			return this;
+		}
+
+		/**
+		 * 设置处理加载结果的线程池，须依次在同一线程中执行。若未填写或赋值为{@code null}，则在主线程中执行。
+		 * 用于在单元测试中代替主线程。
+		 *
+		 * @param mainExecutor 线程池。
+		 * @return {@code this}
+		 */
+		@NonNull
+		Builder<Type> mainExecutor(@Nullable Executor mainExecutor){
+			this.mainExecutor = mainExecutor;
+			return this;
+		}
+	}
+}
@@ -0,0 +1,485 @@
+package pers.u8f23.telepath.example.core;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 结构共享的不可变列表，适用于ViewModel持有并频繁修改的长列表。
+ * <p>
+ * 列表以宽度为32的树存储，各修改方法返回新的列表，仅复制被修改位置所在路径上的节点，
+ * 耗时与空间均为<code>O(log n)</code>，其余节点与原列表共享。
+ * 移除连续的多项时，完全位于范围内的节点直接丢弃，耗时同样与移除的数量无关。
+ * 未改变内容的修改返回本列表；提交至{@link LiveDataListAdapter}时，同一列表不计算差异，
+ * 两个列表共享的节点也不参与差异计算。
+ * 列表中的项在加入列表后请勿修改。
+ *
+ * @param <Type> 列表项的类型。
+ * @author 8f23
+ * @create 2026/10/19-16:20
+ */
+public final class PersistentList<Type> extends AbstractList<Type> implements RandomAccess{
+	/** 节点的最大宽度。 */
+	private static final int WIDTH = 32;
+	private static final AtomicLong VERSIONS = new AtomicLong();
+	private static final PersistentList<?> EMPTY = new PersistentList<>(null);
+
+	/** 根节点，列表为空时为null。 */
+	@Nullable
+	private final Node root;
+	private final long version;
+
+	private PersistentList(@Nullable Node root){
+		this.root = root;
+		this.version = VERSIONS.incrementAndGet();
+	}
+
+	/**
+	 * @return 空列表。
+	 */
+	@NonNull
+	@SuppressWarnings ("unchecked")
+	public static <Type> PersistentList<Type> empty(){
+		return (PersistentList<Type>) EMPTY;
+	}
+
+	/**
+	 * 以指定的各项创建列表。
+	 *
+	 * @param items 各项。
+	 * @return 新的列表。
+	 */
+	@NonNull
+	public static <Type> PersistentList<Type> of(@NonNull Collection<? extends Type> items){
+		if (items.isEmpty()) {
+			return empty();
+		}
+		final Object[] all = items.toArray();
+		Node[] level = new Node[(all.length + WIDTH - 1) / WIDTH];
+		for (int i = 0; i < level.length; i++) {
+			Object[] chunk = new Object[Math.min(WIDTH, all.length - i * WIDTH)];
+			System.arraycopy(all, i * WIDTH, chunk, 0, chunk.length);
+			level[i] = new Leaf(chunk);
+		}
+		while (level.length > 1) {
+			Node[] parents = new Node[(level.length + WIDTH - 1) / WIDTH];
+			for (int i = 0; i < parents.length; i++) {
+				Node[] children = new Node[Math.min(WIDTH, level.length - i * WIDTH)];
+				System.arraycopy(level, i * WIDTH, children, 0, children.length);
+				parents[i] = new Branch(children);
+			}
+			level = parents;
+		}
+		return new PersistentList<>(level[0]);
+	}
+
+	/**
+	 * @return 版本号，各列表实例互不相同；未改变内容的修改返回本列表，版本号不变。
+	 */
+	public long getVersion(){
+		return version;
+	}
+
+	@Override
+	public int size(){
+		return (root == null) ? 0 : root.size;
+	}
+
+	@Override
+	@SuppressWarnings ("unchecked")
+	public Type get(int index){
+		checkIndex(index, size());
+		Node node = root;
+		while (node instanceof Branch) {
+			Branch branch = (Branch) node;
+			int child = branch.childAt(index);
+			index -= branch.startOf(child);
+			node = branch.children[child];
+		}
+		return (Type) ((Leaf) node).items[index];
+	}
+
+	/**
+	 * 替换一项。
+	 *
+	 * @param index 位置。
+	 * @param item  新的项。
+	 * @return 新的列表；项未变化时返回本列表。
+	 */
+	@NonNull
+	public PersistentList<Type> change(@IntRange (from = 0) int index, @Nullable Type item){
+		checkIndex(index, size());
+		final Node newRoot = change(root, index, item);
+		return (newRoot == root) ? this : new PersistentList<>(newRoot);
+	}
+
+	/**
+	 * 在指定位置插入一项。
+	 *
+	 * @param index 插入位置。
+	 * @param item  插入的项。
+	 * @return 新的列表。
+	 */
+	@NonNull
+	public PersistentList<Type> insert(@IntRange (from = 0) int index, @Nullable Type item){
+		checkIndex(index, size() + 1);
+		if (root == null) {
+			return new PersistentList<>(new Leaf(new Object[]{item}));
+		}
+		Node[] result = insert(root, index, item);
+		return new PersistentList<>((result.length == 1) ? result[0] : new Branch(result));
+	}
+
+	/**
+	 * 在末尾追加一项。
+	 *
+	 * @param item 追加的项。
+	 * @return 新的列表。
+	 */
+	@NonNull
+	public PersistentList<Type> append(@Nullable Type item){
+		return insert(size(), item);
+	}
+
+	/**
+	 * 移除连续的多项。
+	 *
+	 * @param index 起始位置。
+	 * @param count 移除的数量。
+	 * @return 新的列表；数量为0时返回本列表。
+	 */
+	@NonNull
+	public PersistentList<Type> remove(@IntRange (from = 0) int index, @IntRange (from = 0) int count){
+		if (count < 0 || index < 0 || index + count > size()) {
+			throw new IndexOutOfBoundsException("Range [" + index + ", " + (index + count) + ") out of " + size() + ".");
+		}
+		if (count == 0) {
+			return this;
+		}
+		if (count == size()) {
+			return empty();
+		}
+		Node newRoot = remove(root, index, index + count);
+		while (newRoot instanceof Branch && ((Branch) newRoot).children.length == 1) {
+			newRoot = ((Branch) newRoot).children[0];
+		}
+		return new PersistentList<>(newRoot);
+	}
+
+	/**
+	 * 计算两个列表开头相同的项数，共享的节点直接跳过，项以引用比较。
+	 */
+	static int commonPrefix(@NonNull PersistentList<?> a, @NonNull PersistentList<?> b){
+		final int limit = Math.min(a.size(), b.size());
+		int prefix = 0;
+		while (prefix < limit) {
+			final int shared = sharedSpan(a.root, prefix, b.root, prefix, false);
+			if (shared > 0) {
+				prefix += shared;
+			}
+			else if (a.get(prefix) == b.get(prefix)) {
+				prefix++;
+			}
+			else {
+				break;
+			}
+		}
+		return prefix;
+	}
+
+	/**
+	 * 计算两个列表末尾相同的项数，共享的节点直接跳过，项以引用比较。
+	 *
+	 * @param limit 结果的上限，一般为较短列表的长度减去开头相同的项数。
+	 */
+	static int commonSuffix(@NonNull PersistentList<?> a, @NonNull PersistentList<?> b, int limit){
+		final int aLast = a.size() - 1;
+		final int bLast = b.size() - 1;
+		int suffix = 0;
+		while (suffix < limit) {
+			final int shared = sharedSpan(a.root, aLast - suffix, b.root, bLast - suffix, true);
+			if (shared > 0) {
+				suffix += shared;
+			}
+			else if (a.get(aLast - suffix) == b.get(bLast - suffix)) {
+				suffix++;
+			}
+			else {
+				break;
+			}
+		}
+		return Math.min(suffix, limit);
+	}
+
+	/**
+	 * 查找两棵树中包含对应位置且以该位置为起点（或终点）的同一节点。
+	 *
+	 * @param atEnd 为true时查找以该位置为终点的节点。
+	 * @return 节点的项数量；不存在时返回0。
+	 */
+	private static int sharedSpan(@Nullable Node a, int aIndex, @Nullable Node b, int bIndex, boolean atEnd){
+		while (a != null) {
+			if (a.isAligned(aIndex, atEnd)) {
+				Node node = b;
+				int index = bIndex;
+				while (node != null) {
+					if (node == a && node.isAligned(index, atEnd)) {
+						return a.size;
+					}
+					if (!(node instanceof Branch)) {
+						break;
+					}
+					Branch branch = (Branch) node;
+					int child = branch.childAt(index);
+					index -= branch.startOf(child);
+					node = branch.children[child];
+				}
+			}
+			if (!(a instanceof Branch)) {
+				break;
+			}
+			Branch branch = (Branch) a;
+			int child = branch.childAt(aIndex);
+			aIndex -= branch.startOf(child);
+			a = branch.children[child];
+		}
+		return 0;
+	}
+
+	private static Node change(Node node, int index, Object item){
+		if (node instanceof Leaf) {
+			Object[] items = ((Leaf) node).items;
+			if (items[index] == item) {
+				return node;
+			}
+			items = items.clone();
+			items[index] = item;
+			return new Leaf(items);
+		}
+		Branch branch = (Branch) node;
+		int child = branch.childAt(index);
+		Node oldChild = branch.children[child];
+		Node newChild = change(oldChild, index - branch.startOf(child), item);
+		if (newChild == oldChild) {
+			return node;
+		}
+		Node[] children = branch.children.clone();
+		children[child] = newChild;
+		return new Branch(children);
+	}
+
+	/** @return 插入后的节点，超出宽度时分为两个节点。 */
+	private static Node[] insert(Node node, int index, Object item){
+		if (node instanceof Leaf) {
+			Object[] old = ((Leaf) node).items;
+			Object[] items = new Object[old.length + 1];
+			System.arraycopy(old, 0, items, 0, index);
+			items[index] = item;
+			System.arraycopy(old, index, items, index + 1, old.length - index);
+			if (items.length <= WIDTH) {
+				return new Node[]{new Leaf(items)};
+			}
+			final int half = items.length / 2;
+			Object[] left = new Object[half];
+			Object[] right = new Object[items.length - half];
+			System.arraycopy(items, 0, left, 0, half);
+			System.arraycopy(items, half, right, 0, right.length);
+			return new Node[]{new Leaf(left), new Leaf(right)};
+		}
+		Branch branch = (Branch) node;
+		// 位于两个子节点之间时插入至前一个子节点的末尾。
+		int child = (index == branch.size) ? branch.children.length - 1 : branch.childAt(index);
+		if (child > 0 && index == branch.startOf(child)) {
+			child--;
+		}
+		Node[] inserted = insert(branch.children[child], index - branch.startOf(child), item);
+		Node[] children = splice(branch.children, child, 1, inserted);
+		if (children.length <= WIDTH) {
+			return new Node[]{new Branch(children)};
+		}
+		final int half = children.length / 2;
+		return new Node[]{
+			new Branch(splice(children, half, children.length - half, new Node[0])),
+			new Branch(splice(children, 0, half, new Node[0]))};
+	}
+
+	/**
+	 * 移除节点内<code>[from, to)</code>的项。完全位于范围内的子节点直接丢弃，
+	 * 仅复制范围两端所在路径上的节点，耗时与移除的数量无关。
+	 *
+	 * @return 移除后的节点；节点为空时返回null。
+	 */
+	@Nullable
+	private static Node remove(Node node, int from, int to){
+		if (from == 0 && to == node.size) {
+			return null;
+		}
+		if (node instanceof Leaf) {
+			Object[] old = ((Leaf) node).items;
+			Object[] items = new Object[old.length - (to - from)];
+			System.arraycopy(old, 0, items, 0, from);
+			System.arraycopy(old, to, items, from, items.length - from);
+			return new Leaf(items);
+		}
+		Branch branch = (Branch) node;
+		final int first = branch.childAt(from);
+		final int last = branch.childAt(to - 1);
+		// 范围两端所在的子节点移除后剩余的部分。
+		Node[] remaining = new Node[2];
+		int remainingCount = 0;
+		if (first == last) {
+			final int start = branch.startOf(first);
+			Node child = remove(branch.children[first], from - start, to - start);
+			if (child != null) {
+				remaining[remainingCount++] = child;
+			}
+		}
+		else {
+			Node head = remove(branch.children[first], from - branch.startOf(first), branch.children[first].size);
+			Node tail = remove(branch.children[last], 0, to - branch.startOf(last));
+			if (head != null) {
+				remaining[remainingCount++] = head;
+			}
+			if (tail != null) {
+				remaining[remainingCount++] = tail;
+			}
+		}
+		Node[] children = splice(branch.children, first, last - first + 1, Arrays.copyOf(remaining, remainingCount));
+		// 自右向左与相邻节点合并，避免节点过窄导致树过深。
+		for (int i = first + remainingCount - 1; i >= first; i--) {
+			children = mergeNarrow(children, i);
+		}
+		return new Branch(children);
+	}
+
+	/** 子节点过窄且可与相邻节点合并时合并，返回新的数组。 */
+	private static Node[] mergeNarrow(Node[] children, int child){
+		if (children[child].width() >= WIDTH / 4) {
+			return children;
+		}
+		final int neighbor = (child > 0) ? child - 1 : child + 1;
+		if (neighbor >= children.length || children[child].width() + children[neighbor].width() > WIDTH) {
+			return children;
+		}
+		final int first = Math.min(child, neighbor);
+		return splice(children, first, 2, new Node[]{merge(children[first], children[first + 1])});
+	}
+
+	/** 合并同一层的两个节点。 */
+	private static Node merge(Node left, Node right){
+		if (left instanceof Leaf) {
+			Object[] a = ((Leaf) left).items;
+			Object[] b = ((Leaf) right).items;
+			Object[] items = new Object[a.length + b.length];
+			System.arraycopy(a, 0, items, 0, a.length);
+			System.arraycopy(b, 0, items, a.length, b.length);
+			return new Leaf(items);
+		}
+		return new Branch(splice(((Branch) left).children, ((Branch) left).children.length, 0,
+			((Branch) right).children));
+	}
+
+	/** 以<code>inserted</code>替换<code>array</code>中<code>[start, start + count)</code>的节点，返回新的数组。 */
+	private static Node[] splice(Node[] array, int start, int count, Node[] inserted){
+		Node[] result = new Node[array.length - count + inserted.length];
+		System.arraycopy(array, 0, result, 0, start);
+		System.arraycopy(inserted, 0, result, start, inserted.length);
+		System.arraycopy(array, start + count, result, start + inserted.length, array.length - start - count);
+		return result;
+	}
+
+	private static void checkIndex(int index, int size){
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of " + size + ".");
+		}
+	}
+
+	/** 树的节点，各节点均不为空。 */
+	private abstract static class Node{
+		/** 包含的项数量。 */
+		final int size;
+
+		Node(int size){
+			this.size = size;
+		}
+
+		/** @return 子节点或项的数量。 */
+		abstract int width();
+
+		/** @return 节点内的位置是否为节点的起点（或终点）。 */
+		boolean isAligned(int index, boolean atEnd){
+			return atEnd ? index == size - 1 : index == 0;
+		}
+	}
+
+	private static final class Leaf extends Node{
+		final Object[] items;
+
+		Leaf(Object[] items){
+			super(items.length);
+			this.items = items;
+		}
+
+		@Override
+		int width(){
+			return items.length;
+		}
+	}
+
+	private static final class Branch extends Node{
+		final Node[] children;
+		/** 各子节点的终点（不含），即前若干个子节点的项数量之和。 */
+		final int[] ends;
+
+		Branch(Node[] children){
+			super(sumSizes(children));
+			this.children = children;
+			this.ends = new int[children.length];
+			int end = 0;
+			for (int i = 0; i < children.length; i++) {
+				end += children[i].size;
+				ends[i] = end;
+			}
+		}
+
+		@Override
+		int width(){
+			return children.length;
+		}
+
+		/** @return 包含指定位置的子节点。 */
+		int childAt(int index){
+			int low = 0;
+			int high = ends.length - 1;
+			while (low < high) {
+				final int middle = (low + high) >>> 1;
+				if (ends[middle] > index) {
+					high = middle;
+				}
+				else {
+					low = middle + 1;
+				}
+			}
+			return low;
+		}
+
+		/** @return 子节点的起点。 */
+		int startOf(int child){
+			return (child == 0) ? 0 : ends[child - 1];
+		}
+
+		private static int sumSizes(Node[] children){
+			int size = 0;
+			for (Node child : children) {
+				size += child.size;
+			}
+			return size;
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package pers.u8f23.telepath.example.core;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.Arrays;
+import java.util.function.IntSupplier;
+import java.util.function.IntToLongFunction;
+
+/**
+ * 列表项id至位置的索引，供启用稳定id的Adapter按id查找位置。
+ * <p>
+ * 使用以{@code long}为键的开放寻址表，不为每项创建对象。索引监听Adapter自身的项变化通知，
+ * 仅记录最靠前的变化位置，查找时再从该位置起增量更新，不在每次绑定或每次变化时重建。
+ * 表中可能残留已移除项的记录，查找时将校验该位置的id。id为{@link RecyclerView#NO_ID}的项（如未加载的占位项）不记录。
+ *
+ * @author 8f23
+ * @create 2026/10/19-14:20
+ */
+final class StableIdIndex extends RecyclerView.AdapterDataObserver{
+	private static final int MIN_CAPACITY = 16;
+
+	/** 读取指定位置的id。 */
+	@NonNull
+	private final IntToLongFunction idAt;
+	/** 读取当前的项数量。 */
+	@NonNull
+	private final IntSupplier itemCount;
+	private long[] ids = new long[MIN_CAPACITY];
+	/** 与{@link #ids}对应的位置，-1表示空位。 */
+	private int[] positions = newPositions(MIN_CAPACITY);
+	/** 表中的记录数量，含残留记录。 */
+	private int entryCount = 0;
+	/** 位置<code>[0, validCount)</code>的项均已正确记录。 */
+	private int validCount = 0;
+
+	/**
+	 * @param idAt      读取指定位置的id。
+	 * @param itemCount 读取当前的项数量。
+	 */
+	StableIdIndex(@NonNull IntToLongFunction idAt, @NonNull IntSupplier itemCount){
+		this.idAt = idAt;
+		this.itemCount = itemCount;
+	}
+
+	/**
+	 * 查找id对应的位置，须在主线程中调用。
+	 *
+	 * @param id 项的id。
+	 * @return 位置；不存在或id为{@link RecyclerView#NO_ID}时返回{@link RecyclerView#NO_POSITION}。
+	 * @throws IllegalStateException 存在id相同的两项。
+	 */
+	int positionOf(long id){
+		if (id == RecyclerView.NO_ID) {
+			return RecyclerView.NO_POSITION;
+		}
+		final int size = itemCount.getAsInt();
+		validCount = Math.min(validCount, size);
+		int position = verify(id, get(id));
+		if (position != RecyclerView.NO_POSITION || validCount == size) {
+			return position;
+		}
+		if (entryCount > size * 2 + MIN_CAPACITY) {
+			// 残留记录过多时清空重建。
+			Arrays.fill(positions, -1);
+			entryCount = 0;
+			validCount = 0;
+		}
+		for (int i = validCount; i < size; i++) {
+			final long itemId = idAt.applyAsLong(i);
+			if (itemId == RecyclerView.NO_ID) {
+				validCount = i + 1;
+				continue;
+			}
+			if (verify(itemId, get(itemId)) != RecyclerView.NO_POSITION) {
+				validCount = i;
+				throw new IllegalStateException("Duplicate item id " + itemId + " at position " + i + ".");
+			}
+			put(itemId, i);
+			validCount = i + 1;
+		}
+		return verify(id, get(id));
+	}
+
+	/** 校验记录的位置已更新且该位置的id一致。 */
+	private int verify(long id, int position){
+		return (position >= 0 && position < validCount && idAt.applyAsLong(position) == id)
+			? position
+			: RecyclerView.NO_POSITION;
+	}
+
+	private int get(long id){
+		final int mask = positions.length - 1;
+		for (int slot = hash(id) & mask; positions[slot] >= 0; slot = (slot + 1) & mask) {
+			if (ids[slot] == id) {
+				return positions[slot];
+			}
+		}
+		return -1;
+	}
+
+	private void put(long id, int position){
+		if ((entryCount + 1) * 2 > positions.length) {
+			resize(positions.length * 2);
+		}
+		final int mask = positions.length - 1;
+		int slot = hash(id) & mask;
+		while (positions[slot] >= 0 && ids[slot] != id) {
+			slot = (slot + 1) & mask;
+		}
+		if (positions[slot] < 0) {
+			entryCount++;
+		}
+		ids[slot] = id;
+		positions[slot] = position;
+	}
+
+	private void resize(int capacity){
+		final long[] oldIds = ids;
+		final int[] oldPositions = positions;
+		ids = new long[capacity];
+		positions = newPositions(capacity);
+		entryCount = 0;
+		for (int slot = 0; slot < oldPositions.length; slot++) {
+			if (oldPositions[slot] >= 0) {
+				put(oldIds[slot], oldPositions[slot]);
+			}
+		}
+	}
+
+	private static int[] newPositions(int capacity){
+		int[] positions = new int[capacity];
+		Arrays.fill(positions, -1);
+		return positions;
+	}
+
+	private static int hash(long id){
+		final int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/** 自指定位置起的记录需要更新。 */
+	private void invalidateFrom(int position){
+		validCount = Math.min(validCount, position);
+	}
+
+	@Override
+	public void onChanged(){
+		invalidateFrom(0);
+	}
+
+	@Override
+	public void onItemRangeChanged(int positionStart, int itemCount){
+		invalidateFrom(positionStart);
+	}
+
+	@Override
+	public void onItemRangeInserted(int positionStart, int itemCount){
+		invalidateFrom(positionStart);
+	}
+
+	@Override
+	public void onItemRangeRemoved(int positionStart, int itemCount){
+		invalidateFrom(positionStart);
+	}
+
+	@Override
+	public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount){
+		invalidateFrom(Math.min(fromPosition, toPosition));
+	}
+}
@@ -6,6 +6,7 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.navigation.Navigation;
 
+import pers.u8f23.telepath.IntentNavDestination;
 import pers.u8f23.telepath.example.core.BaseFragment;
 import pers.u8f23.telepath.databinding.FragmentFirstPageBinding;
 
@@ -13,6 +14,12 @@ import pers.u8f23.telepath.databinding.FragmentFirstPageBinding;
  * @author 8f23
  * @create 2023/5/16-13:43
  */
+@IntentNavDestination (
+	value = "/first",
+	description = "第一页",
+	destination = "fragment_first_page",
+	singleTop = true
+)
 public class FirstPageFragment extends BaseFragment<FragmentFirstPageBinding>{
 	@NonNull @Override
 	protected FragmentFirstPageBinding viewBindingInflate(LayoutInflater inflater, ViewGroup container){
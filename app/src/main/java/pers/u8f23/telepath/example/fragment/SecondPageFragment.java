@@ -6,6 +6,7 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.navigation.Navigation;
 
+import pers.u8f23.telepath.IntentNavDestination;
 import pers.u8f23.telepath.example.core.BaseFragment;
 import pers.u8f23.telepath.databinding.FragmentSecondPageBinding;
 
@@ -13,6 +14,12 @@ import pers.u8f23.telepath.databinding.FragmentSecondPageBinding;
  * @author 8f23
  * @create 2023/5/16-13:46
  */
+@IntentNavDestination (
+	value = "/second",
+	description = "第二页",
+	destination = "fragment_second_page",
+	parentDestinations = {"fragment_first_page"}
+)
 public class SecondPageFragment extends BaseFragment<FragmentSecondPageBinding>{
 
 
@@ -0,0 +1,218 @@
+package pers.u8f23.telepath;
+
+import android.content.Intent;
+import android.net.Uri;
+import android.os.Bundle;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentManager;
+import androidx.navigation.NavController;
+import androidx.navigation.NavDestination;
+import androidx.navigation.fragment.NavHostFragment;
+
+import com.google.gson.GsonBuilder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import pers.u8f23.telepath.example.MainActivity;
+import pers.u8f23.telepath.runtime.RouteTable;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * 深层链接端到端耗时：在Robolectric中启动示例{@link MainActivity}，逐个路由投递链接Intent，
+ * 测量至目标Fragment执行<code>onResume</code>的耗时，无需真机或模拟器。
+ * <p>
+ * 耗时分为三段：
+ * <ul>
+ *     <li>resolve：路由表查找，即{@link TelepathMapperHolder#performIntent}中的路径匹配；</li>
+ *     <li>handler：自投递Intent至导航目标变更，扣除resolve，即跳转方法与{@link NavController}的处理；</li>
+ *     <li>transaction：自导航目标变更至目标Fragment执行<code>onResume</code>，即Fragment事务。</li>
+ * </ul>
+ * 各项取中位数，以JSON格式写入<code>build/reports/telepath/deep-link-latency.json</code>，可在提交之间对比。
+ * 可通过系统属性<code>telepath.latency.iterations</code>与<code>telepath.latency.report</code>
+ * 指定每个路由的测量次数与报告路径。
+ *
+ * @author 8f23
+ * @create 2026/10/19-13:50
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 32)
+public class DeepLinkLatencyTest{
+	/** 预热次数，预热结果不计入报告。 */
+	private static final int WARMUP = 5;
+	private static final int ITERATIONS = Math.max(Integer.getInteger("telepath.latency.iterations", 20), WARMUP + 1);
+	/** 单次路由表查找耗时过短，重复多次后取平均值。 */
+	private static final int RESOLVE_REPEAT = 1000;
+	private static final String REPORT_PATH = System.getProperty("telepath.latency.report",
+		"build/reports/telepath/deep-link-latency.json");
+	private static final String LINK_PREFIX = "telepath://example";
+
+	/** 报告内容，字段顺序即JSON中的顺序。 */
+	private static final class Report{
+		final int iterations = ITERATIONS;
+		final int warmup = WARMUP;
+		final List<RouteReport> routes = new ArrayList<>();
+	}
+
+	/** 单个路由的测量结果，单位均为纳秒，未发生对应阶段时为-1。 */
+	private static final class RouteReport{
+		final String path;
+		final String destination;
+		final long resolveNanos;
+		final long handlerNanos;
+		final long transactionNanos;
+		final long totalNanos;
+
+		RouteReport(String path, String destination, long resolveNanos, long handlerNanos, long transactionNanos){
+			this.path = path;
+			this.destination = destination;
+			this.resolveNanos = resolveNanos;
+			this.handlerNanos = handlerNanos;
+			this.transactionNanos = transactionNanos;
+			this.totalNanos = resolveNanos + handlerNanos + Math.max(transactionNanos, 0);
+		}
+	}
+
+	/** 记录单次跳转中各阶段的时间点。 */
+	private static final class Timeline extends FragmentManager.FragmentLifecycleCallbacks
+		implements NavController.OnDestinationChangedListener{
+		long destinationChangedAt = -1;
+		long resumedAt = -1;
+		String resumedFragment = null;
+
+		void reset(){
+			destinationChangedAt = -1;
+			resumedAt = -1;
+			resumedFragment = null;
+		}
+
+		@Override
+		public void onDestinationChanged(@NonNull NavController controller, @NonNull NavDestination destination,
+			@Nullable Bundle arguments){
+			destinationChangedAt = System.nanoTime();
+		}
+
+		@Override
+		public void onFragmentResumed(@NonNull FragmentManager fm, @NonNull Fragment f){
+			if (!(f instanceof NavHostFragment)) {
+				resumedAt = System.nanoTime();
+				resumedFragment = f.getClass().getSimpleName();
+			}
+		}
+	}
+
+	/** 测试前的合并时间窗口，测试后恢复，避免影响同一进程中的其他测试。 */
+	private long coalesceWindow;
+
+	@Before
+	public void setUp(){
+		// 同一路由需要重复跳转，关闭重复跳转合并。
+		coalesceWindow = TelepathMapperHolder.getCoalesceWindow();
+		TelepathMapperHolder.setCoalesceWindow(0);
+	}
+
+	@After
+	public void tearDown(){
+		TelepathMapperHolder.setCoalesceWindow(coalesceWindow);
+	}
+
+	@Test
+	public void measureDeepLinkLatency() throws IOException{
+		final RouteTable table = TelepathRoutes.TABLE;
+		final Report report = new Report();
+		for (int routeIndex = 0; routeIndex < table.size(); routeIndex++) {
+			if (table.isPattern(routeIndex)) {
+				// 模式路由无法确定具体链接。
+				continue;
+			}
+			report.routes.add(measureRoute(table, table.getPath(routeIndex)));
+		}
+		assertFalse("No route measured.", report.routes.isEmpty());
+		File file = new File(REPORT_PATH);
+		File parent = file.getParentFile();
+		assertTrue("Can not create " + parent, parent == null || parent.isDirectory() || parent.mkdirs());
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+			new GsonBuilder().setPrettyPrinting().create().toJson(report, writer);
+		}
+	}
+
+	private static RouteReport measureRoute(RouteTable table, String path){
+		final int samples = ITERATIONS - WARMUP;
+		long[] resolve = new long[samples];
+		long[] handler = new long[samples];
+		long[] transaction = new long[samples];
+		String destination = null;
+		for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+			// 每次均从新启动的首页开始跳转。
+			ActivityController<MainActivity> activityController = Robolectric.buildActivity(MainActivity.class)
+				.setup();
+			shadowOf(Looper.getMainLooper()).idle();
+			MainActivity activity = activityController.get();
+			NavController navController = findNavController(activity);
+			Timeline timeline = new Timeline();
+			navController.addOnDestinationChangedListener(timeline);
+			activity.getSupportFragmentManager().registerFragmentLifecycleCallbacks(timeline, true);
+			timeline.reset();
+
+			long start = System.nanoTime();
+			for (int i = 0; i < RESOLVE_REPEAT; i++) {
+				table.getRouteIndex(path);
+			}
+			final long resolveNanos = (System.nanoTime() - start) / RESOLVE_REPEAT;
+			start = System.nanoTime();
+			activityController.newIntent(new Intent(Intent.ACTION_VIEW, Uri.parse(LINK_PREFIX + path)));
+			final long delivered = System.nanoTime();
+			shadowOf(Looper.getMainLooper()).idle();
+
+			final long handlerEnd = (timeline.destinationChangedAt >= 0) ? timeline.destinationChangedAt : delivered;
+			if (iteration >= WARMUP) {
+				final int sample = iteration - WARMUP;
+				resolve[sample] = resolveNanos;
+				handler[sample] = Math.max(handlerEnd - start - resolveNanos, 0);
+				transaction[sample] = (timeline.destinationChangedAt >= 0 && timeline.resumedAt >= 0)
+					? timeline.resumedAt - timeline.destinationChangedAt
+					: -1;
+				destination = timeline.resumedFragment;
+			}
+			activityController.pause().stop().destroy();
+		}
+		return new RouteReport(path, destination, median(resolve), median(handler), median(transaction));
+	}
+
+	@NonNull
+	private static NavController findNavController(MainActivity activity){
+		NavHostFragment navHostFragment = (NavHostFragment) Objects.requireNonNull(
+			activity.getSupportFragmentManager().findFragmentById(R.id.nav_host_fragment_activity_main));
+		return navHostFragment.getNavController();
+	}
+
+	private static long median(long[] values){
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted[sorted.length / 2];
+	}
+}
@@ -0,0 +1,271 @@
+package pers.u8f23.telepath.example.core;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * {@link PagedWindow}的页加载、移除与刷新。
+ * <p>
+ * 加载与结果处理均由测试逐步执行；回调按通知维护一份列表，每次通知时校验其与通知内容一致，
+ * 并在最后与窗口的列表形式比较，即{@link androidx.recyclerview.widget.RecyclerView}所见的列表与窗口一致。
+ *
+ * @author 8f23
+ * @create 2026/10/19-19:50
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 32)
+public class PagedWindowTest{
+	private static final int PAGE_SIZE = 10;
+
+	private final List<String> data = new ArrayList<>();
+	private final Queue<Runnable> loads = new ArrayDeque<>();
+	private final Queue<Runnable> mainTasks = new ArrayDeque<>();
+	private final Mirror mirror = new Mirror();
+	private int loadedRanges = 0;
+	private boolean failCount = false;
+
+	/** 按通知维护的列表，即Adapter所见的列表。 */
+	private static final class Mirror implements PagedWindow.Callback<String>{
+		final List<String> items = new ArrayList<>();
+		final List<String> events = new ArrayList<>();
+
+		@Override
+		public void onPageChanged(int start, int length, @Nullable List<String> oldItems,
+			@Nullable List<String> newItems){
+			events.add("page " + start);
+			for (int i = 0; i < length; i++) {
+				if (oldItems != null) {
+					assertEquals(oldItems.get(i), items.get(start + i));
+				}
+				items.set(start + i, (newItems == null) ? null : newItems.get(i));
+			}
+		}
+
+		@Override
+		public void onRangeRefreshed(int start, @NonNull List<String> oldItems, @NonNull List<String> newItems){
+			events.add("range " + start + " " + oldItems.size() + "->" + newItems.size());
+			List<String> range = items.subList(start, start + oldItems.size());
+			assertEquals(oldItems, range);
+			range.clear();
+			items.addAll(start, newItems);
+		}
+
+		@Override
+		public void onCountChanged(int oldCount, int newCount){
+			events.add("count " + oldCount + "->" + newCount);
+			assertEquals(oldCount, items.size());
+			if (newCount > oldCount) {
+				items.addAll(Collections.nCopies(newCount - oldCount, null));
+			}
+			else {
+				items.subList(newCount, oldCount).clear();
+			}
+		}
+	}
+
+	private PagedWindow<String> window(int maxPages){
+		PagedWindow<String> window = new PagedWindow.Builder<String>()
+			.loader(new PagedWindow.PageLoader<String>(){
+				@Override
+				public int loadCount(){
+					if (failCount) {
+						throw new IllegalStateException("Count failed.");
+					}
+					return data.size();
+				}
+
+				@NonNull
+				@Override
+				public List<String> loadRange(int start, int count){
+					loadedRanges++;
+					return new ArrayList<>(data.subList(start, Math.min(start + count, data.size())));
+				}
+			})
+			.pageSize(PAGE_SIZE)
+			.prefetchPages(1)
+			.maxPages(maxPages)
+			.loadExecutor(loads::add)
+			.mainExecutor(mainTasks::add)
+			.build();
+		window.attach(mirror);
+		return window;
+	}
+
+	private void fill(int count){
+		for (int i = 0; i < count; i++) {
+			data.add("item" + i);
+		}
+	}
+
+	/** 依次执行全部加载与结果处理，直至没有待执行的任务。 */
+	private void drain(){
+		while (!loads.isEmpty() || !mainTasks.isEmpty()) {
+			while (!loads.isEmpty()) {
+				loads.poll().run();
+			}
+			while (!mainTasks.isEmpty()) {
+				mainTasks.poll().run();
+			}
+		}
+	}
+
+	private void assertMirrorMatches(PagedWindow<String> window){
+		assertEquals(window.asList(), mirror.items);
+	}
+
+	@Test
+	public void loadsCountThenPagesAroundStart(){
+		fill(1000);
+		PagedWindow<String> window = window(8);
+		drain();
+		assertEquals(1000, window.getCount());
+		assertEquals(2, window.getLoadedPageCount());
+		assertEquals("item5", window.asList().get(5));
+		assertEquals("item19", window.asList().get(19));
+		assertNull(window.asList().get(20));
+		assertEquals(Arrays.asList("count 0->1000", "page 0", "page 10"), mirror.events);
+		assertMirrorMatches(window);
+	}
+
+	@Test
+	public void loadsPagesAroundAccessedPosition(){
+		fill(1000);
+		PagedWindow<String> window = window(8);
+		drain();
+		window.loadAround(505);
+		drain();
+		assertEquals("item495", window.asList().get(495));
+		assertEquals("item515", window.asList().get(515));
+		assertNull(window.asList().get(525));
+		assertEquals(5, window.getLoadedPageCount());
+		assertMirrorMatches(window);
+		// 已加载的页不重复加载。
+		final int loaded = loadedRanges;
+		window.loadAround(506);
+		drain();
+		assertEquals(loaded, loadedRanges);
+	}
+
+	@Test
+	public void evictsPagesFarthestFromAccess(){
+		fill(1000);
+		PagedWindow<String> window = window(3);
+		drain();
+		window.loadAround(55);
+		drain();
+		assertEquals(3, window.getLoadedPageCount());
+		assertNull(window.asList().get(5));
+		assertNull(window.asList().get(15));
+		assertEquals("item45", window.asList().get(45));
+		assertEquals("item65", window.asList().get(65));
+		assertMirrorMatches(window);
+	}
+
+	@Test
+	public void lastPageIsShort(){
+		fill(25);
+		PagedWindow<String> window = window(8);
+		drain();
+		window.loadAround(24);
+		drain();
+		assertEquals("item24", window.asList().get(24));
+		assertEquals(25, mirror.items.size());
+		assertMirrorMatches(window);
+	}
+
+	@Test
+	public void refreshReportsHeadInsertWithinLoadedRange(){
+		fill(1000);
+		PagedWindow<String> window = window(8);
+		drain();
+		mirror.events.clear();
+		data.addAll(0, Arrays.asList("new0", "new1", "new2"));
+		window.refresh();
+		drain();
+		// 已加载的两页作为一段通知新旧内容，其余数量变化位于末尾，而非已加载的各项均变化。
+		assertEquals(Arrays.asList("range 0 20->20", "count 1000->1003"), mirror.events);
+		assertEquals("new0", window.asList().get(0));
+		assertEquals("item16", window.asList().get(19));
+		assertMirrorMatches(window);
+	}
+
+	@Test
+	public void refreshNotifiesSeparateRangesFromLast(){
+		fill(1000);
+		PagedWindow<String> window = window(8);
+		drain();
+		window.loadAround(505);
+		drain();
+		mirror.events.clear();
+		data.remove(0);
+		window.refresh();
+		drain();
+		assertEquals(Arrays.asList("range 490 30->30", "range 0 20->20", "count 1000->999"), mirror.events);
+		assertEquals("item1", window.asList().get(0));
+		assertMirrorMatches(window);
+	}
+
+	@Test
+	public void refreshShrinksBelowLoadedPages(){
+		fill(1000);
+		PagedWindow<String> window = window(8);
+		drain();
+		mirror.events.clear();
+		data.subList(15, data.size()).clear();
+		window.refresh();
+		drain();
+		assertEquals(Arrays.asList("range 0 20->15", "count 995->15"), mirror.events);
+		assertEquals(15, window.getCount());
+		assertMirrorMatches(window);
+	}
+
+	@Test
+	public void refreshDiscardsEarlierPageLoads(){
+		fill(1000);
+		PagedWindow<String> window = window(8);
+		drain();
+		window.loadAround(505);
+		// 页加载完成前刷新，且数据发生变化。
+		while (!loads.isEmpty()) {
+			loads.poll().run();
+		}
+		data.add(0, "new0");
+		window.refresh();
+		drain();
+		assertEquals("item494", window.asList().get(495));
+		assertMirrorMatches(window);
+	}
+
+	@Test
+	public void failedRefreshKeepsContent(){
+		fill(1000);
+		PagedWindow<String> window = window(8);
+		drain();
+		mirror.events.clear();
+		failCount = true;
+		window.refresh();
+		drain();
+		assertEquals(Collections.emptyList(), mirror.events);
+		assertEquals("item5", window.asList().get(5));
+		failCount = false;
+		window.loadAround(505);
+		drain();
+		assertEquals("item505", window.asList().get(505));
+		assertMirrorMatches(window);
+	}
+}
@@ -0,0 +1,168 @@
+package pers.u8f23.telepath.example.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link PersistentList}的修改结果与{@link ArrayList}一致且不影响原列表，
+ * 以及{@link PersistentList#commonPrefix}与{@link PersistentList#commonSuffix}的结果。
+ *
+ * @author 8f23
+ * @create 2026/10/19-20:10
+ */
+public class PersistentListTest{
+	private static List<Integer> numbers(int count){
+		List<Integer> list = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			list.add(i);
+		}
+		return list;
+	}
+
+	@Test
+	public void ofKeepsOrder(){
+		for (int size : new int[]{0, 1, 31, 32, 33, 1024, 1025, 40000}) {
+			List<Integer> expected = numbers(size);
+			assertEquals(expected, PersistentList.of(expected));
+		}
+	}
+
+	@Test
+	public void editsMatchArrayList(){
+		final Random random = new Random(0x5eed);
+		List<Integer> expected = new ArrayList<>();
+		PersistentList<Integer> list = PersistentList.empty();
+		List<PersistentList<Integer>> snapshots = new ArrayList<>();
+		List<List<Integer>> snapshotContents = new ArrayList<>();
+		for (int step = 0; step < 4000; step++) {
+			final int operation = random.nextInt(10);
+			if (operation < 5 || expected.isEmpty()) {
+				final int index = random.nextInt(expected.size() + 1);
+				expected.add(index, step);
+				list = list.insert(index, step);
+			}
+			else if (operation < 7) {
+				final int index = random.nextInt(expected.size());
+				expected.set(index, -step);
+				list = list.change(index, -step);
+			}
+			else {
+				final int index = random.nextInt(expected.size());
+				final int count = random.nextInt(Math.min(expected.size() - index, 80) + 1);
+				expected.subList(index, index + count).clear();
+				list = list.remove(index, count);
+			}
+			if (step % 100 == 0) {
+				assertEquals(expected, list);
+				snapshots.add(list);
+				snapshotContents.add(new ArrayList<>(expected));
+			}
+		}
+		assertEquals(expected, list);
+		// 之后的修改不影响之前的列表。
+		for (int i = 0; i < snapshots.size(); i++) {
+			assertEquals(snapshotContents.get(i), snapshots.get(i));
+		}
+	}
+
+	@Test
+	public void removesLargeRanges(){
+		List<Integer> expected = numbers(200000);
+		PersistentList<Integer> list = PersistentList.of(expected);
+		final int[][] ranges = {{25000, 150000}, {0, 20000}, {10000, 14000}, {1, 9999}};
+		for (int[] range : ranges) {
+			expected.subList(range[0], range[0] + range[1]).clear();
+			list = list.remove(range[0], range[1]);
+			assertEquals(expected, list);
+			// 移除后仍可正常修改。
+			list = list.insert(range[0], -1).remove(range[0], 1);
+			assertEquals(expected, list);
+		}
+		assertEquals(0, list.remove(0, list.size()).size());
+	}
+
+	@Test
+	public void unchangedEditsReturnSameList(){
+		PersistentList<Integer> list = PersistentList.of(numbers(100));
+		assertSame(list, list.change(5, list.get(5)));
+		assertSame(list, list.remove(5, 0));
+		assertSame(PersistentList.empty(), list.remove(0, 100));
+		assertNotEquals(list.getVersion(), list.change(5, -1).getVersion());
+	}
+
+	@Test
+	public void rejectsOutOfRange(){
+		PersistentList<Integer> list = PersistentList.of(numbers(10));
+		try {
+			list.get(10);
+			fail();
+		}
+		catch (IndexOutOfBoundsException expected) {
+		}
+		try {
+			list.insert(11, 0);
+			fail();
+		}
+		catch (IndexOutOfBoundsException expected) {
+		}
+		try {
+			list.remove(5, 6);
+			fail();
+		}
+		catch (IndexOutOfBoundsException expected) {
+		}
+	}
+
+	@Test
+	public void commonPrefixAndSuffixAroundChange(){
+		PersistentList<Integer> list = PersistentList.of(numbers(5000));
+		PersistentList<Integer> changed = list.change(1234, -1);
+		assertEquals(1234, PersistentList.commonPrefix(list, changed));
+		assertEquals(5000 - 1235, PersistentList.commonSuffix(list, changed, 5000 - 1234));
+	}
+
+	@Test
+	public void commonPrefixAndSuffixAroundInsertAndRemove(){
+		PersistentList<Integer> list = PersistentList.of(numbers(5000));
+		PersistentList<Integer> inserted = list.insert(700, -1);
+		assertEquals(700, PersistentList.commonPrefix(list, inserted));
+		assertEquals(4300, PersistentList.commonSuffix(list, inserted, 5000 - 700));
+		PersistentList<Integer> removed = list.remove(700, 3000);
+		assertEquals(700, PersistentList.commonPrefix(list, removed));
+		assertEquals(1300, PersistentList.commonSuffix(list, removed, 2000 - 700));
+	}
+
+	@Test
+	public void commonPrefixAndSuffixRespectLimit(){
+		PersistentList<Integer> list = PersistentList.of(numbers(3000));
+		assertEquals(3000, PersistentList.commonPrefix(list, list));
+		assertEquals(0, PersistentList.commonSuffix(list, list, 0));
+		assertEquals(17, PersistentList.commonSuffix(list, list, 17));
+		PersistentList<Integer> shorter = list.remove(2990, 10);
+		assertEquals(2990, PersistentList.commonPrefix(list, shorter));
+	}
+
+	@Test
+	public void comparesItemsOfSeparateLists(){
+		// 各项相同但节点不共享时逐项以引用比较。
+		List<Integer> items = numbers(1000);
+		PersistentList<Integer> a = PersistentList.of(items);
+		List<Integer> changedItems = new ArrayList<>(items);
+		changedItems.set(600, -1);
+		PersistentList<Integer> b = PersistentList.of(changedItems);
+		assertEquals(600, PersistentList.commonPrefix(a, b));
+		assertEquals(399, PersistentList.commonSuffix(a, b, 1000 - 600));
+		PersistentList<Integer> empty = PersistentList.empty();
+		assertEquals(0, PersistentList.commonPrefix(a, empty));
+		assertEquals(Collections.emptyList(), empty);
+	}
+}
@@ -0,0 +1,63 @@
+package pers.u8f23.telepath.example.core;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link StableIdIndex}的查找与增量更新，以及无id的项（如占位项）的处理。
+ *
+ * @author 8f23
+ * @create 2026/10/19-19:30
+ */
+public class StableIdIndexTest{
+	private final List<Long> ids = new ArrayList<>();
+	private final StableIdIndex index = new StableIdIndex(position -> ids.get(position), ids::size);
+
+	@Test
+	public void findsPositions(){
+		ids.addAll(Arrays.asList(10L, 20L, 30L));
+		assertEquals(0, index.positionOf(10));
+		assertEquals(2, index.positionOf(30));
+		assertEquals(RecyclerView.NO_POSITION, index.positionOf(40));
+	}
+
+	@Test
+	public void followsInsertAndRemove(){
+		ids.addAll(Arrays.asList(10L, 20L, 30L));
+		assertEquals(2, index.positionOf(30));
+		ids.add(0, 5L);
+		index.onItemRangeInserted(0, 1);
+		assertEquals(3, index.positionOf(30));
+		assertEquals(0, index.positionOf(5));
+		ids.remove(1);
+		index.onItemRangeRemoved(1, 1);
+		assertEquals(RecyclerView.NO_POSITION, index.positionOf(10));
+		assertEquals(2, index.positionOf(30));
+	}
+
+	@Test
+	public void skipsItemsWithoutId(){
+		ids.addAll(Arrays.asList(RecyclerView.NO_ID, 10L, RecyclerView.NO_ID, RecyclerView.NO_ID, 20L));
+		assertEquals(4, index.positionOf(20));
+		assertEquals(1, index.positionOf(10));
+		assertEquals(RecyclerView.NO_POSITION, index.positionOf(RecyclerView.NO_ID));
+		// 占位项加载后获得id。
+		ids.set(2, 15L);
+		index.onItemRangeChanged(2, 1);
+		assertEquals(2, index.positionOf(15));
+		assertEquals(4, index.positionOf(20));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsDuplicateIds(){
+		ids.addAll(Arrays.asList(10L, 20L, 10L));
+		index.positionOf(30);
+	}
+}
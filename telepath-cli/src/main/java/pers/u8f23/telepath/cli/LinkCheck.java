@@ -0,0 +1,259 @@
+package pers.u8f23.telepath.cli;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import pers.u8f23.telepath.runtime.RouteTable;
+
+/**
+ * 批量校验深层链接：按注解处理器输出的导航接口清单匹配输入文件中的每条链接，
+ * 输出逐条结果，并在标准错误输出中汇总各路由的命中数量与吞吐量。
+ * <p>
+ * 输入文件每行一条链接，按行边界切分为若干分段后以内存映射方式读取，由固定大小的线程池并行解析，
+ * 结果按输入顺序写出。同时处理的分段数量为线程数的{@value #SEGMENTS_PER_THREAD}倍，每个分段的输出缓冲区
+ * 约为分段大小的1.5倍，因此堆内存占用约为“线程数×分段大小×3”，与输入文件大小无关；分段大小上限为
+ * {@value #MAX_SEGMENT_MB}MB。
+ * <p>
+ * 用法：
+ * <pre>
+ * LinkCheck --manifest nav_manifest.txt --input links.txt [--output result.tsv]
+ *           [--threads N] [--segment-mb N]
+ * </pre>
+ *
+ * @author 8f23
+ * @create 2026/10/19-10:50
+ * @see LinkResolver
+ */
+public final class LinkCheck{
+	private static final int DEFAULT_SEGMENT_MB = 8;
+	/** 分段大小上限，限制同时处理的分段所占用的输出缓冲区。 */
+	private static final int MAX_SEGMENT_MB = 64;
+	/** 每个线程同时处理的分段数量。 */
+	private static final int SEGMENTS_PER_THREAD = 2;
+	/** 查找行边界时每次读取的字节数。 */
+	private static final int BOUNDARY_PROBE = 8192;
+
+	private LinkCheck(){
+	}
+
+	public static void main(String[] args) throws Exception{
+		Path manifestFile = null;
+		Path inputFile = null;
+		Path outputFile = null;
+		int threads = Runtime.getRuntime().availableProcessors();
+		int segmentMb = DEFAULT_SEGMENT_MB;
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if (i + 1 >= args.length) {
+				usage("missing value for " + arg);
+				return;
+			}
+			String value = args[++i];
+			switch (arg) {
+				case "--manifest":
+					manifestFile = Paths.get(value);
+					break;
+				case "--input":
+					inputFile = Paths.get(value);
+					break;
+				case "--output":
+					outputFile = Paths.get(value);
+					break;
+				case "--threads":
+					threads = Integer.parseInt(value);
+					break;
+				case "--segment-mb":
+					segmentMb = Integer.parseInt(value);
+					break;
+				default:
+					usage("unknown option " + arg);
+					return;
+			}
+		}
+		if (manifestFile == null || inputFile == null || threads <= 0
+			|| segmentMb <= 0 || segmentMb > MAX_SEGMENT_MB) {
+			usage(null);
+			return;
+		}
+		NavManifest manifest = NavManifest.load(manifestFile);
+		OutputStream out = (outputFile == null)
+			? new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16)
+			: new BufferedOutputStream(new FileOutputStream(outputFile.toFile()), 1 << 16);
+		try {
+			check(manifest, inputFile, out, threads, (long) segmentMb << 20);
+		}
+		finally {
+			out.close();
+		}
+	}
+
+	private static void usage(String error){
+		if (error != null) {
+			System.err.println("LinkCheck: " + error);
+		}
+		System.err.println("usage: LinkCheck --manifest <nav_manifest.txt> --input <links> [--output <file>]"
+			+ " [--threads N] [--segment-mb N]");
+		System.exit(2);
+	}
+
+	/**
+	 * 校验输入文件中的全部链接。
+	 *
+	 * @param manifest     导航接口清单。
+	 * @param inputFile    输入文件，每行一条链接。
+	 * @param out          逐条结果的输出位置。
+	 * @param threads      并行线程数。
+	 * @param segmentBytes 分段大小，单位为字节。
+	 */
+	static void check(NavManifest manifest, Path inputFile, OutputStream out, int threads, long segmentBytes)
+		throws IOException{
+		final RouteTable table = manifest.getTable();
+		final byte[][] routePaths = new byte[table.size()][];
+		for (int i = 0; i < routePaths.length; i++) {
+			routePaths[i] = table.getPath(i).getBytes(StandardCharsets.UTF_8);
+		}
+		final long[] routeCounts = new long[table.size()];
+		long noRouteCount = 0;
+		long invalidCount = 0;
+		final long startTime = System.nanoTime();
+		final ExecutorService pool = Executors.newFixedThreadPool(threads);
+		final ArrayDeque<Future<LinkResolver.Result>> pending = new ArrayDeque<>();
+		final int maxPending = threads * SEGMENTS_PER_THREAD;
+		try (FileChannel channel = FileChannel.open(inputFile, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			long position = 0;
+			while (position < size || !pending.isEmpty()) {
+				// 在上限内尽量提交分段，再按顺序取回最早的结果。
+				while (position < size && pending.size() < maxPending) {
+					long end = nextLineBoundary(channel, Math.min(size, position + segmentBytes), size);
+					pending.add(pool.submit(new SegmentTask(channel, position, end - position, table, routePaths)));
+					position = end;
+				}
+				LinkResolver.Result result = await(pending.poll());
+				out.write(result.output, 0, result.outputLength);
+				for (int i = 0; i < routeCounts.length; i++) {
+					routeCounts[i] += result.routeCounts[i];
+				}
+				noRouteCount += result.noRouteCount;
+				invalidCount += result.invalidCount;
+			}
+		}
+		finally {
+			pool.shutdownNow();
+		}
+		out.flush();
+		report(manifest, routeCounts, noRouteCount, invalidCount, System.nanoTime() - startTime);
+	}
+
+	/** 等待分段解析完成，解析失败时抛出其原始异常。 */
+	private static LinkResolver.Result await(Future<LinkResolver.Result> future) throws IOException{
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while resolving links", e);
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+
+	/**
+	 * 查找不早于指定位置的行边界。
+	 *
+	 * @return 行边界（换行符之后）的位置；文件末尾没有换行符时返回文件大小。
+	 */
+	private static long nextLineBoundary(FileChannel channel, long position, long size) throws IOException{
+		if (position >= size) {
+			return size;
+		}
+		ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE);
+		while (position < size) {
+			probe.clear();
+			int read = channel.read(probe, position);
+			if (read <= 0) {
+				return size;
+			}
+			for (int i = 0; i < read; i++) {
+				if (probe.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+
+	private static void report(NavManifest manifest, long[] routeCounts, long noRouteCount, long invalidCount,
+		long elapsedNanos){
+		final RouteTable table = manifest.getTable();
+		long matched = 0;
+		for (long count : routeCounts) {
+			matched += count;
+		}
+		final long total = matched + noRouteCount + invalidCount;
+		final double seconds = Math.max(elapsedNanos, 1) / 1e9;
+		PrintStream err = System.err;
+		err.printf(Locale.ROOT, "total\t%d%n", total);
+		err.printf(Locale.ROOT, "%s\t%d%n", LinkResolver.STATUS_OK, matched);
+		err.printf(Locale.ROOT, "%s\t%d%n", LinkResolver.STATUS_NO_ROUTE, noRouteCount);
+		err.printf(Locale.ROOT, "%s\t%d%n", LinkResolver.STATUS_INVALID, invalidCount);
+		for (int i = 0; i < routeCounts.length; i++) {
+			err.printf(Locale.ROOT, "route\t%s\t%d\t%s%n", table.getPath(i), routeCounts[i],
+				manifest.getDescription(i));
+		}
+		err.printf(Locale.ROOT, "elapsed\t%.3f s%n", seconds);
+		err.printf(Locale.ROOT, "throughput\t%.0f URLs/s%n", total / seconds);
+	}
+
+	/** 映射并解析单个分段。 */
+	private static final class SegmentTask implements Callable<LinkResolver.Result>{
+		private final FileChannel channel;
+		private final long position;
+		private final long length;
+		private final RouteTable table;
+		private final byte[][] routePaths;
+
+		private SegmentTask(FileChannel channel, long position, long length, RouteTable table,
+			byte[][] routePaths){
+			this.channel = channel;
+			this.position = position;
+			this.length = length;
+			this.table = table;
+			this.routePaths = routePaths;
+		}
+
+		@Override public LinkResolver.Result call() throws IOException{
+			final MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+			// 结果中附加状态列，预留略多于输入的输出空间。
+			int capacity = (int) Math.min(Integer.MAX_VALUE - 8, length + (length >> 1));
+			return new LinkResolver(table, routePaths, capacity).resolve(segment);
+		}
+	}
+}
@@ -0,0 +1,268 @@
+package pers.u8f23.telepath.cli;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import pers.u8f23.telepath.runtime.RouteTable;
+
+/**
+ * 逐行解析链接并匹配路由，输出每条链接的结果。每个实例仅供单个线程使用，内部缓冲区在各行之间复用。
+ * <p>
+ * 输出格式为每行一条链接，以制表符分隔：原始链接、状态、匹配的路由路径、前缀匹配时路径的剩余部分、查询参数。
+ * 状态取值为{@link #STATUS_OK}、{@link #STATUS_NO_ROUTE}与{@link #STATUS_INVALID}。
+ * 路径取值与Android中<code>Uri.getPath()</code>一致，即解码后的路径。
+ *
+ * @author 8f23
+ * @create 2026/10/19-10:50
+ */
+final class LinkResolver{
+	static final String STATUS_OK = "OK";
+	static final String STATUS_NO_ROUTE = "NO_ROUTE";
+	static final String STATUS_INVALID = "INVALID";
+	private static final byte[] OK_BYTES = STATUS_OK.getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] NO_ROUTE_BYTES = STATUS_NO_ROUTE.getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] INVALID_BYTES = STATUS_INVALID.getBytes(StandardCharsets.US_ASCII);
+
+	private final RouteTable table;
+	/** 各路由路径的UTF-8编码，下标与{@link #table}一致。 */
+	private final byte[][] routePaths;
+
+	private byte[] lineBytes = new byte[256];
+	private char[] lineChars = new char[256];
+	private char[] pathChars = new char[256];
+	private byte[] output;
+	private int outputLength;
+
+	LinkResolver(RouteTable table, byte[][] routePaths, int outputCapacity){
+		this.table = table;
+		this.routePaths = routePaths;
+		this.output = new byte[Math.max(outputCapacity, 256)];
+	}
+
+	/** 单个分段的解析结果。 */
+	static final class Result{
+		/** 输出内容，有效长度为{@link #outputLength}。 */
+		final byte[] output;
+		final int outputLength;
+		/** 各路由匹配的链接数量。 */
+		final long[] routeCounts;
+		final long noRouteCount;
+		final long invalidCount;
+
+		private Result(byte[] output, int outputLength, long[] routeCounts, long noRouteCount, long invalidCount){
+			this.output = output;
+			this.outputLength = outputLength;
+			this.routeCounts = routeCounts;
+			this.noRouteCount = noRouteCount;
+			this.invalidCount = invalidCount;
+		}
+	}
+
+	/**
+	 * 解析分段中的全部链接，空行将被忽略。
+	 *
+	 * @param segment 分段内容，须以完整的行结束。
+	 * @return 解析结果。
+	 */
+	Result resolve(ByteBuffer segment){
+		long[] routeCounts = new long[table.size()];
+		long noRouteCount = 0;
+		long invalidCount = 0;
+		outputLength = 0;
+		final int limit = segment.limit();
+		int lineStart = segment.position();
+		for (int i = lineStart; i <= limit; i++) {
+			if (i < limit && segment.get(i) != '\n') {
+				continue;
+			}
+			int lineEnd = i;
+			if (lineEnd > lineStart && segment.get(lineEnd - 1) == '\r') {
+				lineEnd--;
+			}
+			if (lineEnd > lineStart) {
+				int routeIndex = resolveLine(segment, lineStart, lineEnd - lineStart);
+				if (routeIndex >= 0) {
+					routeCounts[routeIndex]++;
+				}
+				else if (routeIndex == -1) {
+					noRouteCount++;
+				}
+				else {
+					invalidCount++;
+				}
+				append('\n');
+			}
+			lineStart = i + 1;
+		}
+		return new Result(output, outputLength, routeCounts, noRouteCount, invalidCount);
+	}
+
+	/**
+	 * 解析单条链接并写入结果。
+	 *
+	 * @return 匹配路由的下标；无匹配路由时返回-1；链接无路径时返回-2。
+	 */
+	private int resolveLine(ByteBuffer segment, int start, int length){
+		if (lineBytes.length < length) {
+			lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+			lineChars = new char[lineBytes.length];
+		}
+		segment.position(start);
+		segment.get(lineBytes, 0, length);
+		int charLength = decodeLine(length);
+		final char[] chars = lineChars;
+
+		// 定位路径：scheme://authority/path?query#fragment，或直接以路径开头。
+		int pathStart = 0;
+		for (int i = 0; i < charLength; i++) {
+			char c = chars[i];
+			if (c == ':') {
+				if (i + 2 < charLength && chars[i + 1] == '/' && chars[i + 2] == '/') {
+					pathStart = i + 3;
+					while (pathStart < charLength && "/?#".indexOf(chars[pathStart]) < 0) {
+						pathStart++;
+					}
+				}
+				else if (i + 1 < charLength && chars[i + 1] == '/') {
+					pathStart = i + 1;
+				}
+				else {
+					// 不透明链接（如mailto:）没有路径。
+					pathStart = -1;
+				}
+				break;
+			}
+			if (c == '/' || c == '?' || c == '#') {
+				break;
+			}
+		}
+		if (pathStart < 0) {
+			writeLine(length, INVALID_BYTES);
+			return -2;
+		}
+		int pathEnd = pathStart;
+		while (pathEnd < charLength && chars[pathEnd] != '?' && chars[pathEnd] != '#') {
+			pathEnd++;
+		}
+		int queryEnd = pathEnd;
+		if (pathEnd < charLength && chars[pathEnd] == '?') {
+			while (queryEnd < charLength && chars[queryEnd] != '#') {
+				queryEnd++;
+			}
+		}
+		int pathLength = decodePath(chars, pathStart, pathEnd);
+		CharBuffer path = (pathLength < 0)
+			? CharBuffer.wrap(chars, pathStart, pathEnd - pathStart)
+			: CharBuffer.wrap(pathChars, 0, pathLength);
+		int routeIndex = table.getRouteIndex(path);
+		if (routeIndex < 0) {
+			writeLine(length, NO_ROUTE_BYTES);
+			return -1;
+		}
+		writeLine(length, OK_BYTES);
+		append('\t');
+		append(routePaths[routeIndex], 0, routePaths[routeIndex].length);
+		append('\t');
+		if (table.isPrefix(routeIndex)) {
+			int routeLength = table.getPath(routeIndex).length();
+			appendChars(path, routeLength, path.length());
+		}
+		append('\t');
+		if (queryEnd > pathEnd + 1) {
+			appendChars(CharBuffer.wrap(chars, 0, charLength), pathEnd + 1, queryEnd);
+		}
+		return routeIndex;
+	}
+
+	/** 将行内容转换为字符，仅含ASCII字符时逐字节转换。 */
+	private int decodeLine(int length){
+		for (int i = 0; i < length; i++) {
+			if (lineBytes[i] < 0) {
+				String line = new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+				line.getChars(0, line.length(), lineChars, 0);
+				return line.length();
+			}
+			lineChars[i] = (char) lineBytes[i];
+		}
+		return length;
+	}
+
+	/**
+	 * 对路径进行百分号解码。
+	 *
+	 * @return 解码后写入{@link #pathChars}的长度；路径无需解码时返回-1。
+	 */
+	private int decodePath(char[] chars, int start, int end){
+		int percent = start;
+		while (percent < end && chars[percent] != '%') {
+			percent++;
+		}
+		if (percent == end) {
+			return -1;
+		}
+		byte[] bytes = new byte[(end - start) * 3];
+		int byteLength = 0;
+		for (int i = start; i < end; i++) {
+			char c = chars[i];
+			if (c == '%' && i + 2 < end && Character.digit(chars[i + 1], 16) >= 0
+				&& Character.digit(chars[i + 2], 16) >= 0) {
+				bytes[byteLength++] = (byte) ((Character.digit(chars[i + 1], 16) << 4)
+					| Character.digit(chars[i + 2], 16));
+				i += 2;
+			}
+			else if (c < 0x80) {
+				bytes[byteLength++] = (byte) c;
+			}
+			else {
+				byte[] encoded = String.valueOf(c).getBytes(StandardCharsets.UTF_8);
+				System.arraycopy(encoded, 0, bytes, byteLength, encoded.length);
+				byteLength += encoded.length;
+			}
+		}
+		String decoded = new String(bytes, 0, byteLength, StandardCharsets.UTF_8);
+		if (pathChars.length < decoded.length()) {
+			pathChars = new char[Math.max(decoded.length(), pathChars.length * 2)];
+		}
+		decoded.getChars(0, decoded.length(), pathChars, 0);
+		return decoded.length();
+	}
+
+	private void writeLine(int length, byte[] status){
+		append(lineBytes, 0, length);
+		append('\t');
+		append(status, 0, status.length);
+	}
+
+	private void appendChars(CharSequence chars, int start, int end){
+		for (int i = start; i < end; i++) {
+			if (chars.charAt(i) >= 0x80) {
+				byte[] encoded = chars.subSequence(start, end).toString().getBytes(StandardCharsets.UTF_8);
+				append(encoded, 0, encoded.length);
+				return;
+			}
+		}
+		ensureCapacity(end - start);
+		for (int i = start; i < end; i++) {
+			output[outputLength++] = (byte) chars.charAt(i);
+		}
+	}
+
+	private void append(byte[] bytes, int start, int length){
+		ensureCapacity(length);
+		System.arraycopy(bytes, start, output, outputLength, length);
+		outputLength += length;
+	}
+
+	private void append(char asciiChar){
+		ensureCapacity(1);
+		output[outputLength++] = (byte) asciiChar;
+	}
+
+	private void ensureCapacity(int extra){
+		if (outputLength + extra > output.length) {
+			output = Arrays.copyOf(output, Math.max(outputLength + extra, output.length * 2));
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package pers.u8f23.telepath.cli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+import pers.u8f23.telepath.runtime.PatternCompiler;
+import pers.u8f23.telepath.runtime.PatternMatcher;
+import pers.u8f23.telepath.runtime.RouteTable;
+
+/**
+ * 注解处理器输出的导航接口清单（<code>nav_manifest.txt</code>）。
+ * <p>
+ * 清单首行为生成时间，次行为表头，其后每行依次为路径、是否前缀匹配（模式路由为<code>pattern</code>）、说明与跳转方法，
+ * 以“,\t”分隔。
+ *
+ * @author 8f23
+ * @create 2026/10/19-10:50
+ */
+final class NavManifest{
+	private static final String SEPARATOR = ",\t";
+	private static final int HEADER_LINES = 2;
+	private static final String PATTERN = "pattern";
+
+	private final RouteTable table;
+	/** 各路由的说明，下标与{@link #table}一致。 */
+	private final String[] descriptions;
+
+	private NavManifest(RouteTable table, String[] descriptions){
+		this.table = table;
+		this.descriptions = descriptions;
+	}
+
+	/**
+	 * 读取清单文件。
+	 *
+	 * @param file 清单文件。
+	 * @return 清单。
+	 */
+	static NavManifest load(Path file) throws IOException{
+		// 路由表要求普通路由按字典序排列，模式路由排列在其后。
+		Map<String, String[]> rows = new TreeMap<>();
+		Map<String, String[]> patternRows = new TreeMap<>();
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			int lineNumber = 0;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				if (lineNumber <= HEADER_LINES || line.isEmpty()) {
+					continue;
+				}
+				String[] columns = line.split(SEPARATOR, 4);
+				if (columns.length < 3) {
+					throw new IOException(file + ":" + lineNumber + ": malformed manifest line.");
+				}
+				(PATTERN.equals(columns[1]) ? patternRows : rows).put(columns[0], columns);
+			}
+		}
+		final int routeCount = rows.size() + patternRows.size();
+		String[] paths = new String[routeCount];
+		byte[] flags = new byte[routeCount];
+		String[] descriptions = new String[routeCount];
+		String[] patterns = new String[patternRows.size()];
+		int index = 0;
+		for (String[] columns : rows.values()) {
+			paths[index] = columns[0];
+			flags[index] = (byte) (Boolean.parseBoolean(columns[1]) ? RouteTable.FLAG_PREFIX : 0);
+			descriptions[index] = columns[2];
+			index++;
+		}
+		for (String[] columns : patternRows.values()) {
+			patterns[index - rows.size()] = columns[0];
+			paths[index] = columns[0];
+			flags[index] = RouteTable.FLAG_PATTERN;
+			descriptions[index] = columns[2];
+			index++;
+		}
+		final PatternMatcher matcher;
+		try {
+			matcher = PatternCompiler.compile(patterns, rows.size());
+		}
+		catch (IllegalArgumentException e) {
+			throw new IOException(file + ": " + e.getMessage(), e);
+		}
+		return new NavManifest(RouteTable.of(paths, flags, matcher), descriptions);
+	}
+
+	RouteTable getTable(){
+		return table;
+	}
+
+	String getDescription(int routeIndex){
+		return descriptions[routeIndex];
+	}
+}
@@ -0,0 +1,123 @@
+package pers.u8f23.telepath.runtime;
+
+import java.io.IOException;
+
+/**
+ * 链接构造方法使用的写入工具，直接向目标写入字符，不创建中间字符串。
+ *
+ * @author 8f23
+ * @create 2026/10/19-11:20
+ */
+public final class LinkWriter{
+	private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+	private LinkWriter(){
+	}
+
+	/**
+	 * 写入十进制整数。
+	 *
+	 * @param out   写入目标。
+	 * @param value 整数。
+	 */
+	public static void appendDecimal(Appendable out, long value) throws IOException{
+		if (value < 0) {
+			out.append('-');
+		}
+		else {
+			// 统一按负数处理，以兼容Long.MIN_VALUE。
+			value = -value;
+		}
+		long divisor = 1;
+		while (value / divisor <= -10) {
+			divisor *= 10;
+		}
+		while (divisor > 0) {
+			long digit = -(value / divisor);
+			out.append((char) ('0' + digit));
+			value += digit * divisor;
+			divisor /= 10;
+		}
+	}
+
+	/**
+	 * 以百分号编码写入查询参数取值，仅保留非保留字符（字母、数字与<code>-._~</code>）。
+	 *
+	 * @param out   写入目标。
+	 * @param value 参数取值。
+	 */
+	public static void appendEncoded(Appendable out, CharSequence value) throws IOException{
+		appendEncoded(out, value, false);
+	}
+
+	/**
+	 * 以百分号编码写入路径，保留<code>/</code>与非保留字符。
+	 *
+	 * @param out  写入目标。
+	 * @param path 路径。
+	 */
+	public static void appendPath(Appendable out, CharSequence path) throws IOException{
+		appendEncoded(out, path, true);
+	}
+
+	/** 同{@link #appendEncoded(Appendable, CharSequence)}，写入{@link StringBuilder}时不会抛出异常。 */
+	public static void appendEncoded(StringBuilder out, CharSequence value){
+		try {
+			appendEncoded(out, value, false);
+		}
+		catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/** 同{@link #appendPath(Appendable, CharSequence)}，写入{@link StringBuilder}时不会抛出异常。 */
+	public static void appendPath(StringBuilder out, CharSequence path){
+		try {
+			appendEncoded(out, path, true);
+		}
+		catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private static void appendEncoded(Appendable out, CharSequence value, boolean keepSlash) throws IOException{
+		final int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+				|| c == '-' || c == '.' || c == '_' || c == '~' || (keepSlash && c == '/')) {
+				out.append(c);
+			}
+			else if (c < 0x80) {
+				appendByte(out, c);
+			}
+			else if (c < 0x800) {
+				appendByte(out, 0xC0 | (c >> 6));
+				appendByte(out, 0x80 | (c & 0x3F));
+			}
+			else if (Character.isHighSurrogate(c) && i + 1 < length
+				&& Character.isLowSurrogate(value.charAt(i + 1))) {
+				int codePoint = Character.toCodePoint(c, value.charAt(++i));
+				appendByte(out, 0xF0 | (codePoint >> 18));
+				appendByte(out, 0x80 | ((codePoint >> 12) & 0x3F));
+				appendByte(out, 0x80 | ((codePoint >> 6) & 0x3F));
+				appendByte(out, 0x80 | (codePoint & 0x3F));
+			}
+			else if (Character.isSurrogate(c)) {
+				// 不成对的代理字符按U+FFFD写入，与String#getBytes一致。
+				appendByte(out, 0xEF);
+				appendByte(out, 0xBF);
+				appendByte(out, 0xBD);
+			}
+			else {
+				appendByte(out, 0xE0 | (c >> 12));
+				appendByte(out, 0x80 | ((c >> 6) & 0x3F));
+				appendByte(out, 0x80 | (c & 0x3F));
+			}
+		}
+	}
+
+	private static void appendByte(Appendable out, int value) throws IOException{
+		out.append('%').append(HEX_DIGITS[(value >> 4) & 0xF]).append(HEX_DIGITS[value & 0xF]);
+	}
+}
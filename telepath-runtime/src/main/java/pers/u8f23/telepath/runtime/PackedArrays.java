@@ -0,0 +1,111 @@
+package pers.u8f23.telepath.runtime;
+
+/**
+ * 紧凑路由表的编码格式：基本类型数组被编码为若干字符串常量，使用时再解码。
+ * <p>
+ * 编码为字符串常量可以规避数组字面量导致的类初始化方法超出64KB字节码上限的问题。
+ * 编码由注解处理器在编译期完成，解码在生成类初始化时完成。
+ *
+ * @author 8f23
+ * @create 2026/10/19-10:10
+ * @see RouteTable
+ */
+public final class PackedArrays{
+	/** 单个字符串常量的最大长度。常量池中每个字符至多占用3字节，须保证不超过65535字节。 */
+	public static final int CHUNK_LENGTH = 16383;
+
+	private PackedArrays(){
+	}
+
+	/**
+	 * 将字符序列拆分为若干字符串常量。
+	 *
+	 * @param data 数组内容。
+	 * @return 各段字符串。
+	 */
+	public static String[] packChars(CharSequence data){
+		String[] chunks = new String[(data.length() + CHUNK_LENGTH - 1) / CHUNK_LENGTH];
+		for (int i = 0; i < chunks.length; i++) {
+			int start = i * CHUNK_LENGTH;
+			chunks[i] = data.subSequence(start, Math.min(start + CHUNK_LENGTH, data.length())).toString();
+		}
+		return chunks;
+	}
+
+	/**
+	 * 编码<code>int</code>数组，每个<code>int</code>编码为两个字符。
+	 *
+	 * @param data 数组内容。
+	 * @return 各段字符串。
+	 */
+	public static String[] packInts(int[] data){
+		StringBuilder builder = new StringBuilder(data.length * 2);
+		for (int value : data) {
+			builder.append((char) (value >>> 16)).append((char) value);
+		}
+		return packChars(builder);
+	}
+
+	/**
+	 * 编码<code>byte</code>数组，每个<code>byte</code>编码为一个字符。
+	 *
+	 * @param data 数组内容。
+	 * @return 各段字符串。
+	 */
+	public static String[] packBytes(byte[] data){
+		StringBuilder builder = new StringBuilder(data.length);
+		for (byte value : data) {
+			builder.append((char) (value & 0xFF));
+		}
+		return packChars(builder);
+	}
+
+	/**
+	 * 将分段的字符串常量解码为字符数组。
+	 *
+	 * @param chunks 各段字符串。
+	 * @param length 数组长度。
+	 * @return 字符数组。
+	 */
+	public static char[] unpackChars(String[] chunks, int length){
+		final char[] result = new char[length];
+		int position = 0;
+		for (String chunk : chunks) {
+			chunk.getChars(0, chunk.length(), result, position);
+			position += chunk.length();
+		}
+		return result;
+	}
+
+	/**
+	 * 将分段的字符串常量解码为整数数组，每个整数由两个字符组成。
+	 *
+	 * @param chunks 各段字符串。
+	 * @param length 数组长度。
+	 * @return 整数数组。
+	 */
+	public static int[] unpackInts(String[] chunks, int length){
+		final char[] chars = unpackChars(chunks, length * 2);
+		final int[] result = new int[length];
+		for (int i = 0; i < length; i++) {
+			result[i] = (chars[i * 2] << 16) | chars[i * 2 + 1];
+		}
+		return result;
+	}
+
+	/**
+	 * 将分段的字符串常量解码为字节数组。
+	 *
+	 * @param chunks 各段字符串。
+	 * @param length 数组长度。
+	 * @return 字节数组。
+	 */
+	public static byte[] unpackBytes(String[] chunks, int length){
+		final char[] chars = unpackChars(chunks, length);
+		final byte[] result = new byte[length];
+		for (int i = 0; i < length; i++) {
+			result[i] = (byte) chars[i];
+		}
+		return result;
+	}
+}
@@ -0,0 +1,336 @@
+package pers.u8f23.telepath.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 将模式路由合并编译为一个{@link PatternMatcher}，供注解处理器在编译期使用。
+ * <p>
+ * 模式语法：
+ * <ul>
+ *     <li><code>*</code>：同一路径段内的任意字符（不含<code>/</code>），可为空；</li>
+ *     <li><code>**</code>：任意字符，可跨越路径段，可为空；</li>
+ *     <li><code>?</code>：同一路径段内的单个字符；</li>
+ *     <li><code>[a-z]</code>、<code>[^/]</code>：字符类，其后可附加量词<code>+</code>、<code>*</code>或<code>?</code>；</li>
+ *     <li><code>\</code>：转义下一个字符；</li>
+ *     <li>其余字符按原样匹配，不支持分组与选择。</li>
+ * </ul>
+ * 如<code>/article/*&#47;comments</code>、<code>/tag/[a-z]+</code>。
+ *
+ * @author 8f23
+ * @create 2026/10/19-12:50
+ */
+public final class PatternCompiler{
+	/** 自动机状态数量上限，超出时视为模式过于复杂。 */
+	private static final int MAX_STATES = 1 << 16;
+	private static final int MAX_CHAR = Character.MAX_VALUE;
+	private static final int[] ANY = {0, MAX_CHAR};
+	private static final int[] NOT_SLASH = {0, '/' - 1, '/' + 1, MAX_CHAR};
+
+	private static final int ONE = 0;
+	private static final int STAR = 1;
+	private static final int OPTIONAL = 2;
+
+	private PatternCompiler(){
+	}
+
+	/** 模式中的单个匹配项：字符集合与量词。 */
+	private static final class Item{
+		/** 字符区间，依次为各区间的首尾字符（含）。 */
+		final int[] ranges;
+		final int quantifier;
+
+		Item(int[] ranges, int quantifier){
+			this.ranges = ranges;
+			this.quantifier = quantifier;
+		}
+
+		boolean contains(int c){
+			for (int i = 0; i < ranges.length; i += 2) {
+				if (ranges[i] <= c && c <= ranges[i + 1]) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * 检查模式语法。
+	 *
+	 * @param pattern 模式。
+	 * @throws IllegalArgumentException 模式不合法。
+	 */
+	public static void validate(String pattern){
+		parse(pattern);
+	}
+
+	/**
+	 * 将多个模式合并编译为一个自动机。
+	 *
+	 * @param patterns        各模式，依次对应路由下标<code>firstRouteIndex</code>起的各路由。
+	 * @param firstRouteIndex 首个模式的路由下标。
+	 * @return 自动机；模式为空时返回null。
+	 * @throws IllegalArgumentException 模式不合法、两个模式可匹配同一路径或自动机过于复杂。
+	 */
+	public static PatternMatcher compile(String[] patterns, int firstRouteIndex){
+		if (patterns.length == 0) {
+			return null;
+		}
+		final Item[][] items = new Item[patterns.length][];
+		// 非确定自动机的状态编号：第r个模式的第i个位置为offsets[r] + i。
+		final int[] offsets = new int[patterns.length + 1];
+		TreeSet<Integer> boundaries = new TreeSet<>();
+		boundaries.add(0);
+		for (int r = 0; r < patterns.length; r++) {
+			items[r] = parse(patterns[r]);
+			offsets[r + 1] = offsets[r] + items[r].length + 1;
+			for (Item item : items[r]) {
+				for (int i = 0; i < item.ranges.length; i += 2) {
+					boundaries.add(item.ranges[i]);
+					if (item.ranges[i + 1] < MAX_CHAR) {
+						boundaries.add(item.ranges[i + 1] + 1);
+					}
+				}
+			}
+		}
+		final char[] classStarts = new char[boundaries.size()];
+		int classIndex = 0;
+		for (int boundary : boundaries) {
+			classStarts[classIndex++] = (char) boundary;
+		}
+		final int classCount = classStarts.length;
+
+		// 子集构造。
+		final Map<String, Integer> stateIds = new HashMap<>();
+		final List<int[]> states = new ArrayList<>();
+		TreeSet<Integer> start = new TreeSet<>();
+		for (int r = 0; r < patterns.length; r++) {
+			addClosure(start, items, offsets, r, 0);
+		}
+		addState(start, stateIds, states);
+		List<int[]> transitionRows = new ArrayList<>();
+		for (int s = 0; s < states.size(); s++) {
+			final int[] current = states.get(s);
+			final int[] row = new int[classCount];
+			for (int c = 0; c < classCount; c++) {
+				TreeSet<Integer> next = new TreeSet<>();
+				for (int nfaState : current) {
+					int r = routeOf(offsets, nfaState);
+					int position = nfaState - offsets[r];
+					if (position == items[r].length) {
+						continue;
+					}
+					Item item = items[r][position];
+					if (!item.contains(classStarts[c])) {
+						continue;
+					}
+					addClosure(next, items, offsets, r, (item.quantifier == STAR) ? position : position + 1);
+				}
+				row[c] = next.isEmpty() ? -1 : addState(next, stateIds, states);
+				if (states.size() > MAX_STATES) {
+					throw new IllegalArgumentException("Patterns are too complex to compile.");
+				}
+			}
+			transitionRows.add(row);
+		}
+		final int[] transitions = new int[states.size() * classCount];
+		final int[] accepts = new int[states.size()];
+		for (int s = 0; s < states.size(); s++) {
+			System.arraycopy(transitionRows.get(s), 0, transitions, s * classCount, classCount);
+			accepts[s] = -1;
+			for (int nfaState : states.get(s)) {
+				int r = routeOf(offsets, nfaState);
+				if (nfaState - offsets[r] != items[r].length) {
+					continue;
+				}
+				if (accepts[s] >= 0) {
+					throw new IllegalArgumentException("Patterns " + patterns[accepts[s] - firstRouteIndex] +
+						" and " + patterns[r] + " can match the same path.");
+				}
+				accepts[s] = firstRouteIndex + r;
+			}
+		}
+		return new PatternMatcher(classStarts, transitions, accepts);
+	}
+
+	/** 加入位置及其可跳过的后续位置。 */
+	private static void addClosure(TreeSet<Integer> set, Item[][] items, int[] offsets, int r, int position){
+		set.add(offsets[r] + position);
+		while (position < items[r].length && items[r][position].quantifier != ONE) {
+			position++;
+			set.add(offsets[r] + position);
+		}
+	}
+
+	private static int addState(TreeSet<Integer> set, Map<String, Integer> stateIds, List<int[]> states){
+		int[] state = new int[set.size()];
+		int i = 0;
+		for (int nfaState : set) {
+			state[i++] = nfaState;
+		}
+		String key = Arrays.toString(state);
+		Integer id = stateIds.get(key);
+		if (id == null) {
+			id = states.size();
+			stateIds.put(key, id);
+			states.add(state);
+		}
+		return id;
+	}
+
+	private static int routeOf(int[] offsets, int nfaState){
+		int r = Arrays.binarySearch(offsets, nfaState);
+		return (r >= 0) ? r : -r - 2;
+	}
+
+	private static Item[] parse(String pattern){
+		List<Item> items = new ArrayList<>();
+		int i = 0;
+		while (i < pattern.length()) {
+			char c = pattern.charAt(i);
+			switch (c) {
+				case '*':
+					if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '*') {
+						items.add(new Item(ANY, STAR));
+						i += 2;
+					}
+					else {
+						items.add(new Item(NOT_SLASH, STAR));
+						i++;
+					}
+					break;
+				case '?':
+					items.add(new Item(NOT_SLASH, ONE));
+					i++;
+					break;
+				case '[': {
+					int end = parseClassEnd(pattern, i);
+					int[] ranges = parseClass(pattern, i + 1, end);
+					i = end + 1;
+					char quantifier = (i < pattern.length()) ? pattern.charAt(i) : 0;
+					if (quantifier == '+') {
+						items.add(new Item(ranges, ONE));
+						items.add(new Item(ranges, STAR));
+						i++;
+					}
+					else if (quantifier == '*') {
+						items.add(new Item(ranges, STAR));
+						i++;
+					}
+					else if (quantifier == '?') {
+						items.add(new Item(ranges, OPTIONAL));
+						i++;
+					}
+					else {
+						items.add(new Item(ranges, ONE));
+					}
+					break;
+				}
+				case '\\':
+					if (i + 1 >= pattern.length()) {
+						throw new IllegalArgumentException("Dangling escape in pattern " + pattern);
+					}
+					items.add(literal(pattern.charAt(i + 1)));
+					i += 2;
+					break;
+				case '+':
+				case ']':
+				case '(':
+				case ')':
+				case '|':
+				case '{':
+				case '}':
+					throw new IllegalArgumentException("Unsupported character '" + c + "' at " + i + " in pattern " +
+						pattern + ", escape it with '\\'.");
+				default:
+					items.add(literal(c));
+					i++;
+					break;
+			}
+		}
+		return items.toArray(new Item[0]);
+	}
+
+	private static Item literal(char c){
+		return new Item(new int[]{c, c}, ONE);
+	}
+
+	private static int parseClassEnd(String pattern, int start){
+		for (int i = start + 1; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '\\') {
+				i++;
+			}
+			else if (c == ']' && i > start + 1 && !(i == start + 2 && pattern.charAt(start + 1) == '^')) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Unclosed character class in pattern " + pattern);
+	}
+
+	/** 解析字符类内容，返回合并后的升序区间。 */
+	private static int[] parseClass(String pattern, int start, int end){
+		boolean negated = pattern.charAt(start) == '^';
+		int i = negated ? start + 1 : start;
+		List<int[]> ranges = new ArrayList<>();
+		while (i < end) {
+			int low = pattern.charAt(i);
+			if (low == '\\') {
+				low = pattern.charAt(++i);
+			}
+			i++;
+			int high = low;
+			if (i + 1 < end && pattern.charAt(i) == '-') {
+				high = pattern.charAt(i + 1);
+				if (high == '\\' && i + 2 < end) {
+					high = pattern.charAt(i + 2);
+					i++;
+				}
+				i += 2;
+				if (high < low) {
+					throw new IllegalArgumentException("Illegal range in pattern " + pattern);
+				}
+			}
+			ranges.add(new int[]{low, high});
+		}
+		ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+		List<int[]> merged = new ArrayList<>();
+		for (int[] range : ranges) {
+			int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+			if (last != null && range[0] <= last[1] + 1) {
+				last[1] = Math.max(last[1], range[1]);
+			}
+			else {
+				merged.add(range.clone());
+			}
+		}
+		if (negated) {
+			List<int[]> complement = new ArrayList<>();
+			int next = 0;
+			for (int[] range : merged) {
+				if (range[0] > next) {
+					complement.add(new int[]{next, range[0] - 1});
+				}
+				next = range[1] + 1;
+			}
+			if (next <= MAX_CHAR) {
+				complement.add(new int[]{next, MAX_CHAR});
+			}
+			merged = complement;
+		}
+		if (merged.isEmpty()) {
+			throw new IllegalArgumentException("Empty character class in pattern " + pattern);
+		}
+		int[] result = new int[merged.size() * 2];
+		for (int j = 0; j < merged.size(); j++) {
+			result[j * 2] = merged.get(j)[0];
+			result[j * 2 + 1] = merged.get(j)[1];
+		}
+		return result;
+	}
+}
@@ -0,0 +1,90 @@
+package pers.u8f23.telepath.runtime;
+
+/**
+ * 模式路由的确定有限自动机，由{@link PatternCompiler}在编译期构建，匹配耗时与路径长度成正比，与模式数量无关。
+ * <p>
+ * 字符按区间划分为若干字符类，各状态对各字符类的转移存放于同一整数数组中；状态0为初始状态。
+ *
+ * @author 8f23
+ * @create 2026/10/19-12:50
+ * @see PatternCompiler
+ */
+public final class PatternMatcher{
+	private static final int ASCII_SIZE = 128;
+
+	/** 各字符类的起始字符，升序排列，首项为0。 */
+	private final char[] classStarts;
+	/** 状态转移表，第<code>s</code>个状态占用<code>[s * 字符类数量, (s + 1) * 字符类数量)</code>，-1表示无法匹配。 */
+	private final int[] transitions;
+	/** 各状态接受的路由下标，-1表示非接受状态。 */
+	private final int[] accepts;
+	/** ASCII字符对应的字符类，避免对常见字符二分查找。 */
+	private final int[] asciiClasses = new int[ASCII_SIZE];
+
+	/**
+	 * @param classStarts 各字符类的起始字符。
+	 * @param transitions 状态转移表。
+	 * @param accepts     各状态接受的路由下标。
+	 */
+	public PatternMatcher(char[] classStarts, int[] transitions, int[] accepts){
+		if (classStarts.length == 0 || classStarts[0] != 0
+			|| transitions.length != accepts.length * classStarts.length) {
+			throw new IllegalArgumentException("Malformed pattern automaton.");
+		}
+		this.classStarts = classStarts;
+		this.transitions = transitions;
+		this.accepts = accepts;
+		for (char c = 0; c < ASCII_SIZE; c++) {
+			asciiClasses[c] = classOf(c);
+		}
+	}
+
+	/**
+	 * 匹配路径。
+	 *
+	 * @param path 输入路径。
+	 * @return 匹配路由的下标；无匹配结果时返回-1。
+	 */
+	public int match(CharSequence path){
+		final int classCount = classStarts.length;
+		int state = 0;
+		for (int i = 0; i < path.length(); i++) {
+			final char c = path.charAt(i);
+			state = transitions[state * classCount + ((c < ASCII_SIZE) ? asciiClasses[c] : classOf(c))];
+			if (state < 0) {
+				return -1;
+			}
+		}
+		return accepts[state];
+	}
+
+	private int classOf(char c){
+		int low = 0;
+		int high = classStarts.length - 1;
+		while (low < high) {
+			final int middle = (low + high + 1) >>> 1;
+			if (classStarts[middle] <= c) {
+				low = middle;
+			}
+			else {
+				high = middle - 1;
+			}
+		}
+		return low;
+	}
+
+	/** @return 各字符类的起始字符，供注解处理器生成代码使用，请勿修改。 */
+	public char[] getClassStarts(){
+		return classStarts;
+	}
+
+	/** @return 状态转移表，供注解处理器生成代码使用，请勿修改。 */
+	public int[] getTransitions(){
+		return transitions;
+	}
+
+	/** @return 各状态接受的路由下标，供注解处理器生成代码使用，请勿修改。 */
+	public int[] getAccepts(){
+		return accepts;
+	}
+}
@@ -0,0 +1,83 @@
+package pers.u8f23.telepath.runtime;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 合并短时间内对同一路由、同一路径的重复跳转。时间由调用方提供，不依赖Android。
+ *
+ * @author 8f23
+ * @create 2026/10/19-10:10
+ */
+public final class RouteCoalescer{
+	/** 各路由最近一次执行的跳转，未执行过时为null。 */
+	private final AtomicReferenceArray<Perform> lastPerform;
+	/** 合并时间窗口，单位为毫秒。 */
+	private volatile long windowMillis;
+
+	/**
+	 * @param routeCount   路由下标数量。
+	 * @param windowMillis 合并时间窗口，单位为毫秒；不大于0时不合并。
+	 */
+	public RouteCoalescer(int routeCount, long windowMillis){
+		this.lastPerform = new AtomicReferenceArray<>(routeCount);
+		this.windowMillis = windowMillis;
+	}
+
+	/**
+	 * 设置合并时间窗口。
+	 *
+	 * @param windowMillis 时间窗口，单位为毫秒；不大于0时不合并。
+	 */
+	public void setWindow(long windowMillis){
+		this.windowMillis = windowMillis;
+	}
+
+	/**
+	 * @return 合并时间窗口，单位为毫秒；不大于0时不合并。
+	 */
+	public long getWindow(){
+		return windowMillis;
+	}
+
+	/**
+	 * 判断本次跳转是否为时间窗口内的重复跳转，否则记录本次跳转。
+	 *
+	 * @param routeIndex 路由下标。
+	 * @param path       跳转路径；不透明的URI（如{@code telepath:foo}）没有路径，此时为null。
+	 * @param now        当前时间戳，单位为毫秒，须单调递增。
+	 * @return 为重复跳转时返回true。
+	 */
+	public boolean isDuplicate(int routeIndex, String path, long now){
+		final long window = windowMillis;
+		if (window <= 0) {
+			return false;
+		}
+		Perform current = null;
+		while (true) {
+			final Perform last = lastPerform.get(routeIndex);
+			if (last != null && now - last.time < window && Objects.equals(last.path, path)) {
+				return true;
+			}
+			// 仅在需要记录时创建，重复跳转不产生分配。
+			if (current == null) {
+				current = new Perform(now, path);
+			}
+			if (lastPerform.compareAndSet(routeIndex, last, current)) {
+				return false;
+			}
+			// 其他调用已抢先记录了同一路由的跳转，重新比较。
+		}
+	}
+
+	/** 一次跳转的时间与路径，记录后不再修改。 */
+	private static final class Perform{
+		final long time;
+		final String path;
+
+		Perform(long time, String path){
+			this.time = time;
+			this.path = path;
+		}
+	}
+}
@@ -0,0 +1,317 @@
+package pers.u8f23.telepath.runtime;
+
+/**
+ * 路由表，提供路径匹配与按路由id查找。不依赖Android，可在任意JVM环境中使用。
+ * <p>
+ * 各路由路径按字典序首尾相接存放于同一字符数组中，查找时只访问基本类型数组，不为每条路由创建对象。
+ * 路由在表中的下标即生成代码中的路由下标。
+ * <p>
+ * 模式路由（见{@link PatternCompiler}）排列在全部普通路由之后，由{@link PatternMatcher}匹配，
+ * 仅在没有匹配的普通路由时生效。
+ *
+ * @author 8f23
+ * @create 2026/10/19-10:10
+ */
+public final class RouteTable{
+	/** 路由标记：前缀模糊匹配。 */
+	public static final int FLAG_PREFIX = 1;
+	/** 路由标记：模式匹配。 */
+	public static final int FLAG_PATTERN = 2;
+
+	private final char[] paths;
+	private final int[] offsets;
+	private final byte[] flags;
+	/** 普通路由的数量，其后均为模式路由。 */
+	private final int literalCount;
+	/** 模式路由的自动机，无模式路由时为null。 */
+	private final PatternMatcher patterns;
+	/** 各普通路由之前、路径为其前缀的最长前缀路由下标，-1表示不存在。 */
+	private final int[] enclosingPrefixes;
+	/** 路由id开放寻址表，0表示空位。 */
+	private final int[] idTable;
+	/** 与{@link #idTable}对应位置的路由下标。 */
+	private final int[] indexTable;
+
+	/**
+	 * @param paths   按字典序排列的各路由路径，首尾相接。
+	 * @param offsets 各路由路径在<code>paths</code>中的起始位置，末项为总长度。
+	 * @param flags   各路由的标记。
+	 */
+	public RouteTable(char[] paths, int[] offsets, byte[] flags){
+		this(paths, offsets, flags, null);
+	}
+
+	/**
+	 * @param paths    各路由路径，首尾相接。普通路由按字典序排列，模式路由排列在其后。
+	 * @param offsets  各路由路径在<code>paths</code>中的起始位置，末项为总长度。
+	 * @param flags    各路由的标记。
+	 * @param patterns 模式路由的自动机，无模式路由时为null。
+	 */
+	public RouteTable(char[] paths, int[] offsets, byte[] flags, PatternMatcher patterns){
+		if (offsets.length != flags.length + 1) {
+			throw new IllegalArgumentException("offsets.length should be flags.length + 1");
+		}
+		this.paths = paths;
+		this.offsets = offsets;
+		this.flags = flags;
+		int literalCount = 0;
+		while (literalCount < flags.length && (flags[literalCount] & FLAG_PATTERN) == 0) {
+			literalCount++;
+		}
+		for (int i = literalCount; i < flags.length; i++) {
+			if ((flags[i] & FLAG_PATTERN) == 0) {
+				throw new IllegalArgumentException("pattern routes should be placed after literal routes");
+			}
+		}
+		if (literalCount < flags.length && patterns == null) {
+			throw new IllegalArgumentException("patterns should be set for pattern routes");
+		}
+		this.literalCount = literalCount;
+		this.patterns = patterns;
+		this.enclosingPrefixes = new int[literalCount];
+		// 按字典序遍历，栈中保存路径逐个嵌套的前缀路由。
+		int[] stack = new int[literalCount];
+		int stackSize = 0;
+		for (int i = 0; i < literalCount; i++) {
+			while (stackSize > 0 && !isRoutePrefixOfRoute(stack[stackSize - 1], i)) {
+				stackSize--;
+			}
+			enclosingPrefixes[i] = (stackSize > 0) ? stack[stackSize - 1] : -1;
+			if ((flags[i] & FLAG_PREFIX) != 0) {
+				stack[stackSize++] = i;
+			}
+		}
+		int tableSize = 1;
+		while (tableSize < flags.length * 2) {
+			tableSize <<= 1;
+		}
+		idTable = new int[tableSize];
+		indexTable = new int[tableSize];
+		for (int i = 0; i < flags.length; i++) {
+			int routeId = routeIdOf(paths, offsets[i], offsets[i + 1]);
+			int slot = routeId & (tableSize - 1);
+			while (idTable[slot] != 0) {
+				slot = (slot + 1) & (tableSize - 1);
+			}
+			idTable[slot] = routeId;
+			indexTable[slot] = i;
+		}
+	}
+
+	/**
+	 * 由路径列表构建路由表。
+	 *
+	 * @param paths    按字典序排列的各路由路径。
+	 * @param prefixes 各路由是否使用前缀模糊匹配。
+	 * @return 路由表。
+	 */
+	public static RouteTable of(String[] paths, boolean[] prefixes){
+		byte[] flags = new byte[paths.length];
+		for (int i = 0; i < paths.length; i++) {
+			flags[i] = (byte) (prefixes[i] ? FLAG_PREFIX : 0);
+		}
+		return of(paths, flags, null);
+	}
+
+	/**
+	 * 由路径列表构建路由表。
+	 *
+	 * @param paths    各路由路径，普通路由按字典序排列，模式路由排列在其后。
+	 * @param flags    各路由的标记。
+	 * @param patterns 模式路由的自动机，无模式路由时为null。
+	 * @return 路由表。
+	 */
+	public static RouteTable of(String[] paths, byte[] flags, PatternMatcher patterns){
+		StringBuilder builder = new StringBuilder();
+		int[] offsets = new int[paths.length + 1];
+		for (int i = 0; i < paths.length; i++) {
+			offsets[i] = builder.length();
+			builder.append(paths[i]);
+		}
+		offsets[paths.length] = builder.length();
+		char[] chars = new char[builder.length()];
+		builder.getChars(0, chars.length, chars, 0);
+		return new RouteTable(chars, offsets, flags, patterns);
+	}
+
+	/**
+	 * 计算路由id。路由id仅由路径计算得到（FNV-1a），路径不变时在不同版本间保持稳定，且不为0。
+	 *
+	 * @param path 路由路径。
+	 * @return 路由id。
+	 */
+	public static int routeIdOf(CharSequence path){
+		int hash = 0x811c9dc5;
+		for (int i = 0; i < path.length(); i++) {
+			hash ^= path.charAt(i);
+			hash *= 0x01000193;
+		}
+		return (hash == 0) ? 1 : hash;
+	}
+
+	private static int routeIdOf(char[] chars, int start, int end){
+		int hash = 0x811c9dc5;
+		for (int i = start; i < end; i++) {
+			hash ^= chars[i];
+			hash *= 0x01000193;
+		}
+		return (hash == 0) ? 1 : hash;
+	}
+
+	/** @return 路由数量。 */
+	public int size(){
+		return flags.length;
+	}
+
+	/**
+	 * @param routeIndex 路由下标。
+	 * @return 路由路径。
+	 */
+	public String getPath(int routeIndex){
+		return new String(paths, offsets[routeIndex], offsets[routeIndex + 1] - offsets[routeIndex]);
+	}
+
+	/**
+	 * @param routeIndex 路由下标。
+	 * @return 是否使用前缀模糊匹配。
+	 */
+	public boolean isPrefix(int routeIndex){
+		return (flags[routeIndex] & FLAG_PREFIX) != 0;
+	}
+
+	/**
+	 * @param routeIndex 路由下标。
+	 * @return 是否为模式路由。
+	 */
+	public boolean isPattern(int routeIndex){
+		return (flags[routeIndex] & FLAG_PATTERN) != 0;
+	}
+
+	/**
+	 * 搜索匹配的路由。完全匹配的路由优先，其次为路径最长的前缀路由，最后为模式路由。
+	 *
+	 * @param path 输入路径。
+	 * @return 匹配路由的下标；无匹配结果时返回-1。
+	 */
+	public int getRouteIndex(CharSequence path){
+		final int routeIndex = getLiteralRouteIndex(path);
+		if (routeIndex < 0 && patterns != null) {
+			return patterns.match(path);
+		}
+		return routeIndex;
+	}
+
+	/** 在普通路由中搜索匹配的路由。 */
+	private int getLiteralRouteIndex(CharSequence path){
+		int low = 0;
+		int high = literalCount - 1;
+		while (low <= high) {
+			final int middle = (low + high) >>> 1;
+			final int result = compareRoute(middle, path);
+			if (result < 0) {
+				low = middle + 1;
+			}
+			else if (result > 0) {
+				high = middle - 1;
+			}
+			else {
+				// 直接找到匹配结果。
+				return middle;
+			}
+		}
+		// 路径为输入路径前缀的路由均为前驱结果的前缀，沿前驱结果的嵌套前缀路由由长至短查找。
+		int candidate = low - 1;
+		if (candidate >= 0 && !isPrefix(candidate)) {
+			candidate = enclosingPrefixes[candidate];
+		}
+		while (candidate >= 0 && !isRoutePrefixOf(candidate, path)) {
+			candidate = enclosingPrefixes[candidate];
+		}
+		return candidate;
+	}
+
+	/**
+	 * 按路由id搜索路由，并校验路径仍与该路由匹配，防止应用更新后沿用过期的路由id。
+	 *
+	 * @param routeId 路由id。
+	 * @param path    写入Intent的路径，为null时视为不匹配。
+	 * @return 匹配路由的下标；id未知或已过期时返回-1。
+	 */
+	public int getRouteIndexById(int routeId, CharSequence path){
+		if (path == null) {
+			return -1;
+		}
+		final int mask = idTable.length - 1;
+		int slot = routeId & mask;
+		while (idTable[slot] != routeId) {
+			if (idTable[slot] == 0) {
+				return -1;
+			}
+			slot = (slot + 1) & mask;
+		}
+		final int routeIndex = indexTable[slot];
+		return matchesRoute(routeIndex, path) ? routeIndex : -1;
+	}
+
+	/**
+	 * 判断输入路径是否与指定路由匹配。
+	 *
+	 * @param routeIndex 路由下标。
+	 * @param path       输入路径。
+	 * @return 匹配时返回true。
+	 */
+	public boolean matchesRoute(int routeIndex, CharSequence path){
+		if (isPattern(routeIndex)) {
+			return getRouteIndex(path) == routeIndex;
+		}
+		return isPrefix(routeIndex)
+			? isRoutePrefixOf(routeIndex, path)
+			: compareRoute(routeIndex, path) == 0;
+	}
+
+	/** 按字典序比较路由路径与输入路径，规则与{@link String#compareTo}一致。 */
+	private int compareRoute(int routeIndex, CharSequence path){
+		final int start = offsets[routeIndex];
+		final int length = offsets[routeIndex + 1] - start;
+		final int pathLength = path.length();
+		final int limit = Math.min(length, pathLength);
+		for (int i = 0; i < limit; i++) {
+			final int diff = paths[start + i] - path.charAt(i);
+			if (diff != 0) {
+				return diff;
+			}
+		}
+		return length - pathLength;
+	}
+
+	/** 判断路由路径是否为另一路由路径的前缀，用于构建路由表。 */
+	private boolean isRoutePrefixOfRoute(int routeIndex, int otherRouteIndex){
+		final int start = offsets[routeIndex];
+		final int length = offsets[routeIndex + 1] - start;
+		final int otherStart = offsets[otherRouteIndex];
+		if (length > offsets[otherRouteIndex + 1] - otherStart) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (paths[start + i] != paths[otherStart + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** 判断路由路径是否为输入路径的前缀。 */
+	private boolean isRoutePrefixOf(int routeIndex, CharSequence path){
+		final int start = offsets[routeIndex];
+		final int length = offsets[routeIndex + 1] - start;
+		if (length > path.length()) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (paths[start + i] != path.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,217 @@
+package pers.u8f23.telepath.runtime;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 路由跳转频次表，记录各路由之后最常跳转的路由，用于预测下一次跳转。
+ * <p>
+ * 每个路由仅保留{@link #SLOTS}个后继路由，后继已满时替换计数最小的一项，内存占用与路由数量成正比。
+ * 除路由表中的路由外，下标<code>table.size()</code>与<code>table.size() + 1</code>分别表示首页与错误页，
+ * 与生成代码中首页、错误页的路由id一致，使返回首页后的跳转同样计入首页的后继。
+ * 持久化时以路由路径标识路由，路由表变化后已不存在的路由将被忽略。
+ *
+ * @author 8f23
+ * @create 2026/10/19-11:50
+ */
+public final class TransitionTable{
+	/** 每个路由记录的后继路由数量。 */
+	public static final int SLOTS = 4;
+	/** 持久化格式版本。 */
+	private static final int VERSION = 2;
+	/** 持久化时路由的类型标记：路由表中的路由，其后为路径。 */
+	private static final int KIND_ROUTE = 0;
+	/** 持久化时路由的类型标记：首页。 */
+	private static final int KIND_HOME = 1;
+	/** 持久化时路由的类型标记：错误页。 */
+	private static final int KIND_ERROR = 2;
+
+	private final RouteTable table;
+	/** 路由表中的路由数量，即首页的下标。 */
+	private final int routeCount;
+	/** 各路由的后继路由下标，第<code>i</code>个路由占用<code>[i * SLOTS, (i + 1) * SLOTS)</code>，-1表示空位。 */
+	private final int[] next;
+	/** 与{@link #next}对应的跳转次数。 */
+	private final int[] counts;
+	/** 最近一次记录的路由下标，-1表示尚未记录。 */
+	private int lastRouteIndex = -1;
+
+	/**
+	 * @param table 路由表，下标与本表一致。
+	 */
+	public TransitionTable(RouteTable table){
+		this.table = table;
+		this.routeCount = table.size();
+		this.next = new int[(routeCount + 2) * SLOTS];
+		this.counts = new int[(routeCount + 2) * SLOTS];
+		Arrays.fill(next, -1);
+	}
+
+	/**
+	 * 记录一次跳转，即从上一次记录的路由跳转至本路由。
+	 *
+	 * @param routeIndex 路由下标，含首页与错误页。
+	 */
+	public synchronized void record(int routeIndex){
+		final int from = lastRouteIndex;
+		lastRouteIndex = routeIndex;
+		if (from >= 0 && from != routeIndex) {
+			increase(from, routeIndex, 1);
+		}
+	}
+
+	/**
+	 * 预测最近一次记录的路由之后最可能跳转的路由。首页与错误页没有可预加载的类，不作为预测结果。
+	 *
+	 * @return 路由表中的路由下标；无记录时返回-1。
+	 */
+	public synchronized int predictNext(){
+		final int from = lastRouteIndex;
+		if (from < 0) {
+			return -1;
+		}
+		int result = -1;
+		int maxCount = 0;
+		for (int slot = from * SLOTS; slot < (from + 1) * SLOTS; slot++) {
+			if (next[slot] >= 0 && next[slot] < routeCount && counts[slot] > maxCount) {
+				result = next[slot];
+				maxCount = counts[slot];
+			}
+		}
+		return result;
+	}
+
+	private void increase(int from, int to, int amount){
+		final int start = from * SLOTS;
+		int target = -1;
+		for (int slot = start; slot < start + SLOTS; slot++) {
+			if (next[slot] == to) {
+				target = slot;
+				break;
+			}
+			if (target < 0 || next[target] >= 0 && (next[slot] < 0 || counts[slot] < counts[target])) {
+				// 优先使用空位，否则替换计数最小的一项。
+				target = slot;
+			}
+		}
+		if (next[target] != to) {
+			// 保留被替换项的计数作为新项的初始值，使新项不会立即再被替换。
+			next[target] = to;
+		}
+		while (counts[target] > Integer.MAX_VALUE - amount) {
+			// 计数即将溢出时整体减半，保持相对频次。
+			for (int slot = start; slot < start + SLOTS; slot++) {
+				counts[slot] >>>= 1;
+			}
+		}
+		counts[target] += amount;
+	}
+
+	/**
+	 * 写入全部记录。
+	 *
+	 * @param out 写入目标。
+	 */
+	public synchronized void writeTo(DataOutput out) throws IOException{
+		out.writeInt(VERSION);
+		int rowCount = 0;
+		for (int from = 0; from < routeCount + 2; from++) {
+			if (hasRecord(from)) {
+				rowCount++;
+			}
+		}
+		out.writeInt(rowCount);
+		for (int from = 0; from < routeCount + 2; from++) {
+			if (!hasRecord(from)) {
+				continue;
+			}
+			writeRoute(out, from);
+			int slotCount = 0;
+			for (int slot = from * SLOTS; slot < (from + 1) * SLOTS; slot++) {
+				if (next[slot] >= 0) {
+					slotCount++;
+				}
+			}
+			out.writeByte(slotCount);
+			for (int slot = from * SLOTS; slot < (from + 1) * SLOTS; slot++) {
+				if (next[slot] >= 0) {
+					writeRoute(out, next[slot]);
+					out.writeInt(counts[slot]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 读取由{@link #writeTo}写入的记录，并合并至当前记录。
+	 *
+	 * @param in 读取来源。
+	 * @throws IOException 读取失败或格式版本不符。
+	 */
+	public synchronized void readFrom(DataInput in) throws IOException{
+		final int version = in.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported transition table version: " + version);
+		}
+		final int rowCount = in.readInt();
+		for (int row = 0; row < rowCount; row++) {
+			final int from = readRoute(in);
+			final int slotCount = in.readUnsignedByte();
+			for (int i = 0; i < slotCount; i++) {
+				final int to = readRoute(in);
+				final int count = in.readInt();
+				if (from >= 0 && to >= 0 && from != to && count > 0) {
+					increase(from, to, count);
+				}
+			}
+		}
+	}
+
+	private boolean hasRecord(int from){
+		for (int slot = from * SLOTS; slot < (from + 1) * SLOTS; slot++) {
+			if (next[slot] >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** 写入路由：路由表中的路由写入路径，首页与错误页仅写入类型标记。 */
+	private void writeRoute(DataOutput out, int routeIndex) throws IOException{
+		if (routeIndex < routeCount) {
+			out.writeByte(KIND_ROUTE);
+			out.writeUTF(table.getPath(routeIndex));
+		}
+		else {
+			out.writeByte((routeIndex == routeCount) ? KIND_HOME : KIND_ERROR);
+		}
+	}
+
+	/**
+	 * 读取由{@link #writeRoute}写入的路由。
+	 *
+	 * @return 路由下标；路由已不存在时返回-1。
+	 * @throws IOException 读取失败或类型标记未知。
+	 */
+	private int readRoute(DataInput in) throws IOException{
+		final int kind = in.readUnsignedByte();
+		switch (kind) {
+			case KIND_ROUTE:
+				return indexOfPath(in.readUTF());
+			case KIND_HOME:
+				return routeCount;
+			case KIND_ERROR:
+				return routeCount + 1;
+			default:
+				throw new IOException("Unknown route kind: " + kind);
+		}
+	}
+
+	/** 查找路径完全一致的路由，用于恢复持久化的记录。 */
+	private int indexOfPath(String path){
+		final int routeIndex = table.getRouteIndex(path);
+		return (routeIndex >= 0 && table.getPath(routeIndex).equals(path)) ? routeIndex : -1;
+	}
+}
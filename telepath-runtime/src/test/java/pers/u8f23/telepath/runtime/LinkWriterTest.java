@@ -0,0 +1,74 @@
+package pers.u8f23.telepath.runtime;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URLEncoder;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link LinkWriter}的写入结果：十进制整数与{@link Long#toString(long)}一致，百分号编码与UTF-8编码一致。
+ *
+ * @author 8f23
+ * @create 2026/10/19-17:40
+ */
+public class LinkWriterTest{
+	@Test
+	public void appendsDecimal() throws IOException{
+		long[] values = {0, 7, -7, 10, -10, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE, Integer.MIN_VALUE};
+		for (long value : values) {
+			StringBuilder out = new StringBuilder();
+			LinkWriter.appendDecimal(out, value);
+			assertEquals(Long.toString(value), out.toString());
+		}
+	}
+
+	@Test
+	public void keepsUnreservedCharacters(){
+		StringBuilder out = new StringBuilder();
+		LinkWriter.appendEncoded(out, "azAZ09-._~");
+		assertEquals("azAZ09-._~", out.toString());
+	}
+
+	@Test
+	public void encodesReservedCharacters(){
+		StringBuilder out = new StringBuilder();
+		LinkWriter.appendEncoded(out, "a b/c?d&e=f%+");
+		assertEquals("a%20b%2Fc%3Fd%26e%3Df%25%2B", out.toString());
+	}
+
+	@Test
+	public void encodesUtf8() throws IOException{
+		// 两字节、三字节与代理对（四字节）字符。
+		String value = "é中😀";
+		StringBuilder out = new StringBuilder();
+		LinkWriter.appendEncoded(out, value);
+		assertEquals(URLEncoder.encode(value, "UTF-8"), out.toString());
+	}
+
+	@Test
+	public void encodesUnpairedSurrogateAsReplacement(){
+		StringBuilder out = new StringBuilder();
+		LinkWriter.appendEncoded(out, "a\uD83Db");
+		assertEquals("a%EF%BF%BDb", out.toString());
+	}
+
+	@Test
+	public void pathKeepsSlash(){
+		StringBuilder out = new StringBuilder();
+		LinkWriter.appendPath(out, "/a b/c?");
+		assertEquals("/a%20b/c%3F", out.toString());
+	}
+
+	@Test
+	public void appendableMatchesStringBuilder() throws IOException{
+		String value = "/x y/é中😀?&";
+		StringBuilder builder = new StringBuilder();
+		LinkWriter.appendPath(builder, value);
+		StringWriter writer = new StringWriter();
+		LinkWriter.appendPath(writer, value);
+		assertEquals(builder.toString(), writer.toString());
+	}
+}
@@ -0,0 +1,138 @@
+package pers.u8f23.telepath.runtime;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 由{@link PatternCompiler}编译的{@link PatternMatcher}：整段匹配、各语法的匹配范围，以及可匹配同一路径的模式的检查。
+ *
+ * @author 8f23
+ * @create 2026/10/19-19:00
+ */
+public class PatternMatcherTest{
+	private static PatternMatcher compile(String... patterns){
+		return PatternCompiler.compile(patterns, 0);
+	}
+
+	private static void assertRejected(String... patterns){
+		try {
+			compile(patterns);
+			fail("Patterns should be rejected.");
+		}
+		catch (IllegalArgumentException expected) {
+			// 预期的异常。
+		}
+	}
+
+	@Test
+	public void matchesWholePathOnly(){
+		PatternMatcher matcher = compile("/tag/[a-z]+");
+		assertEquals(0, matcher.match("/tag/abc"));
+		assertEquals(-1, matcher.match("/tag/"));
+		assertEquals(-1, matcher.match("/tag/abc/"));
+		assertEquals(-1, matcher.match("/tag/abc1"));
+		assertEquals(-1, matcher.match("x/tag/abc"));
+		assertEquals(-1, matcher.match("/tag"));
+		assertEquals(-1, matcher.match(""));
+	}
+
+	@Test
+	public void starStaysWithinSegment(){
+		PatternMatcher matcher = compile("/article/*/comments");
+		assertEquals(0, matcher.match("/article/12/comments"));
+		assertEquals(0, matcher.match("/article//comments"));
+		assertEquals(-1, matcher.match("/article/1/2/comments"));
+	}
+
+	@Test
+	public void doubleStarCrossesSegments(){
+		PatternMatcher matcher = compile("/files/**");
+		assertEquals(0, matcher.match("/files/"));
+		assertEquals(0, matcher.match("/files/a/b/c.txt"));
+		assertEquals(-1, matcher.match("/files"));
+	}
+
+	@Test
+	public void questionMarkMatchesOneCharacterInSegment(){
+		PatternMatcher matcher = compile("/v?/x");
+		assertEquals(0, matcher.match("/v1/x"));
+		assertEquals(-1, matcher.match("/v/x"));
+		assertEquals(-1, matcher.match("/v12/x"));
+		assertEquals(-1, matcher.match("/v//x"));
+	}
+
+	@Test
+	public void characterClasses(){
+		PatternMatcher matcher = compile("/id/[^/]+", "/lang/[a-cx]?[一-鿿]*", "/br/[]a]", "/esc/[\\]-]");
+		assertEquals(0, matcher.match("/id/中文 1"));
+		assertEquals(-1, matcher.match("/id/a/b"));
+		assertEquals(1, matcher.match("/lang/"));
+		assertEquals(1, matcher.match("/lang/x中文"));
+		assertEquals(-1, matcher.match("/lang/d"));
+		assertEquals(-1, matcher.match("/lang/ab"));
+		assertEquals(2, matcher.match("/br/]"));
+		assertEquals(2, matcher.match("/br/a"));
+		assertEquals(3, matcher.match("/esc/]"));
+		assertEquals(3, matcher.match("/esc/-"));
+	}
+
+	@Test
+	public void escapedCharactersAreLiteral(){
+		PatternMatcher matcher = compile("/a\\*b\\?");
+		assertEquals(0, matcher.match("/a*b?"));
+		assertEquals(-1, matcher.match("/axb?"));
+		assertEquals(-1, matcher.match("/a*bc"));
+	}
+
+	@Test
+	public void disjointPatternsKeepTheirRouteIndexes(){
+		PatternMatcher matcher = PatternCompiler.compile(new String[]{"/a/*/x", "/a/*/y", "/b/**"}, 5);
+		assertEquals(5, matcher.match("/a/1/x"));
+		assertEquals(6, matcher.match("/a/1/y"));
+		assertEquals(7, matcher.match("/b/1/x"));
+		assertEquals(-1, matcher.match("/a/1/z"));
+	}
+
+	@Test
+	public void rejectsOverlappingPatterns(){
+		// 一个模式包含另一个。
+		assertRejected("/a/*", "/a/b");
+		assertRejected("/a/**", "/a/*");
+		// 两个模式部分重叠：二者均可匹配/a/b。
+		assertRejected("/a/*", "/*/b");
+		assertRejected("/a*", "/*b");
+		assertRejected("/x/[a-c]", "/x/[c-e]");
+		assertRejected("/p", "/p");
+	}
+
+	@Test
+	public void acceptsPatternsThatOnlyShareAPrefix(){
+		PatternMatcher matcher = compile("/a*", "/a*/b");
+		assertEquals(0, matcher.match("/abc"));
+		assertEquals(1, matcher.match("/abc/b"));
+		assertEquals(-1, matcher.match("/abc/c"));
+	}
+
+	@Test
+	public void rejectsMalformedPatterns(){
+		String[] malformed = {"/a[bc", "/a\\", "/a+", "/(a)", "/a|b", "/[z-a]"};
+		for (String pattern : malformed) {
+			try {
+				PatternCompiler.validate(pattern);
+				fail("Pattern should be rejected: " + pattern);
+			}
+			catch (IllegalArgumentException expected) {
+				assertTrue(expected.getMessage(), expected.getMessage().contains(pattern));
+			}
+		}
+	}
+
+	@Test
+	public void noPatternsCompileToNull(){
+		assertNull(compile());
+	}
+}
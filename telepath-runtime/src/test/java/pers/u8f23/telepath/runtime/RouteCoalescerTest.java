@@ -0,0 +1,86 @@
+package pers.u8f23.telepath.runtime;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link RouteCoalescer}的合并规则：仅合并时间窗口内同一路由、同一路径的跳转。
+ *
+ * @author 8f23
+ * @create 2026/10/19-17:10
+ */
+public class RouteCoalescerTest{
+	@Test
+	public void coalescesSamePathWithinWindow(){
+		RouteCoalescer coalescer = new RouteCoalescer(1, 100);
+		assertFalse(coalescer.isDuplicate(0, "/a?id=1", 1000));
+		assertTrue(coalescer.isDuplicate(0, "/a?id=1", 1050));
+		assertFalse(coalescer.isDuplicate(0, "/a?id=1", 1100));
+	}
+
+	@Test
+	public void keepsDifferentPaths(){
+		RouteCoalescer coalescer = new RouteCoalescer(1, 100);
+		assertFalse(coalescer.isDuplicate(0, "/a?id=1", 1000));
+		assertFalse(coalescer.isDuplicate(0, "/a?id=2", 1001));
+		assertTrue(coalescer.isDuplicate(0, "/a?id=2", 1002));
+	}
+
+	/** 不透明的URI没有路径，路径为null的跳转同样可以合并。 */
+	@Test
+	public void coalescesNullPaths(){
+		RouteCoalescer coalescer = new RouteCoalescer(1, 100);
+		assertFalse(coalescer.isDuplicate(0, null, 1000));
+		assertTrue(coalescer.isDuplicate(0, null, 1010));
+		assertFalse(coalescer.isDuplicate(0, "/a", 1020));
+		assertFalse(coalescer.isDuplicate(0, null, 1030));
+		assertTrue(coalescer.isDuplicate(0, null, 1040));
+	}
+
+	@Test
+	public void disabledWindowNeverCoalesces(){
+		RouteCoalescer coalescer = new RouteCoalescer(1, 0);
+		assertFalse(coalescer.isDuplicate(0, "/a", 1000));
+		assertFalse(coalescer.isDuplicate(0, "/a", 1000));
+	}
+
+	/** 并发跳转同一路由的不同路径时，均不视为重复跳转。 */
+	@Test
+	public void concurrentDifferentPathsAreNotDropped() throws InterruptedException{
+		final int threads = 8;
+		final int rounds = 500;
+		for (int round = 0; round < rounds; round++) {
+			final RouteCoalescer coalescer = new RouteCoalescer(1, 1000);
+			final CountDownLatch start = new CountDownLatch(1);
+			final AtomicInteger duplicates = new AtomicInteger();
+			Thread[] workers = new Thread[threads];
+			for (int i = 0; i < threads; i++) {
+				final String path = "/a?id=" + i;
+				workers[i] = new Thread(() -> {
+					try {
+						start.await();
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+					if (coalescer.isDuplicate(0, path, 1)) {
+						duplicates.incrementAndGet();
+					}
+				});
+				workers[i].start();
+			}
+			start.countDown();
+			for (Thread worker : workers) {
+				worker.join();
+			}
+			assertEquals("Round " + round, 0, duplicates.get());
+		}
+	}
+}
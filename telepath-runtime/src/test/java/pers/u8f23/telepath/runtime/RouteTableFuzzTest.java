@@ -0,0 +1,339 @@
+package pers.u8f23.telepath.runtime;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.fail;
+
+/**
+ * 路由表差分模糊测试：随机生成路由集合与输入路径，比较{@link RouteTable}与逐条比较的参考实现的查找结果。
+ * <p>
+ * 路由表分别以{@link RouteTable#of}与紧凑格式（与注解处理器生成的代码一致）构建。发现不一致时逐步删减路由与输入路径中的字符，
+ * 报告仍不一致的最小用例。可通过系统属性<code>telepath.fuzz.seed</code>、<code>telepath.fuzz.rounds</code>与
+ * <code>telepath.fuzz.paths</code>指定随机种子、路由集合数量与每个路由集合的输入路径数量；随机种子默认固定，
+ * 使每次构建的结果可复现，需要探索更多用例时可指定其他种子。
+ *
+ * @author 8f23
+ * @create 2026/10/19-13:30
+ */
+public class RouteTableFuzzTest{
+	private static final long SEED = Long.getLong("telepath.fuzz.seed", 0x7e1e9a7L);
+	private static final int ROUNDS = Integer.getInteger("telepath.fuzz.rounds", 200);
+	private static final int PATHS_PER_ROUND = Integer.getInteger("telepath.fuzz.paths", 10000);
+	/** 路径字符集较小，使随机路由之间频繁出现公共前缀与嵌套的前缀路由。 */
+	private static final String ALPHABET = "/abc";
+	private static final String[] PATTERN_TOKENS = {"a", "b", "/", "*", "**", "?", "[ab]", "[^a]+", "[bc]*", "[a-b]?"};
+	private static final int MAX_LITERAL_ROUTES = 40;
+	private static final int MAX_PATTERN_ROUTES = 4;
+	private static final int MAX_PATH_LENGTH = 8;
+
+	/** 测试用路由。 */
+	private static final class Route{
+		final String path;
+		final int flag;
+		/** 模式路由对应的正则表达式，普通路由为null。 */
+		final Pattern regex;
+
+		Route(String path, int flag){
+			this.path = path;
+			this.flag = flag;
+			this.regex = (flag == RouteTable.FLAG_PATTERN) ? Pattern.compile(toRegex(path), Pattern.DOTALL) : null;
+		}
+
+		@Override
+		public String toString(){
+			return path + ((flag == RouteTable.FLAG_PREFIX) ? " (prefix)" :
+				((flag == RouteTable.FLAG_PATTERN) ? " (pattern)" : ""));
+		}
+	}
+
+	@Test
+	public void lookupMatchesReference(){
+		final Random random = new Random(SEED);
+		long lookups = 0;
+		long tableNanos = 0;
+		long referenceNanos = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			List<Route> routes = randomRoutes(random);
+			RouteTable[] tables = build(routes);
+			String[] paths = new String[PATHS_PER_ROUND];
+			for (int i = 0; i < paths.length; i++) {
+				paths[i] = randomPath(random, routes);
+			}
+			String[] expected = new String[paths.length];
+			long start = System.nanoTime();
+			for (int i = 0; i < paths.length; i++) {
+				expected[i] = reference(routes, paths[i]);
+			}
+			referenceNanos += System.nanoTime() - start;
+			for (RouteTable table : tables) {
+				int[] actual = new int[paths.length];
+				start = System.nanoTime();
+				for (int i = 0; i < paths.length; i++) {
+					actual[i] = table.getRouteIndex(paths[i]);
+				}
+				tableNanos += System.nanoTime() - start;
+				lookups += paths.length;
+				for (int i = 0; i < paths.length; i++) {
+					String actualPath = (actual[i] < 0) ? null : table.getPath(actual[i]);
+					if ((expected[i] == null) ? (actualPath != null) : !expected[i].equals(actualPath)) {
+						fail(shrink(routes, paths[i]));
+					}
+				}
+			}
+		}
+		System.out.println(String.format(Locale.ROOT,
+			"RouteTable fuzz: seed %d, %d lookups, RouteTable %.0f lookups/s, reference %.0f lookups/s",
+			SEED, lookups, lookups * 1e9 / tableNanos, (lookups / 2) * 1e9 / referenceNanos));
+	}
+
+	/** 逐步删减路由与输入路径中的字符，直至无法继续删减。 */
+	private static String shrink(List<Route> routes, String path){
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int i = routes.size() - 1; i >= 0; i--) {
+				List<Route> fewer = new ArrayList<>(routes);
+				fewer.remove(i);
+				if (disagreement(fewer, path) != null) {
+					routes = fewer;
+					changed = true;
+				}
+			}
+			for (int i = routes.size() - 1; i >= 0; i--) {
+				Route route = routes.get(i);
+				if (route.flag == RouteTable.FLAG_PATTERN) {
+					// 模式删去字符后可能不合法，仅缩减普通路由的路径。
+					continue;
+				}
+				for (int j = route.path.length() - 1; j > 0; j--) {
+					Route shorter = new Route(route.path.substring(0, j) + route.path.substring(j + 1), route.flag);
+					List<Route> replaced = new ArrayList<>(routes);
+					replaced.set(i, shorter);
+					if (!containsPath(routes, shorter.path) && disagreement(replaced, path) != null) {
+						routes = replaced;
+						route = shorter;
+						changed = true;
+					}
+				}
+			}
+			for (int i = path.length() - 1; i >= 0; i--) {
+				String shorter = path.substring(0, i) + path.substring(i + 1);
+				if (disagreement(routes, shorter) != null) {
+					path = shorter;
+					changed = true;
+				}
+			}
+		}
+		return "Seed " + SEED + ": " + disagreement(routes, path) + "\nroutes: " + routes + "\npath: " + path;
+	}
+
+	private static boolean containsPath(List<Route> routes, String path){
+		for (Route route : routes) {
+			if (route.path.equals(path)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 检查单个输入路径的查找结果。
+	 *
+	 * @return 不一致时返回说明，否则返回null。
+	 */
+	private static String disagreement(List<Route> routes, String path){
+		String expected = reference(routes, path);
+		RouteTable[] tables;
+		try {
+			tables = build(routes);
+		}
+		catch (RuntimeException e) {
+			return "failed to build table: " + e;
+		}
+		for (RouteTable table : tables) {
+			int routeIndex = table.getRouteIndex(path);
+			String actual = (routeIndex < 0) ? null : table.getPath(routeIndex);
+			if ((expected == null) ? (actual != null) : !expected.equals(actual)) {
+				return "expected " + expected + " but was " + actual;
+			}
+			if (routeIndex >= 0
+				&& table.getRouteIndexById(RouteTable.routeIdOf(actual), path) != routeIndex) {
+				return "route id of " + actual + " does not match " + path;
+			}
+		}
+		return null;
+	}
+
+	/** 参考实现：完全匹配的路由优先，其次为路径最长的前缀路由，最后为模式路由。 */
+	private static String reference(List<Route> routes, String path){
+		String longestPrefix = null;
+		for (Route route : routes) {
+			if (route.flag == 0 && route.path.equals(path)) {
+				return route.path;
+			}
+			if (route.flag == RouteTable.FLAG_PREFIX && path.startsWith(route.path)
+				&& (longestPrefix == null || route.path.length() > longestPrefix.length())) {
+				longestPrefix = route.path;
+			}
+		}
+		if (longestPrefix != null) {
+			return longestPrefix;
+		}
+		for (Route route : routes) {
+			if (route.regex != null && route.regex.matcher(path).matches()) {
+				return route.path;
+			}
+		}
+		return null;
+	}
+
+	/** 分别以{@link RouteTable#of}与紧凑格式构建路由表。 */
+	private static RouteTable[] build(List<Route> routes){
+		TreeMap<String, Route> literals = new TreeMap<>();
+		TreeMap<String, Route> patterns = new TreeMap<>();
+		for (Route route : routes) {
+			((route.flag == RouteTable.FLAG_PATTERN) ? patterns : literals).put(route.path, route);
+		}
+		List<Route> sorted = new ArrayList<>(literals.values());
+		sorted.addAll(patterns.values());
+		String[] paths = new String[sorted.size()];
+		byte[] flags = new byte[sorted.size()];
+		int[] offsets = new int[sorted.size() + 1];
+		StringBuilder chars = new StringBuilder();
+		for (int i = 0; i < sorted.size(); i++) {
+			paths[i] = sorted.get(i).path;
+			flags[i] = (byte) sorted.get(i).flag;
+			offsets[i] = chars.length();
+			chars.append(paths[i]);
+		}
+		offsets[sorted.size()] = chars.length();
+		PatternMatcher matcher = PatternCompiler.compile(patterns.keySet().toArray(new String[0]), literals.size());
+		PatternMatcher packedMatcher = null;
+		if (matcher != null) {
+			packedMatcher = new PatternMatcher(
+				PackedArrays.unpackChars(PackedArrays.packChars(new String(matcher.getClassStarts())),
+					matcher.getClassStarts().length),
+				PackedArrays.unpackInts(PackedArrays.packInts(matcher.getTransitions()),
+					matcher.getTransitions().length),
+				PackedArrays.unpackInts(PackedArrays.packInts(matcher.getAccepts()), matcher.getAccepts().length));
+		}
+		return new RouteTable[]{
+			RouteTable.of(paths, flags, matcher),
+			new RouteTable(
+				PackedArrays.unpackChars(PackedArrays.packChars(chars), chars.length()),
+				PackedArrays.unpackInts(PackedArrays.packInts(offsets), offsets.length),
+				PackedArrays.unpackBytes(PackedArrays.packBytes(flags), flags.length),
+				packedMatcher)
+		};
+	}
+
+	private static List<Route> randomRoutes(Random random){
+		List<Route> routes = new ArrayList<>();
+		Set<String> paths = new HashSet<>();
+		int literalCount = 1 + random.nextInt(MAX_LITERAL_ROUTES);
+		for (int i = 0; i < literalCount; i++) {
+			String path = "/" + randomString(random, random.nextInt(MAX_PATH_LENGTH));
+			if (paths.add(path)) {
+				routes.add(new Route(path, random.nextInt(5) < 2 ? RouteTable.FLAG_PREFIX : 0));
+			}
+		}
+		List<String> patterns = new ArrayList<>();
+		int patternCount = random.nextInt(MAX_PATTERN_ROUTES + 1);
+		for (int i = 0; i < patternCount; i++) {
+			StringBuilder builder = new StringBuilder("/");
+			int tokenCount = 1 + random.nextInt(4);
+			for (int j = 0; j < tokenCount; j++) {
+				builder.append(PATTERN_TOKENS[random.nextInt(PATTERN_TOKENS.length)]);
+			}
+			String pattern = builder.toString();
+			if (paths.contains(pattern)) {
+				continue;
+			}
+			patterns.add(pattern);
+			try {
+				PatternCompiler.compile(patterns.toArray(new String[0]), 0);
+			}
+			catch (IllegalArgumentException e) {
+				// 与已有模式冲突，丢弃。
+				patterns.remove(patterns.size() - 1);
+				continue;
+			}
+			paths.add(pattern);
+			routes.add(new Route(pattern, RouteTable.FLAG_PATTERN));
+		}
+		return routes;
+	}
+
+	/** 一半输入路径由已有路由的路径变换得到，以覆盖边界情况。 */
+	private static String randomPath(Random random, List<Route> routes){
+		if (random.nextBoolean()) {
+			return "/" + randomString(random, random.nextInt(MAX_PATH_LENGTH + 2));
+		}
+		StringBuilder builder = new StringBuilder(routes.get(random.nextInt(routes.size())).path);
+		switch (random.nextInt(4)) {
+			case 0:
+				break;
+			case 1:
+				builder.append(randomString(random, 1 + random.nextInt(3)));
+				break;
+			case 2:
+				builder.setLength(random.nextInt(builder.length() + 1));
+				break;
+			default:
+				if (builder.length() > 0) {
+					builder.setCharAt(random.nextInt(builder.length()), ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+				}
+				break;
+		}
+		return builder.toString();
+	}
+
+	private static String randomString(Random random, int length){
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+		}
+		return builder.toString();
+	}
+
+	/** 将模式转换为等价的正则表达式，仅支持{@link #PATTERN_TOKENS}中的语法。 */
+	private static String toRegex(String pattern){
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < pattern.length(); i++) {
+			char c = pattern.charAt(i);
+			if (c == '*') {
+				if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '*') {
+					builder.append(".*");
+					i++;
+				}
+				else {
+					builder.append("[^/]*");
+				}
+			}
+			else if (c == '?') {
+				builder.append("[^/]");
+			}
+			else if (c == '[') {
+				int end = pattern.indexOf(']', i);
+				builder.append(pattern, i, end + 1);
+				i = end;
+				if (i + 1 < pattern.length() && "+*?".indexOf(pattern.charAt(i + 1)) >= 0) {
+					builder.append(pattern.charAt(++i));
+				}
+			}
+			else {
+				builder.append(Pattern.quote(String.valueOf(c)));
+			}
+		}
+		return builder.toString();
+	}
+}
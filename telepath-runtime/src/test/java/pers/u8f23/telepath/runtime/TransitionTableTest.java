@@ -0,0 +1,169 @@
+package pers.u8f23.telepath.runtime;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link TransitionTable}的跳转计数：预测、后继替换、计数溢出、首页与错误页，以及持久化。
+ *
+ * @author 8f23
+ * @create 2026/10/19-18:20
+ */
+public class TransitionTableTest{
+	private static final String[] PATHS = {"/a", "/b", "/c", "/d", "/e", "/f", "/g"};
+	/** 首页与错误页的下标，与生成代码一致。 */
+	private static final int HOME = PATHS.length;
+	private static final int ERROR = PATHS.length + 1;
+
+	private static RouteTable table(String... paths){
+		return RouteTable.of(paths, new boolean[paths.length]);
+	}
+
+	private static void walk(TransitionTable transitions, int... routeIndexes){
+		for (int routeIndex : routeIndexes) {
+			transitions.record(routeIndex);
+		}
+	}
+
+	@Test
+	public void predictsNothingWithoutRecords(){
+		TransitionTable transitions = new TransitionTable(table(PATHS));
+		assertEquals(-1, transitions.predictNext());
+		transitions.record(0);
+		assertEquals(-1, transitions.predictNext());
+	}
+
+	@Test
+	public void predictsMostFrequentSuccessor(){
+		TransitionTable transitions = new TransitionTable(table(PATHS));
+		walk(transitions, 0, 1, 0, 2, 0, 2, 0, 1, 0, 2, 0);
+		assertEquals(2, transitions.predictNext());
+		transitions.record(2);
+		assertEquals(0, transitions.predictNext());
+	}
+
+	@Test
+	public void ignoresRepeatedRoute(){
+		TransitionTable transitions = new TransitionTable(table(PATHS));
+		walk(transitions, 0, 0, 0);
+		assertEquals(-1, transitions.predictNext());
+		walk(transitions, 1, 0);
+		assertEquals(1, transitions.predictNext());
+	}
+
+	/** 首页 → A → B：返回首页后的跳转计入首页的后继，而非返回首页前的路由。 */
+	@Test
+	public void learnsTransitionsFromHome() throws IOException{
+		TransitionTable transitions = new TransitionTable(table(PATHS));
+		walk(transitions, HOME, 0, 1, HOME, 0, 1, HOME);
+		assertEquals(0, transitions.predictNext());
+		transitions.record(0);
+		assertEquals(1, transitions.predictNext());
+		// 经错误页返回首页时，错误页之前的路由同样不计入。
+		walk(transitions, 2, ERROR, HOME);
+		assertEquals(0, transitions.predictNext());
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		transitions.writeTo(new DataOutputStream(bytes));
+		TransitionTable restored = new TransitionTable(table(PATHS));
+		read(restored, bytes.toByteArray());
+		restored.record(HOME);
+		assertEquals(0, restored.predictNext());
+	}
+
+	@Test
+	public void neverPredictsHomeOrError(){
+		TransitionTable transitions = new TransitionTable(table(PATHS));
+		walk(transitions, 0, HOME, 0, HOME, 0, ERROR, 0, 1, 0);
+		assertEquals(1, transitions.predictNext());
+		walk(transitions, 2, HOME, 2);
+		assertEquals(-1, transitions.predictNext());
+	}
+
+	@Test
+	public void replacesLeastFrequentSuccessorWhenFull() throws IOException{
+		TransitionTable transitions = new TransitionTable(table(PATHS));
+		// 后继/b至/e的次数依次为4、3、2、1，占满全部空位。
+		for (int to = 1; to <= TransitionTable.SLOTS; to++) {
+			for (int i = 0; i <= TransitionTable.SLOTS - to; i++) {
+				walk(transitions, 0, to);
+			}
+		}
+		// /f替换次数最小的/e，并沿用其计数，再记录两次后超过/d。
+		walk(transitions, 0, 5, 0, 5, 0, 5, 0);
+		assertEquals(1, transitions.predictNext());
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		transitions.writeTo(new DataOutputStream(bytes));
+		TransitionTable restored = new TransitionTable(table(PATHS));
+		read(restored, bytes.toByteArray());
+		// 仅保留/b、/c、/d与/f：/f的次数为1 + 3 = 4，与/b相同，先记录的/b优先。
+		restored.record(0);
+		assertEquals(1, restored.predictNext());
+		walk(restored, 5, 0);
+		assertEquals(5, restored.predictNext());
+	}
+
+	@Test
+	public void halvesCountsBeforeOverflow() throws IOException{
+		TransitionTable transitions = new TransitionTable(table(PATHS));
+		walk(transitions, 0, 1, 0, 1, 0, 2);
+		// 合并接近上限的计数后继续记录，计数不应溢出为负数而改变预测。
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(2);
+		out.writeInt(1);
+		out.writeByte(0);
+		out.writeUTF("/a");
+		out.writeByte(1);
+		out.writeByte(0);
+		out.writeUTF("/b");
+		out.writeInt(Integer.MAX_VALUE - 1);
+		read(transitions, bytes.toByteArray());
+		walk(transitions, 0, 1, 0, 1, 0);
+		assertEquals(1, transitions.predictNext());
+	}
+
+	@Test
+	public void roundTripsThroughStream() throws IOException{
+		TransitionTable transitions = new TransitionTable(table(PATHS));
+		walk(transitions, 0, 1, 2, 3, 2, 3, 2, 1, 0, 1);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		transitions.writeTo(new DataOutputStream(bytes));
+		TransitionTable restored = new TransitionTable(table(PATHS));
+		read(restored, bytes.toByteArray());
+		restored.record(2);
+		assertEquals(3, restored.predictNext());
+		restored.record(0);
+		assertEquals(1, restored.predictNext());
+	}
+
+	@Test
+	public void dropsRoutesMissingFromNewTable() throws IOException{
+		TransitionTable transitions = new TransitionTable(table(PATHS));
+		walk(transitions, 0, 1, 0, 1, 0, 2);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		transitions.writeTo(new DataOutputStream(bytes));
+		// 新路由表中不再有/b，且下标发生变化。
+		TransitionTable restored = new TransitionTable(table("/a", "/c"));
+		read(restored, bytes.toByteArray());
+		restored.record(0);
+		assertEquals(1, restored.predictNext());
+	}
+
+	@Test(expected = IOException.class)
+	public void rejectsUnknownVersion() throws IOException{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		new DataOutputStream(bytes).writeInt(99);
+		read(new TransitionTable(table(PATHS)), bytes.toByteArray());
+	}
+
+	private static void read(TransitionTable transitions, byte[] bytes) throws IOException{
+		transitions.readFrom(new DataInputStream(new ByteArrayInputStream(bytes)));
+	}
+}